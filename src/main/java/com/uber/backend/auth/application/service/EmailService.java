@@ -1,9 +1,8 @@
 package com.uber.backend.auth.application.service;
 
+import com.uber.backend.shared.domain.port.MailOutboxPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,27 +10,21 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    static final String VERIFICATION_SUBJECT = "Verify Your Email - MJT Rides";
+
+    private final MailOutboxPort mailOutbox;
 
     /**
      * Send verification code email to user.
+     * The mail is queued in the outbox with the caller's transaction and delivered once it
+     * has committed, so no SMTP round-trip runs inside the transaction.
      *
      * @param toEmail Recipient email address
      * @param verificationCode 6-digit verification code
      */
     public void sendVerificationEmail(String toEmail, String verificationCode) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(toEmail);
-            message.setSubject("Verify Your Email - MJT Rides");
-            message.setText(buildVerificationEmailText(verificationCode));
-
-            mailSender.send(message);
-            log.info("Verification email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", toEmail, e);
-            throw new RuntimeException("Failed to send verification email", e);
-        }
+        mailOutbox.enqueue(toEmail, VERIFICATION_SUBJECT, buildVerificationEmailText(verificationCode));
+        log.info("Verification email queued for: {}", toEmail);
     }
 
     private String buildVerificationEmailText(String code) {
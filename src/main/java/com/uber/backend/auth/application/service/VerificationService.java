@@ -48,10 +48,10 @@ public class VerificationService {
 
         verificationCodeRepository.save(verificationCode);
 
-        // Send email
+        // Queue the email; it is delivered after this transaction commits
         emailService.sendVerificationEmail(email, code);
 
-        log.info("Verification code generated and sent to: {}", email);
+        log.info("Verification code generated for: {}", email);
     }
 
     /**
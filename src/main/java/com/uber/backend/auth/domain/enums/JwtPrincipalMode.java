@@ -0,0 +1,15 @@
+package com.uber.backend.auth.domain.enums;
+
+/**
+ * Where the authenticated principal of a request comes from.
+ */
+public enum JwtPrincipalMode {
+    /**
+     * Load the account by the token's subject on every request.
+     */
+    DATABASE,
+    /**
+     * Build the principal from the signed token claims; only a cached account check hits the database.
+     */
+    CLAIMS
+}
@@ -0,0 +1,22 @@
+package com.uber.backend.auth.infrastructure.config;
+
+import com.uber.backend.auth.infrastructure.security.RoleCheckInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the claims-based role check for controller methods.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RoleCheckInterceptor roleCheckInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(roleCheckInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,36 @@
+package com.uber.backend.auth.infrastructure.security;
+
+import com.uber.backend.driver.infrastructure.persistence.AccountEntity;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a deleted account from the {@link AccountStatusCache}, so its tokens stop working
+ * on this node right away instead of after the cache TTL.
+ * Evicts once the deleting transaction has committed; before that, a concurrent check can still
+ * read the account and would cache it as active again.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountDeletionListener {
+
+    private final AccountStatusCache accountStatusCache;
+
+    @PostRemove
+    public void onDelete(AccountEntity account) {
+        Long accountId = account.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accountStatusCache.evict(accountId);
+                }
+            });
+        } else {
+            accountStatusCache.evict(accountId);
+        }
+    }
+}
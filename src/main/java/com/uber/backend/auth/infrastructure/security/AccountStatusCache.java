@@ -0,0 +1,87 @@
+package com.uber.backend.auth.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache of whether the account behind a token still exists, used instead of
+ * loading the account on every request. A deleted account keeps working for at most
+ * {@code auth.jwt.account-check.ttl} on a node that has it cached.
+ * The check is one primary key lookup on {@code accounts}, without the joined subclass tables.
+ */
+@Component
+public class AccountStatusCache {
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM accounts WHERE id = ? AND email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<Long, CachedStatus> cache;
+
+    private record CachedStatus(String email, boolean active, long expiresAtMillis) {}
+
+    @Autowired
+    public AccountStatusCache(JdbcTemplate jdbcTemplate,
+                              @Value("${auth.jwt.account-check.ttl:60s}") Duration ttl,
+                              @Value("${auth.jwt.account-check.max-entries:100000}") int maxEntries) {
+        this(jdbcTemplate, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    public AccountStatusCache(JdbcTemplate jdbcTemplate, Duration ttl, int maxEntries, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Account check cache max entries must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedStatus> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return true if an account with this id and email exists
+     */
+    public boolean isActive(Long userId, String email) {
+        long now = clock.millis();
+        synchronized (cache) {
+            CachedStatus cached = cache.get(userId);
+            if (cached != null && cached.expiresAtMillis() > now && cached.email().equals(email)) {
+                return cached.active();
+            }
+        }
+
+        Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, userId, email);
+        boolean active = count != null && count > 0;
+        synchronized (cache) {
+            cache.put(userId, new CachedStatus(email, active, now + ttlMillis));
+        }
+        return active;
+    }
+
+    /**
+     * Forget the cached status of an account, e.g. after it was deleted.
+     */
+    public void evict(Long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
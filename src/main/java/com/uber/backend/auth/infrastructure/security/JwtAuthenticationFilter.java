@@ -1,10 +1,14 @@
 package com.uber.backend.auth.infrastructure.security;
 
+import com.uber.backend.auth.domain.enums.JwtPrincipalMode;
+import com.uber.backend.auth.domain.enums.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,6 +22,8 @@ import java.io.IOException;
 
 /**
  * JWT authentication filter to validate tokens on each request.
+ * In {@link JwtPrincipalMode#CLAIMS} mode the principal is built from the verified token claims
+ * and only a cached account check replaces loading the account from the database.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,6 +31,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AccountStatusCache accountStatusCache;
+
+    @Value("${auth.jwt.principal-mode:CLAIMS}")
+    private JwtPrincipalMode principalMode = JwtPrincipalMode.CLAIMS;
+
+    @Value("${auth.jwt.account-check.enabled:true}")
+    private boolean accountCheckEnabled = true;
 
     @Override
     protected void doFilterInternal(
@@ -42,17 +55,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+            // Verified once per request; controllers read the claims back through JwtUtil
+            final Claims claims = jwtService.parseClaims(jwt);
+            request.setAttribute(JwtService.CLAIMS_ATTRIBUTE, claims);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken authToken = principalMode == JwtPrincipalMode.CLAIMS
+                        ? authenticateFromClaims(claims)
+                        : authenticateFromDatabase(claims);
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -63,4 +73,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The claims are verified (signature and expiry), so the embedded userId and role can be trusted.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        String email = claims.getSubject();
+        Long userId = claims.get("userId", Long.class);
+        String role = claims.get("role", String.class);
+        if (email == null || userId == null || role == null) {
+            return null;
+        }
+        if (accountCheckEnabled && !accountStatusCache.isActive(userId, email)) {
+            return null;
+        }
+
+        JwtPrincipal principal = new JwtPrincipal(userId, email, Role.valueOf(role));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(Claims claims) {
+        final String userEmail = claims.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+    }
 }
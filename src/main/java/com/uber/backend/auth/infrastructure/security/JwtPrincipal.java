@@ -0,0 +1,23 @@
+package com.uber.backend.auth.infrastructure.security;
+
+import com.uber.backend.auth.domain.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Authenticated user built from verified JWT claims, without loading the account.
+ */
+public record JwtPrincipal(Long userId, String email, Role role) implements Principal {
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role.getAuthority()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
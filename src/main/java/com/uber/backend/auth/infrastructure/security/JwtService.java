@@ -1,6 +1,7 @@
 package com.uber.backend.auth.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -12,21 +13,42 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 /**
  * Service for JWT token operations.
+ * The signing key and parser are built once. Verified claims are kept in a concurrent cache
+ * until the token expires, so a token sent with every request is HMAC-checked once. Lookups
+ * take no lock; a full cache is trimmed in one pass, expired tokens first.
  */
 @Service
 public class JwtService {
 
+    /**
+     * Request attribute holding the {@link Claims} verified by the authentication filter.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // Default 24 hours
     private Long expiration;
 
+    // 0 disables the verified claims cache
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries = 10000;
+
+    // Built on first use, after the secret has been injected
+    private volatile SecretKey signInKey;
+    private volatile JwtParser parser;
+    private final Map<String, Claims> claimsCache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
     /**
      * Extract username (email) from JWT token.
      */
@@ -52,7 +74,7 @@ public class JwtService {
      * Extract a specific claim from the token.
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
@@ -90,40 +112,90 @@ public class JwtService {
      * Validate token against user details.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), userDetails);
     }
 
     /**
-     * Check if token is expired.
+     * Validate already verified claims against user details.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
     /**
-     * Extract expiration date from token.
+     * Verify the token and return all of its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Claims parseClaims(String token) {
+        if (claimsCacheMaxEntries <= 0) {
+            return parser().parseSignedClaims(token).getPayload();
+        }
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return cached;
+            }
+            claimsCache.remove(token, cached);
+        }
+        // The parser rejects expired tokens, so only verified, live claims are cached
+        Claims claims = parser().parseSignedClaims(token).getPayload();
+        claimsCache.put(token, claims);
+        if (claimsCache.size() > claimsCacheMaxEntries) {
+            evictClaims();
+        }
+        return claims;
+    }
+
+    public int getClaimsCacheSize() {
+        return claimsCache.size();
     }
 
     /**
-     * Extract all claims from token.
+     * Drop expired claims, then arbitrary ones until the cache is down to three quarters of
+     * its limit, so the next trim is a quarter of the limit away. One thread trims at a time.
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private void evictClaims() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            claimsCache.values().removeIf(JwtService::isExpired);
+            int target = claimsCacheMaxEntries - claimsCacheMaxEntries / 4;
+            Iterator<String> tokens = claimsCache.keySet().iterator();
+            while (claimsCache.size() > target && tokens.hasNext()) {
+                tokens.next();
+                tokens.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiresAt = claims.getExpiration();
+        return expiresAt != null && expiresAt.before(new Date());
+    }
+
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSignInKey()).build();
+            parser = current;
+        }
+        return current;
     }
 
     /**
      * Get the signing key for JWT.
      */
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey current = signInKey;
+        if (current == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secret);
+            current = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = current;
+        }
+        return current;
     }
 }
@@ -1,6 +1,6 @@
 package com.uber.backend.auth.infrastructure.security;
 
-import com.uber.backend.auth.infrastructure.security.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -19,11 +19,7 @@ public class JwtUtil {
      * Extract user ID from JWT token in the request.
      */
     public Long extractUserIdFromRequest(HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        if (token == null) {
-            throw new IllegalStateException("No JWT token found in request");
-        }
-        return jwtService.extractUserId(token);
+        return claims(request).get("userId", Long.class);
     }
 
     /**
@@ -52,10 +48,21 @@ public class JwtUtil {
      * Extract role from JWT token in the request.
      */
     public String extractRoleFromRequest(HttpServletRequest request) {
+        return claims(request).get("role", String.class);
+    }
+
+    /**
+     * Claims verified by the authentication filter for this request, or parsed from the
+     * Authorization header if the filter did not run.
+     */
+    private Claims claims(HttpServletRequest request) {
+        if (request.getAttribute(JwtService.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims;
+        }
         String token = extractTokenFromRequest(request);
         if (token == null) {
             throw new IllegalStateException("No JWT token found in request");
         }
-        return jwtService.extractRole(token);
+        return jwtService.parseClaims(token);
     }
 }
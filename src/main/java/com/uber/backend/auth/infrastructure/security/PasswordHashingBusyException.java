@@ -0,0 +1,12 @@
+package com.uber.backend.auth.infrastructure.security;
+
+/**
+ * Thrown when every password hashing thread is busy and the queue is full.
+ * Answered with 503 so clients back off instead of piling up more hashing work.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.uber.backend.auth.infrastructure.security;
+
+import com.uber.backend.auth.domain.enums.Role;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restrict a controller method to one role, checked against the role claim of the request's
+ * JWT by {@link RoleCheckInterceptor}, without loading the account.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresRole {
+
+    Role value();
+
+    /**
+     * Message of the {@link com.uber.backend.ride.application.exception.UnauthorizedException} for other roles.
+     */
+    String message();
+}
@@ -0,0 +1,33 @@
+package com.uber.backend.auth.infrastructure.security;
+
+import com.uber.backend.ride.application.exception.UnauthorizedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RequiresRole} from the claims the authentication filter already verified.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCheckInterceptor implements HandlerInterceptor {
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequiresRole required = method.getMethodAnnotation(RequiresRole.class);
+        if (required != null && !required.value().name().equals(jwtUtil.extractRoleFromRequest(request))) {
+            throw new UnauthorizedException(required.message());
+        }
+        return true;
+    }
+}
@@ -1,15 +1,20 @@
 package com.uber.backend.auth.infrastructure.security;
 
 import com.uber.backend.driver.infrastructure.persistence.AccountEntity;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
 import com.uber.backend.passenger.infrastructure.repository.PassengerRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
@@ -18,13 +23,35 @@ import java.util.Collections;
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final PassengerRepository passengerRepository;
     private final DriverRepository driverRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return toUserDetails(findAccount(email));
+    }
+
+    /**
+     * Store a password re-hashed at the current BCrypt strength, called after a successful login.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AccountEntity account = findAccount(user.getUsername());
+        account.setPassword(newPassword);
+        if (account instanceof DriverEntity driver) {
+            driverRepository.save(driver);
+        } else {
+            passengerRepository.save((PassengerEntity) account);
+        }
+        log.debug("Re-hashed password of account {}", account.getId());
+        return toUserDetails(account);
+    }
+
+    private AccountEntity findAccount(String email) {
         AccountEntity account = passengerRepository.findByEmail(email)
                 .map(passenger -> (AccountEntity) passenger)
                 .orElse(null);
@@ -34,7 +61,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     .orElseThrow(() -> new UsernameNotFoundException(
                             "User not found with email: " + email));
         }
+        return account;
+    }
 
+    private static UserDetails toUserDetails(AccountEntity account) {
         return User.builder()
                 .username(account.getEmail())
                 .password(account.getPassword())
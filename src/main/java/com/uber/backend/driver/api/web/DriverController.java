@@ -1,11 +1,16 @@
 package com.uber.backend.driver.api.web;
 
+import com.uber.backend.auth.domain.enums.Role;
 import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import com.uber.backend.auth.infrastructure.security.RequiresRole;
+import com.uber.backend.driver.application.command.BatchUpdateLocationCommand;
+import com.uber.backend.driver.application.command.FleetLocationResult;
 import com.uber.backend.driver.application.command.GoOnlineCommand;
+import com.uber.backend.driver.application.command.LocationStreamResult;
 import com.uber.backend.driver.application.command.UpdateLocationCommand;
 import com.uber.backend.driver.application.service.DriverAvailabilityService;
-import com.uber.backend.ride.application.exception.UnauthorizedException;
-import com.uber.backend.shared.application.CheckRoleService;
+import com.uber.backend.driver.application.service.DriverLocationStreamService;
+import com.uber.backend.driver.application.service.FleetLocationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,7 +19,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
  * REST controller for driver availability management.
@@ -27,42 +37,68 @@ import org.springframework.web.bind.annotation.*;
 public class DriverController {
 
     private final DriverAvailabilityService driverAvailabilityService;
+    private final DriverLocationStreamService driverLocationStreamService;
+    private final FleetLocationService fleetLocationService;
     private final JwtUtil jwtUtil;
-    private final CheckRoleService checkRoleService;
 
     @PostMapping("/go-online")
     @Operation(summary = "Go online", description = "Driver goes online and becomes available for ride requests. Requires initial location.")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can go online. Please log in as a driver.")
     public ResponseEntity<String> goOnline(@Valid @RequestBody GoOnlineCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can go online. Please log in as a driver.");
-        }
-        
         String address = driverAvailabilityService.goOnline(driverId, command.latitude(), command.longitude());
         return ResponseEntity.ok("Driver is now online and available for rides at " + address);
     }
 
     @PostMapping("/go-offline")
     @Operation(summary = "Go offline", description = "Driver goes offline and stops receiving ride requests")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can go offline. Please log in as a driver.")
     public ResponseEntity<String> goOffline(HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can go offline. Please log in as a driver.");
-        }
-        
         driverAvailabilityService.goOffline(driverId);
         return ResponseEntity.ok("Driver is now offline");
     }
 
     @PostMapping("/update-location")
-    @Operation(summary = "Update location", description = "Update driver's current location. Should be called every 5 seconds while online.")
+    @Operation(summary = "Update location", description = "Update driver's current location. Should be called every 5 seconds while online. "
+            + "When addresses are resolved asynchronously the response reports the address as pending.")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can update location. Please log in as a driver.")
     public ResponseEntity<String> updateLocation(@Valid @RequestBody UpdateLocationCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can update location. Please log in as a driver.");
-        }
-        
         String address = driverAvailabilityService.updateLocation(driverId, command.latitude(), command.longitude());
+        if (address == null) {
+            return ResponseEntity.ok(String.format("Location updated to (%s, %s), address pending",
+                    command.latitude(), command.longitude()));
+        }
         return ResponseEntity.ok("Location updated to " + address);
     }
+
+    @PostMapping(value = "/location-stream", consumes = "application/x-ndjson")
+    @Operation(summary = "Stream locations", description = "Keep one chunked request open while online and write one frame per line, "
+            + "e.g. {\"lat\":50.8503,\"lon\":4.3517,\"ts\":1718000000000}. Only the newest position is applied every "
+            + "apply interval; invalid and out-of-order frames are skipped. Send a blank line to keep an idle stream open. "
+            + "Answers 503 when the node already holds its maximum number of open streams.")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can update location. Please log in as a driver.")
+    public DeferredResult<ResponseEntity<LocationStreamResult>> streamLocations(HttpServletRequest httpRequest) throws IOException {
+        Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
+        // No async timeout: the stream ends when the client closes it or the connector's read timeout hits an idle one
+        DeferredResult<ResponseEntity<LocationStreamResult>> response = new DeferredResult<>(0L);
+        driverLocationStreamService.ingestAsync(driverId, httpRequest.getInputStream()).whenComplete((result, error) -> {
+            if (error != null) {
+                response.setErrorResult(error.getCause() != null ? error.getCause() : error);
+            } else {
+                response.setResult(ResponseEntity.ok(result));
+            }
+        });
+        return response;
+    }
+
+    @PostMapping("/locations")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Update locations in batch", description = "For fleet gateways relaying the positions of many drivers. "
+            + "Only the newest entry per driver by timestamp (epoch milliseconds) is applied; entries not newer than a "
+            + "driver's current location are reported stale. Returns the status of every entry in request order.")
+    public ResponseEntity<List<FleetLocationResult>> updateLocations(@Valid @RequestBody BatchUpdateLocationCommand command) {
+        return ResponseEntity.ok(fleetLocationService.updateLocations(command.locations()));
+    }
 }
@@ -2,11 +2,13 @@ package com.uber.backend.driver.application;
 
 import com.uber.backend.driver.application.command.AddVehicleCommand;
 import com.uber.backend.driver.application.dto.VehicleDTO;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.driver.infrastructure.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ public class AddVehicleCommandHandler {
 
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public VehicleDTO handle(AddVehicleCommand command) {
@@ -41,6 +44,7 @@ public class AddVehicleCommandHandler {
         if (driver.getCurrentVehicle() == null) {
             driver.setCurrentVehicle(vehicle);
             driverRepository.save(driver);
+            publisher.publishEvent(new DriverVehicleChangedEvent(driver.getId(), vehicle.getType()));
         }
 
         return mapToDTO(vehicle);
@@ -1,11 +1,13 @@
 package com.uber.backend.driver.application;
 
 import com.uber.backend.driver.application.command.DeleteVehicleCommand;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.driver.infrastructure.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ public class DeleteVehicleCommandHandler {
 
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public void handle(DeleteVehicleCommand command) {
@@ -32,6 +35,8 @@ public class DeleteVehicleCommandHandler {
         if (driver.getCurrentVehicle() != null && driver.getCurrentVehicle().getId().equals(command.vehicleId())) {
             driver.setCurrentVehicle(null);
             driverRepository.save(driver);
+            // Without a vehicle the driver cannot be matched to any ride
+            publisher.publishEvent(new DriverVehicleChangedEvent(driver.getId(), null));
         }
 
         vehicleRepository.delete(vehicle);
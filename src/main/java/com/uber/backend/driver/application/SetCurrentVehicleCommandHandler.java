@@ -2,11 +2,13 @@ package com.uber.backend.driver.application;
 
 import com.uber.backend.driver.application.command.SetCurrentVehicleCommand;
 import com.uber.backend.driver.application.dto.VehicleDTO;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.driver.infrastructure.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ public class SetCurrentVehicleCommandHandler {
 
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public VehicleDTO handle(SetCurrentVehicleCommand command) {
@@ -30,6 +33,8 @@ public class SetCurrentVehicleCommandHandler {
         DriverEntity driver = vehicle.getDriver();
         driver.setCurrentVehicle(vehicle);
         driverRepository.save(driver);
+        // An online driver is now matched to rides of the new vehicle's type
+        publisher.publishEvent(new DriverVehicleChangedEvent(driver.getId(), vehicle.getType()));
 
         return mapToDTO(vehicle);
     }
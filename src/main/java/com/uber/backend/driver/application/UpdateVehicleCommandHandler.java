@@ -2,9 +2,12 @@ package com.uber.backend.driver.application;
 
 import com.uber.backend.driver.application.command.UpdateVehicleCommand;
 import com.uber.backend.driver.application.dto.VehicleDTO;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateVehicleCommandHandler {
 
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public VehicleDTO handle(UpdateVehicleCommand command) {
@@ -35,6 +39,13 @@ public class UpdateVehicleCommandHandler {
         }
 
         vehicle = vehicleRepository.save(vehicle);
+
+        // Changing the type of the car a driver is online with changes the rides they are offered
+        DriverEntity driver = vehicle.getDriver();
+        if (command.type() != null && driver.getCurrentVehicle() != null
+                && driver.getCurrentVehicle().getId().equals(vehicle.getId())) {
+            publisher.publishEvent(new DriverVehicleChangedEvent(driver.getId(), vehicle.getType()));
+        }
         return mapToDTO(vehicle);
     }
 
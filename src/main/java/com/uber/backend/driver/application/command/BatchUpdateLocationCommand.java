@@ -0,0 +1,14 @@
+package com.uber.backend.driver.application.command;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Positions of many drivers in one request. Entries are validated one by one, so a bad entry
+ * does not reject the rest of the batch.
+ */
+public record BatchUpdateLocationCommand(
+        @NotEmpty(message = "At least one location is required")
+        List<FleetLocationSample> locations
+) {}
@@ -0,0 +1,8 @@
+package com.uber.backend.driver.application.command;
+
+import com.uber.backend.driver.domain.enums.LocationUpdateStatus;
+
+/**
+ * Outcome of one entry of a batch location update, in the order of the request.
+ */
+public record FleetLocationResult(Long driverId, LocationUpdateStatus status) {}
@@ -0,0 +1,8 @@
+package com.uber.backend.driver.application.command;
+
+/**
+ * Position of one driver relayed by a fleet gateway.
+ *
+ * @param timestamp When the position was recorded, in epoch milliseconds
+ */
+public record FleetLocationSample(Long driverId, Double latitude, Double longitude, Long timestamp) {}
@@ -0,0 +1,7 @@
+package com.uber.backend.driver.application.command;
+
+/**
+ * One line of a driver location stream, e.g. {@code {"lat":50.8503,"lon":4.3517,"ts":1718000000000}}.
+ * The timestamp (epoch milliseconds) is optional and defaults to the time the frame is received.
+ */
+public record LocationFrame(Double lat, Double lon, Long ts) {}
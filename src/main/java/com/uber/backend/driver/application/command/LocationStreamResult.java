@@ -0,0 +1,7 @@
+package com.uber.backend.driver.application.command;
+
+/**
+ * Summary of a finished location stream. Rejected frames were malformed, out of range,
+ * too far in the future or older than the driver's latest position.
+ */
+public record LocationStreamResult(long accepted, long rejected) {}
@@ -0,0 +1,12 @@
+package com.uber.backend.driver.application.exception;
+
+/**
+ * Thrown when the node already holds its maximum number of open location streams.
+ * Answered with 503 so the driver app retries later or falls back to single location updates.
+ */
+public class LocationStreamLimitException extends RuntimeException {
+
+    public LocationStreamLimitException(String message) {
+        super(message);
+    }
+}
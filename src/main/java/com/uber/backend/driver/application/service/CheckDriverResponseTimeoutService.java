@@ -1,13 +1,17 @@
 package com.uber.backend.driver.application.service;
 
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,7 +19,11 @@ import java.util.List;
 /**
  * Service that checks for driver invitation timeouts.
  * If a driver doesn't respond within 60 seconds, the ride is automatically
- * set to DENIED status and will be picked up by the poller for re-assignment.
+ * set to DENIED status and a {@link RideDeniedEvent} triggers re-assignment.
+ * Timeouts are normally fired per ride by the in-memory invitation timer; the
+ * periodic database sweep only recovers invitations whose timer was lost (e.g. restart).
+ * Each ride times out in its own versioned transaction, so a driver accepting at the same
+ * moment either wins (the timeout sees ACCEPTED and backs off) or is rejected.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,13 +31,34 @@ import java.util.List;
 public class CheckDriverResponseTimeoutService {
 
     private final RideRepository rideRepository;
-    private static final int TIMEOUT_SECONDS = 60;
+    private final ApplicationEventPublisher publisher;
+    private final OptimisticRetryTemplate optimisticRetry;
+    public static final int TIMEOUT_SECONDS = 60;
 
     /**
-     * Runs every 10 seconds to check for timed-out driver invitations.
+     * Time out a single invitation, if the ride is still waiting for the invited driver.
+     *
+     * @return true if the ride was set to DENIED
      */
-    @Scheduled(fixedDelay = 10000)
-    @Transactional
+    public boolean timeOutInvitation(Long rideId) {
+        return optimisticRetry.execute(() -> timeOut(rideId));
+    }
+
+    private boolean timeOut(Long rideId) {
+        RideEntity ride = rideRepository.findById(rideId).orElse(null);
+        LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(TIMEOUT_SECONDS);
+        if (ride == null || ride.getStatus() != RideStatus.INVITED
+                || ride.getInvitedAt() == null || ride.getInvitedAt().isAfter(cutoffTime)) {
+            return false;
+        }
+        deny(ride);
+        return true;
+    }
+
+    /**
+     * Crash-recovery sweep for timed-out driver invitations.
+     */
+    @Scheduled(fixedDelayString = "${dispatch.invite-timeout.recovery-sweep-ms:60000}")
     public void checkForTimedOutInvitations() {
         // Calculate cutoff time (60 seconds ago)
         LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(TIMEOUT_SECONDS);
@@ -44,23 +73,36 @@ public class CheckDriverResponseTimeoutService {
             return;
         }
 
+        log.info("Recovery sweep found {} timed-out invitations", timedOutRides.size());
         for (RideEntity ride : timedOutRides) {
-            // Add current driver to denied list
-            if (ride.getDriver() != null && !ride.getDeniedDriverIds().contains(ride.getDriver().getId())) {
-                ride.getDeniedDriverIds().add(ride.getDriver().getId());
-                log.info("Added driver {} to denied list for ride {}", ride.getDriver().getId(), ride.getId());
+            try {
+                timeOutInvitation(ride.getId());
+            } catch (OptimisticLockingFailureException e) {
+                log.warn("Gave up timing out ride {} after repeated concurrent updates: {}", ride.getId(), e.getMessage());
             }
+        }
+    }
 
-            // Change status to DENIED so poller can pick it up
-            ride.setStatus(RideStatus.DENIED);
+    private void deny(RideEntity ride) {
+        Long invitedDriverId = ride.getDriver() != null ? ride.getDriver().getId() : null;
 
-            // Clear driver assignment
-            ride.setDriver(null);
+        // Add current driver to denied list
+        if (ride.getDriver() != null && !ride.getDeniedDriverIds().contains(ride.getDriver().getId())) {
+            ride.getDeniedDriverIds().add(ride.getDriver().getId());
+            log.info("Added driver {} to denied list for ride {}", ride.getDriver().getId(), ride.getId());
+        }
 
-            // Clear invitation timestamp
-            ride.setInvitedAt(null);
+        // Change status to DENIED so poller can pick it up
+        ride.transitionTo(RideStatus.DENIED);
 
-            rideRepository.save(ride);
-        }
+        // Clear driver assignment
+        ride.setDriver(null);
+
+        // Clear invitation timestamp
+        ride.setInvitedAt(null);
+
+        rideRepository.save(ride);
+        publisher.publishEvent(new RideDeniedEvent(ride.getId(), invitedDriverId));
+        publisher.publishEvent(RideStatusChangedEvent.of(ride, invitedDriverId));
     }
 }
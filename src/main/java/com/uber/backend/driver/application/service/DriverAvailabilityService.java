@@ -1,22 +1,64 @@
 package com.uber.backend.driver.application.service;
 
+import com.uber.backend.driver.domain.enums.AddressResolutionMode;
+import com.uber.backend.driver.domain.event.DriverAvailableEvent;
+import com.uber.backend.driver.domain.event.DriverIndexChangedEvent;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.shared.domain.port.GeocodingPort;
 import com.uber.backend.shared.domain.valueobject.Location;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service for managing driver availability (online/offline status).
+ * Keeps the in-memory {@link DriverLocationIndex} in sync with the drivers table; availability
+ * changes reach the index once their transaction has committed.
+ * Location updates go to the write-behind {@link DriverLocationStore} instead of the database.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DriverAvailabilityService {
 
     private final DriverRepository driverRepository;
     private final GeocodingPort geocodingPort;
+    private final DriverLocationIndex driverLocationIndex;
+    private final DriverLocationStore driverLocationStore;
+    private final DriverAddressResolver driverAddressResolver;
+    private final ApplicationEventPublisher publisher;
+
+    @Value("${driver.location.address-resolution.mode:SYNC}")
+    private AddressResolutionMode addressResolutionMode = AddressResolutionMode.SYNC;
+
+    /**
+     * Load all available drivers into the location index and location store on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildLocationIndex() {
+        driverLocationIndex.clear();
+        driverLocationStore.clear();
+        for (DriverEntity driver : driverRepository.findByIsAvailableTrue()) {
+            driverLocationIndex.upsert(driver);
+            if (hasCoordinates(driver.getCurrentLocation())) {
+                driverLocationStore.track(driver.getId(), driver.getCurrentLocation());
+            }
+        }
+        log.info("Driver location index loaded with {} online drivers", driverLocationIndex.size());
+    }
 
     /**
      * Set driver as online (available for rides).
@@ -36,6 +78,9 @@ public class DriverAvailabilityService {
         driver.setCurrentLocation(currentLocation);
 
         driverRepository.save(driver);
+        driverLocationStore.track(driverId, currentLocation);
+        publisher.publishEvent(DriverIndexChangedEvent.of(driver));
+        publisher.publishEvent(new DriverAvailableEvent(driverId));
         return address;
     }
 
@@ -47,32 +92,114 @@ public class DriverAvailabilityService {
         DriverEntity driver = driverRepository.findById(driverId)
                 .orElseThrow(() -> new IllegalArgumentException("Driver not found: " + driverId));
 
-        // Set driver as unavailable
+        // Set driver as unavailable, persisting the last position still held in memory
         driver.setIsAvailable(false);
+        driverAddressResolver.applyTo(driver);
 
         driverRepository.save(driver);
+        driverLocationStore.untrack(driverId);
+        publisher.publishEvent(DriverIndexChangedEvent.removed(driverId));
     }
 
     /**
      * Update driver's current location.
-     * Only updates if driver is online.
-     * @return The resolved address of the new location
+     * Only updates if driver is online and not invited or on a ride: those drivers are not
+     * tracked, so the update falls back to the availability check against the database.
+     * The position is kept in memory and persisted in the next batch flush of the
+     * {@link DriverLocationStore}.
+     * @return The resolved address of the new location, or null in ASYNC mode where the
+     *         address is resolved in the background
      */
-    @Transactional
     public String updateLocation(Long driverId, Double latitude, Double longitude) {
-        DriverEntity driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> new IllegalArgumentException("Driver not found: " + driverId));
+        if (!driverLocationStore.isTracked(driverId)) {
+            // Not tracked yet, e.g. went online before a restart: check the database once
+            DriverEntity driver = driverRepository.findById(driverId)
+                    .orElseThrow(() -> new IllegalArgumentException("Driver not found: " + driverId));
+            if (!driver.getIsAvailable()) {
+                throw new IllegalArgumentException("Cannot update location while offline. Please go online first.");
+            }
+            driverLocationStore.track(driverId, new Location(latitude, longitude, null));
+        }
 
-        if (!driver.getIsAvailable()) {
-            throw new IllegalArgumentException("Cannot update location while offline. Please go online first.");
+        if (addressResolutionMode == AddressResolutionMode.ASYNC) {
+            updateLocationInBackground(driverId, latitude, longitude);
+            return null;
         }
 
         // Resolve address from coordinates and update location
         String address = geocodingPort.getAddressFromCoordinates(latitude, longitude);
         Location currentLocation = new Location(latitude, longitude, address);
-        driver.setCurrentLocation(currentLocation);
 
-        driverRepository.save(driver);
+        driverLocationStore.update(driverId, currentLocation);
+        driverLocationIndex.move(driverId, latitude, longitude);
         return address;
     }
+
+    /**
+     * Apply a position without waiting for its address, which is resolved in the background
+     * whatever the address resolution mode. Used for streamed locations.
+     *
+     * @return false if the driver is not online (anymore)
+     */
+    public boolean updateLocationInBackground(Long driverId, double latitude, double longitude) {
+        if (!driverLocationStore.update(driverId, new Location(latitude, longitude, null))) {
+            return false;
+        }
+        driverLocationIndex.move(driverId, latitude, longitude);
+        driverAddressResolver.request(driverId, latitude, longitude);
+        return true;
+    }
+
+    /**
+     * Apply a position recorded at {@code timestampMillis}, e.g. relayed by a fleet gateway, unless
+     * the driver already has a newer one. The address is resolved in the background.
+     *
+     * @return false if the driver is not online or the position is out of order
+     */
+    public boolean updateLocationInBackground(Long driverId, double latitude, double longitude, long timestampMillis) {
+        if (!driverLocationStore.update(driverId, new Location(latitude, longitude, null), timestampMillis)) {
+            return false;
+        }
+        driverLocationIndex.move(driverId, latitude, longitude);
+        driverAddressResolver.request(driverId, latitude, longitude);
+        return true;
+    }
+
+    /**
+     * Start tracking those of the given drivers that are online but not tracked yet,
+     * e.g. after a restart, with one query for all of them.
+     */
+    @Transactional(readOnly = true)
+    public void trackOnlineDrivers(Collection<Long> driverIds) {
+        List<Long> untracked = driverIds.stream().filter(id -> !driverLocationStore.isTracked(id)).distinct().toList();
+        if (untracked.isEmpty()) {
+            return;
+        }
+        for (DriverEntity driver : driverRepository.findByIdInAndIsAvailableTrue(untracked)) {
+            if (hasCoordinates(driver.getCurrentLocation())) {
+                // The age of the persisted position is unknown, so any relayed sample replaces it
+                driverLocationStore.track(driver.getId(), driver.getCurrentLocation(), 0);
+            }
+        }
+    }
+
+    /**
+     * Make sure the driver is online and tracked in memory, e.g. before accepting a location stream.
+     */
+    public void requireOnline(Long driverId) {
+        if (driverLocationStore.isTracked(driverId)) {
+            return;
+        }
+        // Not tracked yet, e.g. went online before a restart: check the database once
+        DriverEntity driver = driverRepository.findById(driverId)
+                .orElseThrow(() -> new IllegalArgumentException("Driver not found: " + driverId));
+        if (!Boolean.TRUE.equals(driver.getIsAvailable()) || !hasCoordinates(driver.getCurrentLocation())) {
+            throw new IllegalArgumentException("Cannot update location while offline. Please go online first.");
+        }
+        driverLocationStore.track(driverId, driver.getCurrentLocation());
+    }
+
+    private static boolean hasCoordinates(Location location) {
+        return location != null && location.latitude() != null && location.longitude() != null;
+    }
 }
@@ -0,0 +1,234 @@
+package com.uber.backend.driver.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.uber.backend.driver.application.command.LocationFrame;
+import com.uber.backend.driver.application.command.LocationStreamResult;
+import com.uber.backend.driver.application.exception.LocationStreamLimitException;
+import com.uber.backend.driver.infrastructure.location.LocationIngestionBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingests a driver's continuous stream of location frames, one JSON object per line.
+ * The driver is checked once per stream instead of once per position. Frames are validated
+ * while reading and coalesced in the {@link LocationIngestionBuffer}; every
+ * {@code driver.location.stream.apply-interval-ms} only the newest position per driver is
+ * applied to the location index and the write-behind location store.
+ * A stream stays open as long as the driver is online, so it is read on a virtual thread of
+ * its own rather than on a request thread; at most {@code max-streams} are open per node.
+ */
+@Service
+@Slf4j
+public class DriverLocationStreamService {
+
+    private final DriverAvailabilityService driverAvailabilityService;
+    private final LocationIngestionBuffer buffer;
+    private final ObjectReader frameReader;
+    private final Clock clock;
+    private final Executor executor;
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter applied;
+
+    @Value("${driver.location.stream.max-line-length:256}")
+    private int maxLineLength = 256;
+
+    // Frames stamped further ahead than this are rejected as a wrong device clock
+    @Value("${driver.location.stream.max-clock-skew-ms:5000}")
+    private long maxClockSkewMillis = 5000;
+
+    // Frames older than this, e.g. replayed after a reconnect, no longer describe where the driver is
+    @Value("${driver.location.stream.max-frame-age-ms:30000}")
+    private long maxFrameAgeMillis = 30000;
+
+    @Value("${driver.location.stream.max-streams:10000}")
+    private int maxStreams = 10000;
+
+    @Autowired
+    public DriverLocationStreamService(DriverAvailabilityService driverAvailabilityService,
+                                       LocationIngestionBuffer buffer,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry) {
+        this(driverAvailabilityService, buffer, objectMapper, meterRegistry, Clock.systemUTC(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public DriverLocationStreamService(DriverAvailabilityService driverAvailabilityService,
+                                       LocationIngestionBuffer buffer,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       Clock clock,
+                                       Executor executor) {
+        this.driverAvailabilityService = driverAvailabilityService;
+        this.buffer = buffer;
+        this.frameReader = objectMapper.readerFor(LocationFrame.class);
+        this.clock = clock;
+        this.executor = executor;
+        this.accepted = Counter.builder("driver.location.frames").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("driver.location.frames").tag("result", "rejected").register(meterRegistry);
+        this.applied = Counter.builder("driver.location.frames").tag("result", "applied").register(meterRegistry);
+        Gauge.builder("driver.location.streams", openStreams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Check the driver, then read frames on the stream executor until the client closes the stream.
+     *
+     * @throws IllegalArgumentException if the driver is not online
+     * @throws LocationStreamLimitException if {@code max-streams} streams are already open
+     */
+    public CompletableFuture<LocationStreamResult> ingestAsync(Long driverId, InputStream frames) {
+        driverAvailabilityService.requireOnline(driverId);
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new LocationStreamLimitException("Too many open location streams, please retry later");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return read(driverId, frames);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    openStreams.decrementAndGet();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            openStreams.decrementAndGet();
+            throw new LocationStreamLimitException("Location streams are not accepted right now, please retry later");
+        }
+    }
+
+    /**
+     * Read frames on the calling thread until the client closes the stream.
+     *
+     * @throws IllegalArgumentException if the driver is not online
+     */
+    public LocationStreamResult ingest(Long driverId, InputStream frames) throws IOException {
+        driverAvailabilityService.requireOnline(driverId);
+        return read(driverId, frames);
+    }
+
+    public int getOpenStreamCount() {
+        return openStreams.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private LocationStreamResult read(Long driverId, InputStream frames) throws IOException {
+        long acceptedFrames = 0;
+        long rejectedFrames = 0;
+        Reader reader = new InputStreamReader(frames, StandardCharsets.UTF_8);
+        StringBuilder line = new StringBuilder(maxLineLength);
+        int length;
+        while ((length = readLine(reader, line)) >= 0) {
+            if (length > maxLineLength) {
+                rejectedFrames++;
+            } else if (line.toString().isBlank()) {
+                // Keep-alive
+                continue;
+            } else if (acceptFrame(driverId, line.toString())) {
+                acceptedFrames++;
+            } else {
+                rejectedFrames++;
+            }
+        }
+
+        accepted.increment(acceptedFrames);
+        rejected.increment(rejectedFrames);
+        log.debug("Location stream of driver {} closed: {} frames accepted, {} rejected",
+                driverId, acceptedFrames, rejectedFrames);
+        return new LocationStreamResult(acceptedFrames, rejectedFrames);
+    }
+
+    /**
+     * Apply the newest buffered position of every driver.
+     */
+    @Scheduled(fixedRateString = "${driver.location.stream.apply-interval-ms:500}")
+    public int applyPending() {
+        List<LocationIngestionBuffer.Frame> frames = buffer.drain();
+        int count = 0;
+        for (LocationIngestionBuffer.Frame frame : frames) {
+            if (driverAvailabilityService.updateLocationInBackground(
+                    frame.driverId(), frame.latitude(), frame.longitude())) {
+                count++;
+            } else {
+                // Went offline while streaming
+                buffer.forget(frame.driverId());
+            }
+        }
+        applied.increment(count);
+        return count;
+    }
+
+    /**
+     * Read the next line into {@code line}, keeping at most {@code maxLineLength} characters.
+     *
+     * @return the full length of the line, or -1 at the end of the stream
+     */
+    private int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < maxLineLength) {
+                line.append((char) c);
+            }
+        }
+        return c == -1 && length == 0 ? -1 : length;
+    }
+
+    /**
+     * @return false if the line is not a valid frame newer than the driver's latest position
+     */
+    private boolean acceptFrame(Long driverId, String line) {
+        LocationFrame frame;
+        try {
+            frame = frameReader.readValue(line);
+        } catch (IOException e) {
+            return false;
+        }
+        if (frame == null || !isValidCoordinate(frame.lat(), 90) || !isValidCoordinate(frame.lon(), 180)) {
+            return false;
+        }
+        long now = clock.millis();
+        long timestamp = frame.ts() != null ? frame.ts() : now;
+        if (timestamp > now + maxClockSkewMillis || timestamp < now - maxFrameAgeMillis) {
+            return false;
+        }
+        return buffer.offer(new LocationIngestionBuffer.Frame(driverId, frame.lat(), frame.lon(), timestamp));
+    }
+
+    private static boolean isValidCoordinate(Double value, double bound) {
+        return value != null && !value.isNaN() && value >= -bound && value <= bound;
+    }
+}
@@ -0,0 +1,122 @@
+package com.uber.backend.driver.application.service;
+
+import com.uber.backend.driver.application.command.FleetLocationResult;
+import com.uber.backend.driver.application.command.FleetLocationSample;
+import com.uber.backend.driver.domain.enums.LocationUpdateStatus;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Applies positions of many drivers relayed by a fleet gateway in one call.
+ * Untracked drivers are looked up with a single query, only the newest sample per driver is
+ * applied, and the write-behind {@link DriverLocationStore}
+ * persists the whole batch in its next JDBC batch flush.
+ */
+@Service
+@Slf4j
+public class FleetLocationService {
+
+    private final DriverAvailabilityService driverAvailabilityService;
+    private final DriverLocationStore driverLocationStore;
+    private final Clock clock;
+    private final Map<LocationUpdateStatus, Counter> entries = new EnumMap<>(LocationUpdateStatus.class);
+
+    @Value("${driver.location.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    // Samples stamped further ahead than this are rejected as a wrong gateway clock
+    @Value("${driver.location.batch.max-clock-skew-ms:5000}")
+    private long maxClockSkewMillis = 5000;
+
+    @Autowired
+    public FleetLocationService(DriverAvailabilityService driverAvailabilityService,
+                                DriverLocationStore driverLocationStore,
+                                MeterRegistry meterRegistry) {
+        this(driverAvailabilityService, driverLocationStore, meterRegistry, Clock.systemUTC());
+    }
+
+    public FleetLocationService(DriverAvailabilityService driverAvailabilityService,
+                                DriverLocationStore driverLocationStore,
+                                MeterRegistry meterRegistry,
+                                Clock clock) {
+        this.driverAvailabilityService = driverAvailabilityService;
+        this.driverLocationStore = driverLocationStore;
+        this.clock = clock;
+        for (LocationUpdateStatus status : LocationUpdateStatus.values()) {
+            entries.put(status, Counter.builder("driver.location.batch.entries")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return The status of every entry, in the order of {@code samples}
+     * @throws IllegalArgumentException if the batch is larger than {@code driver.location.batch.max-size}
+     */
+    public List<FleetLocationResult> updateLocations(List<FleetLocationSample> samples) {
+        if (samples.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " locations per batch");
+        }
+
+        LocationUpdateStatus[] statuses = new LocationUpdateStatus[samples.size()];
+        long now = clock.millis();
+        List<Integer> valid = new ArrayList<>(samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            if (isValid(samples.get(i), now)) {
+                valid.add(i);
+            } else {
+                statuses[i] = LocationUpdateStatus.INVALID;
+            }
+        }
+
+        driverAvailabilityService.trackOnlineDrivers(valid.stream().map(i -> samples.get(i).driverId()).toList());
+
+        // Newest first: older entries for the same driver are then out of order and reported stale
+        valid.sort(Comparator.comparingLong(i -> -samples.get(i).timestamp()));
+        for (int i : valid) {
+            statuses[i] = apply(samples.get(i));
+        }
+
+        for (LocationUpdateStatus status : statuses) {
+            entries.get(status).increment();
+        }
+        return IntStream.range(0, samples.size())
+                .mapToObj(i -> new FleetLocationResult(samples.get(i) == null ? null : samples.get(i).driverId(), statuses[i]))
+                .toList();
+    }
+
+    private LocationUpdateStatus apply(FleetLocationSample sample) {
+        if (!driverLocationStore.isTracked(sample.driverId())) {
+            return LocationUpdateStatus.OFFLINE;
+        }
+        boolean applied = driverAvailabilityService.updateLocationInBackground(
+                sample.driverId(), sample.latitude(), sample.longitude(), sample.timestamp());
+        return applied ? LocationUpdateStatus.APPLIED : LocationUpdateStatus.STALE;
+    }
+
+    private boolean isValid(FleetLocationSample sample, long now) {
+        return sample != null
+                && sample.driverId() != null
+                && sample.timestamp() != null
+                && sample.timestamp() <= now + maxClockSkewMillis
+                && isValidCoordinate(sample.latitude(), 90)
+                && isValidCoordinate(sample.longitude(), 180);
+    }
+
+    private static boolean isValidCoordinate(Double value, double bound) {
+        return value != null && !value.isNaN() && value >= -bound && value <= bound;
+    }
+}
@@ -1,14 +1,25 @@
 package com.uber.backend.driver.application.service;
 
+import com.uber.backend.driver.domain.enums.DispatchMode;
+import com.uber.backend.driver.domain.matching.HungarianAssignmentSolver;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex.NearbyDriver;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.domain.event.DriverInvitedEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
-import com.uber.backend.shared.domain.port.DistanceCalculatorPort;
 import com.uber.backend.shared.domain.valueobject.Location;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,63 +31,294 @@ import java.util.*;
 @Slf4j
 public class PollAvailableDriversService {
 
+    // Number of nearest candidates fetched from the index per lookup
+    private static final int CANDIDATE_BATCH_SIZE = 5;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final List<RideStatus> UNMATCHED_STATUSES = List.of(RideStatus.REQUESTED, RideStatus.DENIED);
+
     private final DriverRepository driverRepository;
     private final RideRepository rideRepository;
-    private final DistanceCalculatorPort distanceCalculator;
+    private final DriverLocationIndex driverLocationIndex;
+    private final DriverAddressResolver driverAddressResolver;
+    private final DriverLocationStore driverLocationStore;
+    private final ApplicationEventPublisher publisher;
+
+    @Value("${dispatch.mode:GREEDY}")
+    private DispatchMode dispatchMode = DispatchMode.GREEDY;
+
+    // Batch mode: rides solved together per window, and the pickup distance above which a pair is never considered
+    @Value("${dispatch.batch.max-rides:200}")
+    private int batchMaxRides = 200;
+
+    @Value("${dispatch.batch.max-pickup-km:10}")
+    private double batchMaxPickupKm = 10;
+
+    @Value("${dispatch.batch.candidates-per-ride:10}")
+    private int batchCandidatesPerRide = 10;
+
+    // Sweep sharding: each replica sweeps the pickup cells hashed onto its shard index
+    @Value("${dispatch.shard.count:1}")
+    private int shardCount = 1;
+
+    @Value("${dispatch.shard.index:0}")
+    private int shardIndex = 0;
+
+    @Value("${dispatch.shard.cell-size-km:5}")
+    private double shardCellSizeKm = 5;
+
+    // Rides claimed per sweep
+    @Value("${dispatch.claim-limit:1000}")
+    private int claimLimit = 1000;
+
+    @PostConstruct
+    void validateShard() {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("dispatch.shard.index must be between 0 and dispatch.shard.count - 1");
+        }
+    }
+
+    /**
+     * Try to invite a driver for every REQUESTED or DENIED ride in this dispatcher's shard.
+     * Rides are claimed with {@code FOR UPDATE SKIP LOCKED}, so replicas sharing a shard,
+     * or matching the same ride from an event, never work on the same ride at once.
+     *
+     * @return IDs of the rides that are still waiting for a driver
+     */
+    @Transactional
+    public List<Long> pollForAvailableDriversForAllRides() {
+        List<RideEntity> rides = rideRepository.claimUnmatchedInShard(
+                shardCount, shardIndex, shardCellSizeKm / KM_PER_DEGREE, claimLimit);
+        return dispatchMode == DispatchMode.BATCH ? assignBatch(rides) : assignGreedy(rides);
+    }
 
+    /**
+     * Try to invite drivers for the given rides, using the configured dispatch mode.
+     * Event-driven matching is not sharded: the node that received the event claims the ride,
+     * and rides locked by another dispatcher are skipped.
+     *
+     * @return IDs of the rides that are still waiting for a driver
+     */
     @Transactional
-    public void pollForAvailableDriversForAllRides() {
+    public List<Long> matchRides(Collection<Long> rideIds) {
+        List<RideEntity> rides = rideRepository.findByIdInAndStatusInForUpdate(rideIds, UNMATCHED_STATUSES);
+        return dispatchMode == DispatchMode.BATCH ? assignBatch(rides) : assignGreedy(rides);
+    }
 
-        // Find rides that need driver assignment: REQUESTED (new) or DENIED (driver rejected)
-        List<RideEntity> requestedRides = rideRepository.findByStatusEquals(RideStatus.REQUESTED);
-        List<RideEntity> deniedRides = rideRepository.findByStatusEquals(RideStatus.DENIED);
+    /**
+     * Try to invite a driver for a single ride.
+     *
+     * @return true if the ride is still waiting for a driver
+     */
+    @Transactional
+    public boolean matchRide(Long rideId) {
+        List<RideEntity> rides = rideRepository.findByIdInAndStatusInForUpdate(List.of(rideId), UNMATCHED_STATUSES);
+        if (rides.isEmpty()) {
+            // Already matched or cancelled, or being matched by another dispatcher
+            return false;
+        }
+        return !tryInviteNearestDriver(rides.get(0));
+    }
 
-        // Combine both lists
-        List<RideEntity> rides = new ArrayList<>();
-        rides.addAll(requestedRides);
-        rides.addAll(deniedRides);
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
 
+    private List<Long> assignGreedy(List<RideEntity> rides) {
+        List<Long> unmatchedRideIds = new ArrayList<>();
         for (RideEntity ride : rides) {
-            List<DriverEntity> availableDrivers = driverRepository.findByIsAvailableTrue();
-            if (availableDrivers.isEmpty()) {
-                return;
+            if (!tryInviteNearestDriver(ride)) {
+                unmatchedRideIds.add(ride.getId());
             }
+        }
+        return unmatchedRideIds;
+    }
 
-            Location startLocation = ride.getPickupLocation();
-            if (startLocation == null) {
-                continue;
+    /**
+     * Assign rides to drivers at minimum total pickup distance.
+     * Each ride only competes for its nearest candidates from the location index. Leaving a
+     * ride unmatched costs more than any set of pickups, so the solver first maximises the
+     * number of matched rides. Rides the window could not place fall back to the greedy search.
+     */
+    private List<Long> assignBatch(List<RideEntity> rides) {
+        List<Long> unmatchedRideIds = new ArrayList<>();
+        List<RideEntity> window = new ArrayList<>();
+        for (RideEntity ride : rides) {
+            if (ride.getPickupLocation() == null || window.size() >= batchMaxRides || driverLocationIndex.isEmpty()) {
+                unmatchedRideIds.add(ride.getId());
+            } else {
+                window.add(ride);
             }
+        }
+        if (window.isEmpty()) {
+            return unmatchedRideIds;
+        }
 
-            TreeMap<Double, DriverEntity> distanceFromStart = new TreeMap<>();
+        // Collect candidate drivers per ride and give each distinct driver a column
+        Map<Long, Integer> driverColumns = new LinkedHashMap<>();
+        List<List<NearbyDriver>> candidatesPerRide = new ArrayList<>();
+        for (RideEntity ride : window) {
+            Set<Long> deniedDriverIds = new HashSet<>(ride.getDeniedDriverIds());
+            List<NearbyDriver> candidates = driverLocationIndex.findNearest(
+                    ride.getRideType(),
+                    ride.getPickupLocation().latitude(),
+                    ride.getPickupLocation().longitude(),
+                    batchCandidatesPerRide,
+                    driverId -> !deniedDriverIds.contains(driverId)
+            );
+            candidatesPerRide.add(candidates);
+            for (NearbyDriver candidate : candidates) {
+                driverColumns.putIfAbsent(candidate.driverId(), driverColumns.size());
+            }
+        }
 
-            for (DriverEntity driver : availableDrivers) {
-                // Skip drivers who have already denied this ride
-                if (ride.getDeniedDriverIds().contains(driver.getId())) {
-                    continue;
+        // Columns: real drivers, then one "stay unmatched" slot per ride
+        int rideCount = window.size();
+        int driverCount = driverColumns.size();
+        double unmatchedCost = batchMaxPickupKm * rideCount + 1;
+        double infeasibleCost = unmatchedCost * (rideCount + 1);
+        double[][] costs = new double[rideCount][driverCount + rideCount];
+        for (int i = 0; i < rideCount; i++) {
+            Arrays.fill(costs[i], 0, driverCount, infeasibleCost);
+            Arrays.fill(costs[i], driverCount, driverCount + rideCount, unmatchedCost);
+            for (NearbyDriver candidate : candidatesPerRide.get(i)) {
+                if (candidate.distanceKm() <= batchMaxPickupKm) {
+                    costs[i][driverColumns.get(candidate.driverId())] = candidate.distanceKm();
                 }
+            }
+        }
 
-                Location driverLocation = driver.getCurrentLocation();
-                if (driverLocation == null) continue;
+        int[] assignment = HungarianAssignmentSolver.solve(costs);
+        List<Long> columnDriverIds = new ArrayList<>(driverColumns.keySet());
 
-                double distance = distanceCalculator.calculateDistance(startLocation, driverLocation);
-                distanceFromStart.put(distance, driver);
+        List<RideEntity> leftovers = new ArrayList<>();
+        for (int i = 0; i < rideCount; i++) {
+            RideEntity ride = window.get(i);
+            int column = assignment[i];
+            if (column >= driverCount || costs[i][column] > batchMaxPickupKm) {
+                leftovers.add(ride);
+                continue;
             }
 
-            if (!distanceFromStart.isEmpty()) {
-                DriverEntity nearest = distanceFromStart.firstEntry().getValue();
-                ride.setStatus(RideStatus.INVITED);
-                ride.setDriver(nearest);
-                ride.setVehicle(nearest.getCurrentVehicle());
-                ride.setInvitedAt(LocalDateTime.now());
-                DriverEntity driver = ride.getDriver();
-                driver.setIsAvailable(false);
-                driverRepository.save(driver);
-                rideRepository.save(ride);
+            DriverEntity driver = lockCandidate(columnDriverIds.get(column), ride.getRideType());
+            if (driver == null) {
+                leftovers.add(ride);
+                continue;
             }
+            invite(ride, driver);
         }
 
+        // Invited drivers left the index, so the greedy pass only sees drivers the batch did not use
+        unmatchedRideIds.addAll(assignGreedy(leftovers));
+        log.debug("Batch dispatch solved {} rides, {} still waiting", rideCount, unmatchedRideIds.size());
+        return unmatchedRideIds;
     }
 
-}
+    /**
+     * @return true if a driver was invited
+     */
+    private boolean tryInviteNearestDriver(RideEntity ride) {
+        if (driverLocationIndex.isEmpty()) {
+            return false;
+        }
 
+        Location startLocation = ride.getPickupLocation();
+        if (startLocation == null) {
+            return false;
+        }
+
+        DriverEntity nearest = findNearestAvailableDriver(ride, startLocation);
+        if (nearest == null) {
+            return false;
+        }
 
+        invite(ride, nearest);
+        return true;
+    }
+
+    private void invite(RideEntity ride, DriverEntity nearest) {
+        ride.transitionTo(RideStatus.INVITED);
+        ride.setDriver(nearest);
+        ride.setVehicle(nearest.getCurrentVehicle());
+        ride.setInvitedAt(LocalDateTime.now());
+        DriverEntity driver = ride.getDriver();
+        driver.setIsAvailable(false);
+        driverAddressResolver.applyTo(driver);
+        driverRepository.save(driver);
+        rideRepository.save(ride);
+        driverLocationIndex.remove(driver.getId());
+        // Location updates are rejected until the ride is over, as the driver is no longer available
+        driverLocationStore.untrack(driver.getId());
+        publisher.publishEvent(new DriverInvitedEvent(ride.getId(), driver.getId(), ride.getInvitedAt()));
+        publisher.publishEvent(RideStatusChangedEvent.of(ride));
+    }
+
+    private boolean isStillAvailable(DriverEntity driver, RideType rideType) {
+        return driver != null && Boolean.TRUE.equals(driver.getIsAvailable()) && driver.getCurrentLocation() != null
+                && driver.getCurrentVehicle() != null && driver.getCurrentVehicle().getType() == rideType;
+    }
+
+    /**
+     * Drop an index entry that no longer matches the database. A driver who is still
+     * available (e.g. switched vehicles) is re-indexed under their current state instead.
+     */
+    private void evictStale(Long driverId, DriverEntity driver) {
+        log.debug("Evicting stale driver {} from location index", driverId);
+        if (driver != null && Boolean.TRUE.equals(driver.getIsAvailable())) {
+            driverLocationIndex.upsert(driver);
+        } else {
+            driverLocationIndex.remove(driverId);
+        }
+    }
+
+    /**
+     * Ask the location index for the closest drivers to the pickup point and lock the
+     * first one the database still considers available. Stale index entries are evicted;
+     * drivers locked by another dispatcher are skipped for this ride.
+     */
+    private DriverEntity findNearestAvailableDriver(RideEntity ride, Location startLocation) {
+        // Skip drivers who have already denied this ride, or who are being invited elsewhere
+        Set<Long> skippedDriverIds = new HashSet<>(ride.getDeniedDriverIds());
+
+        while (true) {
+            List<NearbyDriver> candidates = driverLocationIndex.findNearest(
+                    ride.getRideType(),
+                    startLocation.latitude(),
+                    startLocation.longitude(),
+                    CANDIDATE_BATCH_SIZE,
+                    driverId -> !skippedDriverIds.contains(driverId)
+            );
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            for (NearbyDriver candidate : candidates) {
+                DriverEntity driver = lockCandidate(candidate.driverId(), ride.getRideType());
+                if (driver != null) {
+                    return driver;
+                }
+                skippedDriverIds.add(candidate.driverId());
+            }
+        }
+    }
+
+    /**
+     * Lock a candidate for an invitation. Only a driver the database still considers available
+     * is locked, so rejected candidates stay free for other dispatchers until this transaction ends.
+     * A candidate that was not locked is read without a lock to tell a stale index entry,
+     * which is evicted, from a driver another dispatcher is inviting.
+     *
+     * @return the locked driver, or null if the candidate cannot be invited
+     */
+    private DriverEntity lockCandidate(Long driverId, RideType rideType) {
+        Optional<DriverEntity> locked = driverRepository.findAvailableByIdForUpdate(driverId, rideType);
+        if (locked.isPresent()) {
+            return locked.get();
+        }
+        DriverEntity driver = driverRepository.findById(driverId).orElse(null);
+        if (!isStillAvailable(driver, rideType)) {
+            evictStale(driverId, driver);
+        }
+        return null;
+    }
+
+}
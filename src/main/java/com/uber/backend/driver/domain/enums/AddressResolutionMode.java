@@ -0,0 +1,15 @@
+package com.uber.backend.driver.domain.enums;
+
+/**
+ * How the address of a driver location update is resolved.
+ */
+public enum AddressResolutionMode {
+    /**
+     * Geocode before responding to the update.
+     */
+    SYNC,
+    /**
+     * Store the coordinates right away and resolve the address in the background.
+     */
+    ASYNC
+}
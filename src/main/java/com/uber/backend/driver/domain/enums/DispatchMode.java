@@ -0,0 +1,11 @@
+package com.uber.backend.driver.domain.enums;
+
+/**
+ * How pending rides are matched to available drivers.
+ */
+public enum DispatchMode {
+    /** Each ride immediately takes its nearest available driver. */
+    GREEDY,
+    /** Rides collected during a matching window are assigned together at minimum total pickup distance. */
+    BATCH
+}
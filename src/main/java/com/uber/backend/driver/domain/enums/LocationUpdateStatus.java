@@ -0,0 +1,23 @@
+package com.uber.backend.driver.domain.enums;
+
+/**
+ * Outcome of one entry of a batch location update.
+ */
+public enum LocationUpdateStatus {
+    /**
+     * The position is now the driver's current location.
+     */
+    APPLIED,
+    /**
+     * Older than the driver's current location, or superseded by a newer entry in the same batch.
+     */
+    STALE,
+    /**
+     * The driver does not exist or is not online.
+     */
+    OFFLINE,
+    /**
+     * Missing fields, coordinates out of range or a timestamp in the future.
+     */
+    INVALID
+}
@@ -0,0 +1,6 @@
+package com.uber.backend.driver.domain.event;
+
+/**
+ * Raised when a driver becomes available for rides (went online or finished a ride).
+ */
+public record DriverAvailableEvent(Long driverId) {}
@@ -0,0 +1,32 @@
+package com.uber.backend.driver.domain.event;
+
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.shared.domain.valueobject.Location;
+
+/**
+ * Raised when a driver's entry in the location index has to change once the raising transaction
+ * commits: indexed at the given position under the ride type of their current vehicle, or removed
+ * when the position or ride type is null.
+ */
+public record DriverIndexChangedEvent(Long driverId, Double latitude, Double longitude, RideType rideType) {
+
+    /**
+     * Index the driver as they are now, or remove them if they have no position or vehicle.
+     */
+    public static DriverIndexChangedEvent of(DriverEntity driver) {
+        Location location = driver.getCurrentLocation();
+        return new DriverIndexChangedEvent(driver.getId(),
+                location != null ? location.latitude() : null,
+                location != null ? location.longitude() : null,
+                driver.getCurrentVehicle() != null ? driver.getCurrentVehicle().getType() : null);
+    }
+
+    public static DriverIndexChangedEvent removed(Long driverId) {
+        return new DriverIndexChangedEvent(driverId, null, null, null);
+    }
+
+    public boolean isRemoval() {
+        return latitude == null || longitude == null || rideType == null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.uber.backend.driver.domain.event;
+
+import com.uber.backend.ride.domain.enums.RideType;
+
+/**
+ * Raised when the type of the vehicle a driver drives changes, by switching, adding, editing or
+ * deleting their current vehicle. {@code rideType} is null when the driver has no vehicle left.
+ */
+public record DriverVehicleChangedEvent(Long driverId, RideType rideType) {}
@@ -0,0 +1,92 @@
+package com.uber.backend.driver.domain.matching;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment (Hungarian algorithm, O(n² · m)).
+ * Assigns every row to a distinct column so that the sum of the chosen costs is minimal.
+ */
+public final class HungarianAssignmentSolver {
+
+    private HungarianAssignmentSolver() {
+    }
+
+    /**
+     * Solve the assignment problem for a rectangular cost matrix.
+     *
+     * @param costs Matrix with {@code rows <= columns}; every row must have the same length
+     * @return For each row, the index of the column assigned to it
+     */
+    public static int[] solve(double[][] costs) {
+        int n = costs.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int m = costs[0].length;
+        if (n > m) {
+            throw new IllegalArgumentException("Cost matrix must not have more rows (" + n + ") than columns (" + m + ")");
+        }
+
+        // Potentials and matching use 1-based indices; column 0 is a virtual start column
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] matchedRow = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minSlack = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int row = 1; row <= n; row++) {
+            matchedRow[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[column] = true;
+                int currentRow = matchedRow[column];
+                double delta = Double.POSITIVE_INFINITY;
+                int nextColumn = 0;
+
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double slack = costs[currentRow - 1][j - 1] - u[currentRow] - v[j];
+                    if (slack < minSlack[j]) {
+                        minSlack[j] = slack;
+                        way[j] = column;
+                    }
+                    if (minSlack[j] < delta) {
+                        delta = minSlack[j];
+                        nextColumn = j;
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[matchedRow[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (matchedRow[column] != 0);
+
+            // Flip the augmenting path
+            do {
+                int previous = way[column];
+                matchedRow[column] = matchedRow[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (matchedRow[j] != 0) {
+                assignment[matchedRow[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,233 @@
+package com.uber.backend.driver.infrastructure.index;
+
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.infrastructure.adapter.HaversineDistanceAdapter;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory spatial index of online drivers.
+ * Drivers are bucketed into a fixed lat/lon grid so that a nearest-driver lookup
+ * only visits the cells around the pickup point instead of every available driver.
+ * There is a separate grid per {@link RideType}, so a lookup only ever sees drivers whose
+ * current vehicle can serve the ride. Drivers without a vehicle are never indexed.
+ */
+@Component
+public class DriverLocationIndex {
+
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * 6371;
+
+    private final double cellSizeDegrees;
+    private final double maxSearchRadiusKm;
+
+    private final Map<RideType, Map<Long, Set<Long>>> cellsByType = new EnumMap<>(RideType.class);
+    private final Map<Long, IndexedDriver> drivers = new ConcurrentHashMap<>();
+
+    public DriverLocationIndex(
+            @Value("${dispatch.index.cell-size-degrees:0.01}") double cellSizeDegrees,
+            @Value("${dispatch.index.max-search-radius-km:50}") double maxSearchRadiusKm) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.maxSearchRadiusKm = maxSearchRadiusKm;
+        for (RideType rideType : RideType.values()) {
+            cellsByType.put(rideType, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * A driver found by a nearest-neighbour lookup.
+     */
+    public record NearbyDriver(Long driverId, double distanceKm) {}
+
+    private record IndexedDriver(double latitude, double longitude, RideType rideType, long cellKey) {}
+
+    /**
+     * Index a driver at their current location with the type of their current vehicle.
+     * Drivers without a location or vehicle are removed instead.
+     */
+    public void upsert(DriverEntity driver) {
+        Location location = driver.getCurrentLocation();
+        if (location == null || location.latitude() == null || location.longitude() == null
+                || driver.getCurrentVehicle() == null || driver.getCurrentVehicle().getType() == null) {
+            remove(driver.getId());
+            return;
+        }
+        upsert(driver.getId(), location.latitude(), location.longitude(), driver.getCurrentVehicle().getType());
+    }
+
+    /**
+     * Add a driver to the index or move them to a new position.
+     */
+    public void upsert(Long driverId, double latitude, double longitude, RideType rideType) {
+        long newCell = cellKey(cellIndex(latitude), cellIndex(longitude));
+        drivers.compute(driverId, (id, previous) -> {
+            if (previous == null || previous.cellKey() != newCell || previous.rideType() != rideType) {
+                if (previous != null) {
+                    removeFromCell(previous.rideType(), previous.cellKey(), id);
+                }
+                addToCell(rideType, newCell, id);
+            }
+            return new IndexedDriver(latitude, longitude, rideType, newCell);
+        });
+    }
+
+    /**
+     * Move an indexed driver to a new position, keeping their ride type.
+     *
+     * @return false if the driver is not indexed
+     */
+    public boolean move(Long driverId, double latitude, double longitude) {
+        IndexedDriver current = drivers.get(driverId);
+        if (current == null) {
+            return false;
+        }
+        upsert(driverId, latitude, longitude, current.rideType());
+        return true;
+    }
+
+    /**
+     * Move an indexed driver to the grid of another ride type after a vehicle change, keeping
+     * their position. A null type removes the driver, as drivers without a vehicle are never indexed.
+     *
+     * @return false if the driver is not indexed
+     */
+    public boolean retype(Long driverId, RideType rideType) {
+        if (rideType == null) {
+            boolean indexed = contains(driverId);
+            remove(driverId);
+            return indexed;
+        }
+        return drivers.computeIfPresent(driverId, (id, previous) -> {
+            if (previous.rideType() != rideType) {
+                removeFromCell(previous.rideType(), previous.cellKey(), id);
+                addToCell(rideType, previous.cellKey(), id);
+            }
+            return new IndexedDriver(previous.latitude(), previous.longitude(), rideType, previous.cellKey());
+        }) != null;
+    }
+
+    /**
+     * Remove a driver from the index (offline or no longer available).
+     */
+    public void remove(Long driverId) {
+        drivers.computeIfPresent(driverId, (id, previous) -> {
+            removeFromCell(previous.rideType(), previous.cellKey(), id);
+            return null;
+        });
+    }
+
+    public boolean contains(Long driverId) {
+        return drivers.containsKey(driverId);
+    }
+
+    public boolean isEmpty() {
+        return drivers.isEmpty();
+    }
+
+    public int size() {
+        return drivers.size();
+    }
+
+    /**
+     * Find up to {@code limit} drivers of the given ride type closest to the given point, nearest first.
+     * The search expands ring by ring around the point's cell and stops as soon as no
+     * unvisited cell can contain a closer driver than the ones already found.
+     *
+     * @param filter Only drivers accepted by this predicate are returned
+     */
+    public List<NearbyDriver> findNearest(RideType rideType, double latitude, double longitude,
+                                          int limit, Predicate<Long> filter) {
+        List<NearbyDriver> found = new ArrayList<>();
+        Map<Long, Set<Long>> cells = rideType != null ? cellsByType.get(rideType) : null;
+        if (limit <= 0 || cells == null || cells.isEmpty()) {
+            return found;
+        }
+
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+        double cellHeightKm = cellSizeDegrees * KM_PER_DEGREE;
+        double cellWidthKm = cellHeightKm * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double ringWidthKm = Math.min(cellHeightKm, cellWidthKm);
+        int maxRing = (int) Math.ceil(maxSearchRadiusKm / ringWidthKm);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                boolean edgeRow = Math.abs(dLat) == ring;
+                for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : 2 * ring) {
+                    collect(cells, cellKey(centerLat + dLat, centerLon + dLon), latitude, longitude, filter, found);
+                }
+            }
+
+            // Anything outside the visited square is at least ring * ringWidth away
+            if (found.size() >= limit) {
+                found.sort(Comparator.comparingDouble(NearbyDriver::distanceKm));
+                if (found.get(limit - 1).distanceKm() <= ring * ringWidthKm) {
+                    break;
+                }
+            }
+        }
+
+        found.sort(Comparator.comparingDouble(NearbyDriver::distanceKm));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Drop every indexed driver.
+     */
+    public void clear() {
+        drivers.clear();
+        cellsByType.values().forEach(Map::clear);
+    }
+
+    private void collect(Map<Long, Set<Long>> cells, long cellKey, double latitude, double longitude,
+                         Predicate<Long> filter, List<NearbyDriver> found) {
+        Set<Long> members = cells.get(cellKey);
+        if (members == null) {
+            return;
+        }
+        for (Long driverId : members) {
+            IndexedDriver driver = drivers.get(driverId);
+            if (driver == null || driver.cellKey() != cellKey || !filter.test(driverId)) {
+                continue;
+            }
+            double distance = HaversineDistanceAdapter.distanceKm(
+                    latitude, longitude, driver.latitude(), driver.longitude());
+            if (distance <= maxSearchRadiusKm) {
+                found.add(new NearbyDriver(driverId, distance));
+            }
+        }
+    }
+
+    private void addToCell(RideType rideType, long cellKey, Long driverId) {
+        cellsByType.get(rideType).compute(cellKey, (key, members) -> {
+            Set<Long> set = members != null ? members : ConcurrentHashMap.newKeySet();
+            set.add(driverId);
+            return set;
+        });
+    }
+
+    private void removeFromCell(RideType rideType, long cellKey, Long driverId) {
+        cellsByType.get(rideType).computeIfPresent(cellKey, (key, members) -> {
+            members.remove(driverId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xFFFFFFFFL);
+    }
+}
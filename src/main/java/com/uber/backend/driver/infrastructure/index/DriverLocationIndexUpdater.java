@@ -0,0 +1,60 @@
+package com.uber.backend.driver.infrastructure.index;
+
+import com.uber.backend.driver.domain.event.DriverIndexChangedEvent;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.ride.domain.event.DriverInvitedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies driver availability and vehicle changes to the {@link DriverLocationIndex} only once the
+ * transaction that made them has committed, so dispatchers never see a driver the database does not
+ * (yet) consider available. Runs before other after-commit listeners, so a dispatcher woken by the
+ * same commit already finds the driver.
+ * Invited drivers leave the index inside the dispatching transaction, so the same sweep cannot
+ * invite them twice; if that transaction rolls back they are restored from the database, along
+ * with their location tracking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DriverLocationIndexUpdater {
+
+    private final DriverLocationIndex driverLocationIndex;
+    private final DriverLocationStore driverLocationStore;
+    private final DriverRepository driverRepository;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DriverIndexChangedEvent event) {
+        if (event.isRemoval()) {
+            driverLocationIndex.remove(event.driverId());
+        } else {
+            driverLocationIndex.upsert(event.driverId(), event.latitude(), event.longitude(), event.rideType());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DriverVehicleChangedEvent event) {
+        driverLocationIndex.retype(event.driverId(), event.rideType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void restore(DriverInvitedEvent event) {
+        driverRepository.findById(event.driverId())
+                .filter(driver -> Boolean.TRUE.equals(driver.getIsAvailable()))
+                .ifPresent(driver -> {
+                    log.debug("Invitation of driver {} rolled back, restoring index entry", driver.getId());
+                    driverLocationStore.track(driver.getId(), driver.getCurrentLocation());
+                    driverLocationIndex.upsert(driver);
+                });
+    }
+}
@@ -0,0 +1,105 @@
+package com.uber.backend.driver.infrastructure.location;
+
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore.LocationSample;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Resolves driver addresses in the background for the {@link DriverLocationStore}.
+ * Only the latest position per driver is kept (a driver moving five times before the
+ * next tick costs one lookup), and at most {@code max-per-tick} lookups run per tick to
+ * respect the geocoding provider's rate limit.
+ */
+@Component
+public class DriverAddressResolver {
+
+    private final DriverLocationStore driverLocationStore;
+    private final GeocodingPort geocodingPort;
+    private final int maxPerTick;
+
+    // Latest unresolved position per driver, and the drivers in the order they were first queued
+    private final Map<Long, LocationSample> pending = new ConcurrentHashMap<>();
+    private final Queue<Long> queue = new ConcurrentLinkedQueue<>();
+
+    public DriverAddressResolver(DriverLocationStore driverLocationStore,
+                                 GeocodingPort geocodingPort,
+                                 @Value("${driver.location.address-resolution.max-per-tick:1}") int maxPerTick) {
+        this.driverLocationStore = driverLocationStore;
+        this.geocodingPort = geocodingPort;
+        this.maxPerTick = maxPerTick;
+    }
+
+    /**
+     * Queue the driver's current position for resolution, replacing any older queued position.
+     */
+    public void request(Long driverId, double latitude, double longitude) {
+        if (pending.put(driverId, new LocationSample(latitude, longitude, null, System.currentTimeMillis())) == null) {
+            queue.add(driverId);
+        }
+    }
+
+    /**
+     * Resolve the driver's address right away, for callers that need it now.
+     *
+     * @return The address, or null if the driver is not tracked
+     */
+    public String resolveNow(Long driverId) {
+        LocationSample sample = driverLocationStore.get(driverId);
+        if (sample == null) {
+            return null;
+        }
+        if (!sample.isAddressPending()) {
+            return sample.address();
+        }
+        pending.remove(driverId);
+        String address = geocodingPort.getAddressFromCoordinates(sample.latitude(), sample.longitude());
+        driverLocationStore.resolveAddress(driverId, sample.latitude(), sample.longitude(), address);
+        return address;
+    }
+
+    /**
+     * Copy the driver's latest position onto an entity that is about to be saved, resolving its
+     * address first if it is still pending, so the row is not saved with an outdated or missing address.
+     */
+    public void applyTo(DriverEntity driver) {
+        resolveNow(driver.getId());
+        driverLocationStore.applyTo(driver);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Resolve up to {@code max-per-tick} queued positions, in the order drivers were queued.
+     *
+     * @return Number of addresses resolved
+     */
+    @Scheduled(fixedRateString = "${driver.location.address-resolution.interval-ms:1000}")
+    public int resolvePending() {
+        int resolved = 0;
+        while (resolved < maxPerTick) {
+            Long driverId = queue.poll();
+            if (driverId == null) {
+                break;
+            }
+            // Already resolved by resolveNow, or the driver went offline
+            LocationSample sample = pending.remove(driverId);
+            if (sample == null || !driverLocationStore.isTracked(driverId)) {
+                continue;
+            }
+            String address = geocodingPort.getAddressFromCoordinates(sample.latitude(), sample.longitude());
+            driverLocationStore.resolveAddress(driverId, sample.latitude(), sample.longitude(), address);
+            resolved++;
+        }
+        return resolved;
+    }
+}
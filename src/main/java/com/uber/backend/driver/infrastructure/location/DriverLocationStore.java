@@ -0,0 +1,246 @@
+package com.uber.backend.driver.infrastructure.location;
+
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.shared.domain.valueobject.Location;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind store for the positions of online drivers.
+ * Location updates only touch memory; changed positions are written to the
+ * {@code drivers} table in periodic JDBC batches.
+ */
+@Component
+@Slf4j
+public class DriverLocationStore {
+
+    private static final String UPDATE_SQL =
+            "UPDATE drivers SET current_latitude = ?, current_longitude = ?, address = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    private final Map<Long, LocationSample> samples = new ConcurrentHashMap<>();
+    // Drivers whose latest sample is not yet in the database
+    private final Set<Long> dirtyDriverIds = ConcurrentHashMap.newKeySet();
+
+    public DriverLocationStore(JdbcTemplate jdbcTemplate,
+                               @Value("${driver.location.flush-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Latest known position of a driver. While the address of the position is being resolved,
+     * {@code address} is the last one resolved (null if none) and {@code addressPending} is set.
+     */
+    public record LocationSample(double latitude, double longitude, String address, long timestampMillis,
+                                 boolean addressPending) {
+
+        public LocationSample(double latitude, double longitude, String address, long timestampMillis) {
+            this(latitude, longitude, address, timestampMillis, address == null);
+        }
+
+        public Location toLocation() {
+            return new Location(latitude, longitude, address);
+        }
+
+        public boolean isAddressPending() {
+            return addressPending;
+        }
+    }
+
+    /**
+     * Start tracking a driver at a position that is already persisted (e.g. going online).
+     * A driver without a known position is not tracked.
+     */
+    public void track(Long driverId, Location location) {
+        if (location == null || location.latitude() == null || location.longitude() == null) {
+            return;
+        }
+        samples.put(driverId, toSample(location));
+        dirtyDriverIds.remove(driverId);
+    }
+
+    /**
+     * Start tracking a driver at a persisted position recorded at {@code timestampMillis};
+     * use 0 when its age is unknown so any timestamped sample replaces it.
+     */
+    public void track(Long driverId, Location location, long timestampMillis) {
+        samples.put(driverId, new LocationSample(location.latitude(), location.longitude(), location.address(), timestampMillis));
+        dirtyDriverIds.remove(driverId);
+    }
+
+    /**
+     * Record a new position for a tracked driver. It is persisted by the next {@link #flush()}.
+     * A position without address keeps the last resolved one until its own is resolved.
+     *
+     * @return false if the driver is not tracked (not online)
+     */
+    public boolean update(Long driverId, Location location) {
+        LocationSample updated = samples.computeIfPresent(driverId, (id, previous) ->
+                withAddress(location, System.currentTimeMillis(), previous));
+        if (updated == null) {
+            return false;
+        }
+        dirtyDriverIds.add(driverId);
+        return true;
+    }
+
+    /**
+     * Record a position recorded at {@code timestampMillis} unless the driver's current sample is as new.
+     *
+     * @return false if the driver is not tracked or the sample is out of order
+     */
+    public boolean update(Long driverId, Location location, long timestampMillis) {
+        boolean[] applied = new boolean[1];
+        samples.computeIfPresent(driverId, (id, current) -> {
+            if (current.timestampMillis() >= timestampMillis) {
+                return current;
+            }
+            applied[0] = true;
+            return withAddress(location, timestampMillis, current);
+        });
+        if (applied[0]) {
+            dirtyDriverIds.add(driverId);
+        }
+        return applied[0];
+    }
+
+    /**
+     * Fill in the address of a sample once it has been resolved. If the driver has moved since,
+     * the newer position stays pending, but the address still replaces the older one it carries,
+     * so a driver who never stands still does not keep the address of where they went online.
+     *
+     * @return true if the address belongs to the driver's current position
+     */
+    public boolean resolveAddress(Long driverId, double latitude, double longitude, String address) {
+        boolean[] current = new boolean[1];
+        boolean[] changed = new boolean[1];
+        samples.computeIfPresent(driverId, (id, sample) -> {
+            if (!sample.isAddressPending() || address == null) {
+                return sample;
+            }
+            current[0] = sample.latitude() == latitude && sample.longitude() == longitude;
+            changed[0] = true;
+            return new LocationSample(sample.latitude(), sample.longitude(), address, sample.timestampMillis(), !current[0]);
+        });
+        if (changed[0]) {
+            dirtyDriverIds.add(driverId);
+        }
+        return current[0];
+    }
+
+    /**
+     * Stop tracking a driver, e.g. when going offline or being invited to a ride. Call {@link #applyTo(DriverEntity)} first
+     * if the last position should be saved with the entity.
+     */
+    public void untrack(Long driverId) {
+        samples.remove(driverId);
+        dirtyDriverIds.remove(driverId);
+    }
+
+    public boolean isTracked(Long driverId) {
+        return samples.containsKey(driverId);
+    }
+
+    public LocationSample get(Long driverId) {
+        return samples.get(driverId);
+    }
+
+    /**
+     * Immutable copy of all tracked positions.
+     */
+    public Map<Long, LocationSample> snapshot() {
+        return Map.copyOf(samples);
+    }
+
+    /**
+     * Copy the latest position onto an entity that is about to be saved, so the save does
+     * not overwrite a newer position with the one that was loaded.
+     */
+    public void applyTo(DriverEntity driver) {
+        LocationSample sample = samples.get(driver.getId());
+        if (sample != null) {
+            driver.setCurrentLocation(sample.toLocation());
+            dirtyDriverIds.remove(driver.getId());
+        }
+    }
+
+    /**
+     * Drop every tracked driver without flushing.
+     */
+    public void clear() {
+        samples.clear();
+        dirtyDriverIds.clear();
+    }
+
+    public int getPendingCount() {
+        return dirtyDriverIds.size();
+    }
+
+    /**
+     * Write all changed positions to the database.
+     *
+     * @return Number of drivers written
+     */
+    @Scheduled(fixedRateString = "${driver.location.flush-interval-ms:2000}")
+    public int flush() {
+        if (dirtyDriverIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Long driverId : List.copyOf(dirtyDriverIds)) {
+            // Remove before reading, so an update racing with the flush marks the driver dirty again
+            dirtyDriverIds.remove(driverId);
+            LocationSample sample = samples.get(driverId);
+            if (sample != null) {
+                rows.add(new Object[]{sample.latitude(), sample.longitude(), sample.address(), driverId});
+            }
+        }
+
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush {} driver locations: {}", rows.size(), e.getMessage(), e);
+            rows.forEach(row -> {
+                Long driverId = (Long) row[3];
+                if (samples.containsKey(driverId)) {
+                    dirtyDriverIds.add(driverId);
+                }
+            });
+            return 0;
+        }
+        log.debug("Flushed {} driver locations", rows.size());
+        return rows.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static LocationSample withAddress(Location location, long timestampMillis, LocationSample previous) {
+        if (location.address() != null || previous.address() == null) {
+            return new LocationSample(location.latitude(), location.longitude(), location.address(), timestampMillis);
+        }
+        return new LocationSample(location.latitude(), location.longitude(), previous.address(), timestampMillis, true);
+    }
+
+    private static LocationSample toSample(Location location) {
+        return new LocationSample(location.latitude(), location.longitude(), location.address(), System.currentTimeMillis());
+    }
+}
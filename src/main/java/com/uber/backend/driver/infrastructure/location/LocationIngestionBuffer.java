@@ -0,0 +1,69 @@
+package com.uber.backend.driver.infrastructure.location;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces streamed location frames: only the newest pending position per driver is kept
+ * until the next {@link #drain()}, so a driver sending ten frames between two drains costs
+ * one position update. Frames older than what is pending or already drained are rejected.
+ */
+@Component
+public class LocationIngestionBuffer {
+
+    public record Frame(Long driverId, double latitude, double longitude, long timestampMillis) {}
+
+    private final Map<Long, Frame> pending = new ConcurrentHashMap<>();
+    // Timestamp of the last drained frame per driver, so late frames cannot move a driver back
+    private final Map<Long, Long> drainedUpTo = new ConcurrentHashMap<>();
+
+    /**
+     * @return false if the frame is not newer than the driver's latest known frame
+     */
+    public boolean offer(Frame frame) {
+        Long drained = drainedUpTo.get(frame.driverId());
+        if (drained != null && frame.timestampMillis() <= drained) {
+            return false;
+        }
+        boolean[] accepted = new boolean[1];
+        pending.compute(frame.driverId(), (id, current) -> {
+            if (current != null && current.timestampMillis() >= frame.timestampMillis()) {
+                return current;
+            }
+            accepted[0] = true;
+            return frame;
+        });
+        return accepted[0];
+    }
+
+    /**
+     * Take the newest pending frame of every driver.
+     */
+    public List<Frame> drain() {
+        List<Frame> frames = new ArrayList<>(pending.size());
+        for (Long driverId : List.copyOf(pending.keySet())) {
+            Frame frame = pending.remove(driverId);
+            if (frame != null) {
+                drainedUpTo.merge(driverId, frame.timestampMillis(), Math::max);
+                frames.add(frame);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Drop everything held for a driver, e.g. when they are no longer online.
+     */
+    public void forget(Long driverId) {
+        pending.remove(driverId);
+        drainedUpTo.remove(driverId);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
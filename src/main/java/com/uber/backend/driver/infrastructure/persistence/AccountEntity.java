@@ -1,14 +1,17 @@
 package com.uber.backend.driver.infrastructure.persistence;
 
 import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.AccountDeletionListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
 @Inheritance(strategy = InheritanceType.JOINED)
+@EntityListeners(AccountDeletionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,6 +47,12 @@ public abstract class AccountEntity {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Optimistic lock; declared on the root entity because JOINED subclasses (drivers) cannot declare their own
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (this.createdAt == null) {
@@ -1,17 +1,38 @@
 package com.uber.backend.driver.infrastructure.pollers;
 
-import com.uber.backend.driver.application.service.PollAvailableDriversService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Safety net for event-driven matching in {@link RideDispatcher}.
+ */
 @Component
 @RequiredArgsConstructor
 public class DriverPoller {
-    private final PollAvailableDriversService pollAvailableDriversService;
+    private final RideDispatcher rideDispatcher;
 
+    /**
+     * Retry rides still waiting for a driver. No-op (no database work) when nothing is waiting.
+     */
     @Scheduled(fixedRate = 5000)
+    public void retryWaitingRides() {
+        rideDispatcher.retryWaitingRides();
+    }
+
+    /**
+     * Close the current batch window. Does nothing in greedy mode, where rides are matched on arrival.
+     */
+    @Scheduled(fixedRateString = "${dispatch.batch.window-ms:2000}")
+    public void flushBatch() {
+        rideDispatcher.flushBatch();
+    }
+
+    /**
+     * Full sweep over REQUESTED and DENIED rides, to recover rides whose events were lost (e.g. restart).
+     */
+    @Scheduled(fixedRateString = "${dispatch.sweep-interval-ms:60000}")
     public void pollDrivers() {
-        pollAvailableDriversService.pollForAvailableDriversForAllRides();
+        rideDispatcher.requestSweep();
     }
 }
@@ -0,0 +1,134 @@
+package com.uber.backend.driver.infrastructure.pollers;
+
+import com.uber.backend.driver.application.service.CheckDriverResponseTimeoutService;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.DriverInvitedEvent;
+import com.uber.backend.ride.domain.event.RideAcceptedEvent;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.infrastructure.timer.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fires driver invitation timeouts from an in-memory timing wheel keyed by ride id.
+ * A timer is armed when a driver is invited and cancelled when the ride is accepted or denied,
+ * so an unanswered invitation is re-dispatched right at its deadline instead of on the next
+ * database sweep.
+ */
+@Component
+@Slf4j
+public class InvitationTimeoutTimer {
+
+    private final CheckDriverResponseTimeoutService checkDriverResponseTimeoutService;
+    private final RideRepository rideRepository;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final ExecutorService timeoutExecutor;
+    private final Duration tick;
+    // Driver each armed timer belongs to, so a late event for an earlier invitation cannot cancel a newer one
+    private final Map<Long, Long> armedDriverIds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InvitationTimeoutTimer(CheckDriverResponseTimeoutService checkDriverResponseTimeoutService,
+                                  RideRepository rideRepository,
+                                  @Value("${dispatch.invite-timeout.tick-ms:10}") long tickMillis) {
+        this.checkDriverResponseTimeoutService = checkDriverResponseTimeoutService;
+        this.rideRepository = rideRepository;
+        this.tick = Duration.ofMillis(tickMillis);
+        this.timeoutExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "invite-timeouts"));
+        // 64 slots x 4 levels covers ~46 hours at 10 ms ticks
+        this.wheel = new HierarchicalTimingWheel<>(tick, 64, 4, System::nanoTime, timeoutExecutor);
+        this.wheel.start("invite-timeout-wheel");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DriverInvitedEvent event) {
+        arm(event.rideId(), event.driverId(), event.invitedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideAcceptedEvent event) {
+        disarm(event.rideId(), event.driverId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideDeniedEvent event) {
+        disarm(event.rideId(), event.driverId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideCancelledEvent event) {
+        armedDriverIds.remove(event.rideId());
+        wheel.cancel(event.rideId());
+    }
+
+    /**
+     * Re-arm timers for invitations that were pending when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rearmPendingInvitations() {
+        int armed = 0;
+        for (RideEntity ride : rideRepository.findByStatusEquals(RideStatus.INVITED)) {
+            if (ride.getInvitedAt() != null) {
+                arm(ride.getId(), ride.getDriver() != null ? ride.getDriver().getId() : null, ride.getInvitedAt());
+                armed++;
+            }
+        }
+        log.info("Re-armed {} pending invitation timeouts", armed);
+    }
+
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+        timeoutExecutor.shutdownNow();
+    }
+
+    private void arm(Long rideId, Long driverId, LocalDateTime invitedAt) {
+        LocalDateTime deadline = invitedAt.plusSeconds(CheckDriverResponseTimeoutService.TIMEOUT_SECONDS);
+        // One tick of slack so the wall-clock check in timeOutInvitation sees the deadline as passed
+        Duration delay = Duration.between(LocalDateTime.now(), deadline).plus(tick);
+        if (driverId != null) {
+            armedDriverIds.put(rideId, driverId);
+        }
+        wheel.schedule(rideId, delay, () -> fire(rideId, driverId));
+    }
+
+    private void disarm(Long rideId, Long driverId) {
+        if (driverId == null || armedDriverIds.remove(rideId, driverId)) {
+            wheel.cancel(rideId);
+        }
+    }
+
+    private void fire(Long rideId, Long driverId) {
+        if (driverId != null) {
+            armedDriverIds.remove(rideId, driverId);
+        }
+        try {
+            if (checkDriverResponseTimeoutService.timeOutInvitation(rideId)) {
+                log.info("Invitation for ride {} timed out", rideId);
+            }
+        } catch (Exception e) {
+            // The recovery sweep retries this ride
+            log.error("Failed to time out invitation for ride {}: {}", rideId, e.getMessage(), e);
+        }
+    }
+}
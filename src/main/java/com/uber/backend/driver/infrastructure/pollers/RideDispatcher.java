@@ -0,0 +1,218 @@
+package com.uber.backend.driver.infrastructure.pollers;
+
+import com.uber.backend.driver.application.service.PollAvailableDriversService;
+import com.uber.backend.driver.domain.enums.DispatchMode;
+import com.uber.backend.driver.domain.event.DriverAvailableEvent;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.ride.application.command.RideRequestResult;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Event-driven ride matching.
+ * Rides are matched as soon as they are requested or denied, and waiting rides are
+ * retried when a driver becomes available. All matching runs on a single dispatcher
+ * thread so the same driver is never invited twice by concurrent events. Across replicas,
+ * rides and drivers are claimed with {@code SKIP LOCKED} and versioned, so a conflicting
+ * assignment fails and the ride is simply retried.
+ * In {@link DispatchMode#BATCH} mode events only queue rides, and queued rides are
+ * assigned together on every {@link #flushBatch()}.
+ */
+@Component
+@Slf4j
+public class RideDispatcher {
+
+    private final PollAvailableDriversService pollAvailableDriversService;
+    private final DriverLocationIndex driverLocationIndex;
+    private final Executor executor;
+
+    // Rides queued for a matching attempt
+    private final Set<Long> pendingRideIds = ConcurrentHashMap.newKeySet();
+    // Rides that were tried but found no driver
+    private final Set<Long> waitingRideIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    @Autowired
+    public RideDispatcher(PollAvailableDriversService pollAvailableDriversService,
+                          DriverLocationIndex driverLocationIndex) {
+        this(pollAvailableDriversService, driverLocationIndex,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ride-dispatcher")));
+    }
+
+    public RideDispatcher(PollAvailableDriversService pollAvailableDriversService,
+                          DriverLocationIndex driverLocationIndex,
+                          Executor executor) {
+        this.pollAvailableDriversService = pollAvailableDriversService;
+        this.driverLocationIndex = driverLocationIndex;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideRequestResult event) {
+        submitRide(event.rideId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideDeniedEvent event) {
+        submitRide(event.rideId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DriverAvailableEvent event) {
+        if (!waitingRideIds.isEmpty()) {
+            pendingRideIds.addAll(waitingRideIds);
+            scheduleDrainUnlessBatching();
+        }
+    }
+
+    /**
+     * Queue a single ride for matching.
+     */
+    public void submitRide(Long rideId) {
+        pendingRideIds.add(rideId);
+        scheduleDrainUnlessBatching();
+    }
+
+    /**
+     * Assign all queued rides in one batch. Only needed in {@link DispatchMode#BATCH} mode.
+     */
+    public void flushBatch() {
+        if (!pendingRideIds.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Retry rides that are waiting for a driver. Does nothing when no ride is waiting
+     * or no driver is online, so idle ticks never touch the database.
+     */
+    public void retryWaitingRides() {
+        if (waitingRideIds.isEmpty() || driverLocationIndex.isEmpty()) {
+            return;
+        }
+        pendingRideIds.addAll(waitingRideIds);
+        scheduleDrainUnlessBatching();
+    }
+
+    /**
+     * Queue a full sweep over all REQUESTED and DENIED rides (safety net for missed events).
+     */
+    public void requestSweep() {
+        sweepRequested.set(true);
+        scheduleDrain();
+    }
+
+    public int getWaitingRideCount() {
+        return waitingRideIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private boolean isBatchMode() {
+        return pollAvailableDriversService.getDispatchMode() == DispatchMode.BATCH;
+    }
+
+    private void scheduleDrainUnlessBatching() {
+        if (!isBatchMode()) {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (sweepRequested.get() || !pendingRideIds.isEmpty()) {
+                if (sweepRequested.getAndSet(false)) {
+                    sweep();
+                }
+                List<Long> batch = new ArrayList<>(pendingRideIds);
+                pendingRideIds.removeAll(batch);
+                if (isBatchMode()) {
+                    matchAll(batch);
+                    break;
+                }
+                for (Long rideId : batch) {
+                    match(rideId);
+                }
+            }
+        } finally {
+            drainScheduled.set(false);
+        }
+
+        // Work may have been queued between the last check and releasing the flag
+        if (sweepRequested.get() || (!pendingRideIds.isEmpty() && !isBatchMode())) {
+            scheduleDrain();
+        }
+    }
+
+    private void sweep() {
+        try {
+            // The sweep only covers this shard, so rides waiting from events elsewhere are kept.
+            // Waiting rides that were matched or cancelled meanwhile drop out on their next retry.
+            List<Long> unmatched = pollAvailableDriversService.pollForAvailableDriversForAllRides();
+            waitingRideIds.addAll(unmatched);
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Dispatch sweep lost a race with another dispatcher: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Dispatch sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void matchAll(List<Long> rideIds) {
+        if (rideIds.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> unmatched = pollAvailableDriversService.matchRides(rideIds);
+            waitingRideIds.removeAll(rideIds);
+            waitingRideIds.addAll(unmatched);
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Batch of {} rides lost a race with another dispatcher: {}", rideIds.size(), e.getMessage());
+            waitingRideIds.addAll(rideIds);
+        } catch (Exception e) {
+            log.error("Failed to match batch of {} rides: {}", rideIds.size(), e.getMessage(), e);
+            waitingRideIds.addAll(rideIds);
+        }
+    }
+
+    private void match(Long rideId) {
+        try {
+            if (pollAvailableDriversService.matchRide(rideId)) {
+                waitingRideIds.add(rideId);
+            } else {
+                waitingRideIds.remove(rideId);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Ride {} lost a race with another dispatcher: {}", rideId, e.getMessage());
+            waitingRideIds.add(rideId);
+        } catch (Exception e) {
+            log.error("Failed to match ride {}: {}", rideId, e.getMessage(), e);
+            waitingRideIds.add(rideId);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.uber.backend.driver.infrastructure.repository;
 
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.ride.domain.enums.RideType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +22,20 @@ public interface DriverRepository extends JpaRepository<DriverEntity, Long> {
 
     List<DriverEntity> findByIsAvailableTrue();
 
+    List<DriverEntity> findByIdInAndIsAvailableTrue(Collection<Long> ids);
+
     Optional<DriverEntity> findByLicenseNumber(String licenseNumber);
+
+    /**
+     * Lock a driver for an invitation, but only while they are available and drive a vehicle
+     * of the given type. Drivers that no longer qualify are never locked. Empty if the driver
+     * does not qualify or another dispatcher currently holds the row (lock timeout -2 is
+     * Hibernate's SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DriverEntity d WHERE d.id = :id AND d.isAvailable = true"
+            + " AND d.currentLocation.latitude IS NOT NULL AND d.currentLocation.longitude IS NOT NULL"
+            + " AND EXISTS (SELECT v.id FROM VehicleEntity v WHERE v.driver = d AND v.type = :rideType)")
+    Optional<DriverEntity> findAvailableByIdForUpdate(@Param("id") Long id, @Param("rideType") RideType rideType);
 }
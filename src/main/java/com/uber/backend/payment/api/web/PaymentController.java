@@ -1,13 +1,14 @@
 package com.uber.backend.payment.api.web;
 
+import com.uber.backend.auth.domain.enums.Role;
 import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import com.uber.backend.auth.infrastructure.security.RequiresRole;
 import com.uber.backend.payment.application.GetPaymentHistoryQueryHandler;
 import com.uber.backend.payment.application.ProcessPaymentCommandHandler;
 import com.uber.backend.payment.application.command.ProcessPaymentCommand;
 import com.uber.backend.payment.application.command.ProcessPaymentResult;
 import com.uber.backend.payment.application.query.GetPaymentHistoryQuery;
 import com.uber.backend.payment.application.query.PaymentHistoryResult;
-import com.uber.backend.shared.application.CheckRoleService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -33,17 +34,14 @@ public class PaymentController {
     private final ProcessPaymentCommandHandler processPaymentCommandHandler;
     private final GetPaymentHistoryQueryHandler getPaymentHistoryQueryHandler;
     private final JwtUtil jwtUtil;
-    private final CheckRoleService checkRoleService;
 
     @PostMapping("/process")
     @Operation(summary = "Process payment", description = "Passenger processes a payment for a completed ride")
+    @RequiresRole(value = Role.PASSENGER, message = "Only passengers can process payments. Please log in as a passenger.")
     public ResponseEntity<ProcessPaymentResult> processPayment(
             @Valid @RequestBody ProcessPaymentCommand command,
             HttpServletRequest httpRequest) {
         Long passengerId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isPassenger(passengerId)) {
-            throw new IllegalArgumentException("Only passengers can process payments. Please log in as a passenger.");
-        }
         ProcessPaymentResult result = processPaymentCommandHandler.handle(command, passengerId);
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
@@ -1,21 +1,24 @@
 package com.uber.backend.ride.api.web;
 
+import com.uber.backend.auth.domain.enums.Role;
 import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import com.uber.backend.auth.infrastructure.security.RequiresRole;
 import com.uber.backend.ride.application.*;
 import com.uber.backend.ride.application.command.*;
-import com.uber.backend.ride.application.exception.UnauthorizedException;
 import com.uber.backend.ride.application.query.GetRideQuery;
 import com.uber.backend.ride.application.query.RideResult;
+import com.uber.backend.ride.infrastructure.push.RideUpdateHub;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
-import com.uber.backend.shared.application.CheckRoleService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for ride operations.
@@ -28,7 +31,6 @@ import org.springframework.web.bind.annotation.*;
 public class RideController {
 
     private final JwtUtil jwtUtil;
-    private final CheckRoleService checkRoleService;
     private final RideRepository rideRepository;
     private final GetRideQueryHandler getRideQueryHandler;
     private final RequestRideCommandHandler requestRideCommandHandler;
@@ -37,6 +39,14 @@ public class RideController {
     private final StartRideCommandHandler startRideCommandHandler;
     private final CompleteRideCommandHandler completeRideCommandHandler;
     private final CancelRideCommandHandler cancelRideCommandHandler;
+    private final RideUpdateHub rideUpdateHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream ride updates", description = "Server-Sent Events stream of status changes (invitations included) for every ride the logged-in passenger or driver takes part in")
+    public SseEmitter streamRideUpdates(HttpServletRequest httpRequest) {
+        Long userId = jwtUtil.extractUserIdFromRequest(httpRequest);
+        return rideUpdateHub.subscribe(userId);
+    }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get ride", description = "Get a ride by ID with payment information (if completed)")
@@ -47,66 +57,54 @@ public class RideController {
 
     @PostMapping("/request")
     @Operation(summary = "Request ride", description = "Passenger requests a new ride")
+    @RequiresRole(value = Role.PASSENGER, message = "Only passengers can request rides. Please log in as a passenger.")
     public ResponseEntity<RideRequestResult> requestRide(@RequestBody RequestRideCommand command, HttpServletRequest httpRequest) {
         Long passengerId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isPassenger(passengerId)) {
-            throw new UnauthorizedException("Only passengers can request rides. Please log in as a passenger.");
-        }
         RideRequestResult response = requestRideCommandHandler.handle(command, passengerId);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/accept")
     @Operation(summary = "Accept ride", description = "Driver accepts a ride (REQUESTED/INVITED → ACCEPTED)")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can accept rides. Please log in as a driver.")
     public ResponseEntity<RideResult> acceptRide(@RequestBody DriverAcceptCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can accept rides. Please log in as a driver.");
-        }
         RideResult result = driverAcceptCommandHandler.handle(command, driverId);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/deny")
-    @Operation(summary = "Deny ride", description = "Driver denies/declines an invited ride (INVITED → DENIED). Poller will find a new driver.")
+    @Operation(summary = "Deny ride", description = "Driver denies/declines an invited ride (INVITED → DENIED). The dispatcher immediately looks for a new driver.")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can deny rides. Please log in as a driver.")
     public ResponseEntity<RideResult> denyRide(@RequestBody DenyRideCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can deny rides. Please log in as a driver.");
-        }
         RideResult result = denyRideCommandHandler.handle(command, driverId);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/start")
     @Operation(summary = "Start ride", description = "Driver starts a ride after arriving at pickup location (ACCEPTED → IN_PROGRESS)")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can start rides. Please log in as a driver.")
     public ResponseEntity<RideResult> startRide(@RequestBody StartRideCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can start rides. Please log in as a driver.");
-        }
         RideResult result = startRideCommandHandler.handle(command, driverId);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/complete")
     @Operation(summary = "Complete ride", description = "Driver completes a ride (IN_PROGRESS → COMPLETED). Automatically calculates fare and creates pending payment.")
+    @RequiresRole(value = Role.DRIVER, message = "Only drivers can complete rides. Please log in as a driver.")
     public ResponseEntity<RideResult> completeRide(@RequestBody CompleteRideCommand command, HttpServletRequest httpRequest) {
         Long driverId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isDriver(driverId)) {
-            throw new UnauthorizedException("Only drivers can complete rides. Please log in as a driver.");
-        }
         RideResult result = completeRideCommandHandler.handle(command, driverId);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/cancel")
     @Operation(summary = "Cancel ride", description = "Passenger cancels a ride. Fee policy: cancel before acceptance = free, cancel within 5 min after acceptance = free, cancel after 5+ min = €5 base fee + €1 per additional minute")
+    @RequiresRole(value = Role.PASSENGER, message = "Only passengers can cancel rides. Please log in as a passenger.")
     public ResponseEntity<CancelRideResult> cancelRide(@RequestBody CancelRideCommand command, HttpServletRequest httpRequest) {
         Long passengerId = jwtUtil.extractUserIdFromRequest(httpRequest);
-        if (!checkRoleService.isPassenger(passengerId)) {
-            throw new UnauthorizedException("Only passengers can cancel rides. Please log in as a passenger.");
-        }
         CancelRideResult result = cancelRideCommandHandler.handle(command, passengerId);
         return ResponseEntity.ok(result);
     }
@@ -1,5 +1,9 @@
 package com.uber.backend.ride.application;
 
+import com.uber.backend.driver.domain.event.DriverAvailableEvent;
+import com.uber.backend.driver.domain.event.DriverIndexChangedEvent;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.payment.domain.enums.PaymentMethod;
@@ -10,12 +14,16 @@ import com.uber.backend.ride.application.command.CancelRideResult;
 import com.uber.backend.ride.application.exception.DriverNotFoundException;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.DomainEvents;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -27,13 +35,21 @@ import java.time.LocalDateTime;
 public class CancelRideCommandHandler {
     private final RideRepository rideRepository;
     private final DriverRepository driverRepository;
+    private final DriverAddressResolver driverAddressResolver;
+    private final DriverLocationStore driverLocationStore;
+    private final ApplicationEventPublisher publisher;
+    private final DomainEvents domainEvents;
+    private final OptimisticRetryTemplate optimisticRetry;
 
     private static final BigDecimal BASE_CANCELLATION_FEE = new BigDecimal("5.00");
     private static final BigDecimal ADDITIONAL_FEE_PER_MINUTE = new BigDecimal("1.00");
     private static final int CANCELLATION_FREE_PERIOD_MINUTES = 5;
 
-    @Transactional
     public CancelRideResult handle(CancelRideCommand command, Long passengerId) {
+        return optimisticRetry.execute(() -> cancel(command, passengerId));
+    }
+
+    private CancelRideResult cancel(CancelRideCommand command, Long passengerId) {
         RideEntity rideEntity = rideRepository.findById(command.rideId()).orElse(null);
         if (rideEntity == null) {
             throw new RideNotFoundException(command.rideId());
@@ -98,17 +114,23 @@ public class CancelRideCommandHandler {
         }
 
         // Update ride status
-        rideEntity.setStatus(RideStatus.CANCELLED);
+        rideEntity.transitionTo(RideStatus.CANCELLED);
         rideEntity.setCancelledAt(LocalDateTime.now());
 
         rideRepository.save(rideEntity);
+        domainEvents.raise(new RideCancelledEvent(rideEntity.getId()));
+        publisher.publishEvent(RideStatusChangedEvent.of(rideEntity));
 
         // Set driver as available if assigned
         if (rideEntity.getDriver() != null) {
             DriverEntity driverEntity = driverRepository.findById(rideEntity.getDriver().getId())
                     .orElseThrow(() -> new DriverNotFoundException(rideEntity.getDriver().getId()));
             driverEntity.setIsAvailable(true);
+            driverAddressResolver.applyTo(driverEntity);
             driverRepository.save(driverEntity);
+            driverLocationStore.track(driverEntity.getId(), driverEntity.getCurrentLocation());
+            publisher.publishEvent(DriverIndexChangedEvent.of(driverEntity));
+            publisher.publishEvent(new DriverAvailableEvent(driverEntity.getId()));
         }
 
         // Build payment info if there was a cancellation fee
@@ -2,26 +2,86 @@ package com.uber.backend.ride.application;
 
 import com.uber.backend.ride.application.command.CancelRideIfUnmatchedCommand;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.application.command.BatchCommandHandler;
+import com.uber.backend.shared.domain.DomainEvents;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class CancelRideIfUnmatchedCommandHandler {
+@Slf4j
+public class CancelRideIfUnmatchedCommandHandler implements BatchCommandHandler<CancelRideIfUnmatchedCommand> {
 
     private final RideRepository rideRepository;
+    private final DomainEvents domainEvents;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public Class<CancelRideIfUnmatchedCommand> commandType() {
+        return CancelRideIfUnmatchedCommand.class;
+    }
 
-    public void handle(CancelRideIfUnmatchedCommand command) {
+    @Override
+    public Void handle(CancelRideIfUnmatchedCommand command) {
         RideEntity ride = rideRepository.findById(command.rideId())
                 .orElseThrow(() -> new RideNotFoundException(command.rideId()));
 
+        RideStatus previousStatus = ride.getStatus();
         ride.cancelIfUnmatched();
         // no save() needed
+        if (previousStatus != RideStatus.CANCELLED && ride.getStatus() == RideStatus.CANCELLED) {
+            domainEvents.raise(new RideCancelledEvent(ride.getId()));
+            publisher.publishEvent(RideStatusChangedEvent.of(ride));
+        }
+        return null;
+    }
+
+    /**
+     * Cancel every still unmatched ride in one UPDATE. Rides that were matched
+     * or no longer exist are skipped. Events are raised only for the rides the UPDATE
+     * changed, as returned by the statement itself.
+     */
+    @Override
+    public void handleAll(List<CancelRideIfUnmatchedCommand> commands) {
+        List<Long> rideIds = commands.stream().map(CancelRideIfUnmatchedCommand::rideId).distinct().toList();
+        LocalDateTime now = LocalDateTime.now();
+        List<RideRepository.RidePassenger> cancelled = rideRepository.cancelUnmatched(rideIds, now);
+        cancelled.forEach(ride -> domainEvents.raise(new RideCancelledEvent(ride.getRideId())));
+        publishCancelled(cancelled, now);
+        log.debug("Cancelled {} of {} unmatched rides", cancelled.size(), rideIds.size());
+    }
+
+    /**
+     * Cancel up to {@code limit} rides that have been waiting for a driver since before
+     * {@code cutoff}, with a single UPDATE.
+     *
+     * @return Ids of the cancelled rides
+     */
+    public List<Long> expireUnmatched(LocalDateTime cutoff, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RideRepository.RidePassenger> cancelled = rideRepository.cancelUnmatchedRequestedBefore(cutoff, now, limit);
+        cancelled.forEach(ride -> domainEvents.raise(new RideCancelledEvent(ride.getRideId())));
+        publishCancelled(cancelled, now);
+        return cancelled.stream().map(RideRepository.RidePassenger::getRideId).toList();
     }
-}
 
+    private void publishCancelled(List<RideRepository.RidePassenger> rides, LocalDateTime cancelledAt) {
+        for (RideRepository.RidePassenger ride : rides) {
+            publisher.publishEvent(new RideStatusChangedEvent(ride.getRideId(), ride.getPassengerId(), null,
+                    RideStatus.CANCELLED, cancelledAt));
+        }
+    }
+}
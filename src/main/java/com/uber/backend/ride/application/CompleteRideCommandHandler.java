@@ -1,5 +1,9 @@
 package com.uber.backend.ride.application;
 
+import com.uber.backend.driver.domain.event.DriverAvailableEvent;
+import com.uber.backend.driver.domain.event.DriverIndexChangedEvent;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.payment.application.CalculateFareQueryHandler;
@@ -13,9 +17,11 @@ import com.uber.backend.ride.application.command.CompleteRideCommand;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.application.query.RideResult;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +34,9 @@ public class CompleteRideCommandHandler {
     private final PaymentRepository paymentRepository;
     private final CalculateFareQueryHandler calculateFareQueryHandler;
     private final DriverRepository driverRepository;
+    private final DriverAddressResolver driverAddressResolver;
+    private final DriverLocationStore driverLocationStore;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public RideResult handle(CompleteRideCommand command, Long driverId) {
@@ -74,11 +83,16 @@ public class CompleteRideCommandHandler {
         rideEntity.setPayment(payment);
 
         // Update ride status
-        rideEntity.setStatus(RideStatus.COMPLETED);
+        rideEntity.transitionTo(RideStatus.COMPLETED);
         rideEntity = rideRepository.save(rideEntity);
         DriverEntity driver = rideEntity.getDriver();
         driver.setIsAvailable(true);
+        driverAddressResolver.applyTo(driver);
         driverRepository.save(driver);
+        driverLocationStore.track(driver.getId(), driver.getCurrentLocation());
+        publisher.publishEvent(DriverIndexChangedEvent.of(driver));
+        publisher.publishEvent(new DriverAvailableEvent(driver.getId()));
+        publisher.publishEvent(RideStatusChangedEvent.of(rideEntity));
         return mapToRideResult(rideEntity);
     }
 
@@ -4,20 +4,29 @@ import com.uber.backend.ride.application.command.DenyRideCommand;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.application.query.RideResult;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
 
 @Service
 @RequiredArgsConstructor
 public class DenyRideCommandHandler {
 
     private final RideRepository rideRepository;
+    private final ApplicationEventPublisher publisher;
+    private final OptimisticRetryTemplate optimisticRetry;
 
-    @Transactional
     public RideResult handle(DenyRideCommand command, Long driverId) {
+        return optimisticRetry.execute(() -> deny(command, driverId));
+    }
+
+    private RideResult deny(DenyRideCommand command, Long driverId) {
         // Find the ride
         RideEntity rideEntity = rideRepository.findById(command.rideId())
                 .orElseThrow(() -> new RideNotFoundException(command.rideId()));
@@ -38,10 +47,14 @@ public class DenyRideCommandHandler {
         }
 
         // Update status to DENIED and clear driver assignment
-        rideEntity.setStatus(RideStatus.DENIED);
+        rideEntity.transitionTo(RideStatus.DENIED);
         rideEntity.setDriver(null);  // Remove driver so poller can assign a new one
 
         rideEntity = rideRepository.save(rideEntity);
+
+        // Dispatcher picks the ride up again once this transaction commits
+        publisher.publishEvent(new RideDeniedEvent(rideEntity.getId(), driverId));
+        publisher.publishEvent(RideStatusChangedEvent.of(rideEntity, driverId));
         return mapToRideResult(rideEntity);
     }
 
@@ -6,11 +6,14 @@ import com.uber.backend.ride.application.command.DriverAcceptCommand;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.application.query.RideResult;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideAcceptedEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -18,9 +21,18 @@ public class DriverAcceptCommandHandler {
 
     private final RideRepository rideRepository;
     private final DriverRepository driverRepository;
+    private final ApplicationEventPublisher publisher;
+    private final OptimisticRetryTemplate optimisticRetry;
 
-    @Transactional
+    /**
+     * Accept the ride in a short versioned transaction. If a concurrent timeout or cancel
+     * commits first, the retry sees the new status and rejects the accept.
+     */
     public RideResult handle(DriverAcceptCommand command, Long driverId) {
+        return optimisticRetry.execute(() -> accept(command, driverId));
+    }
+
+    private RideResult accept(DriverAcceptCommand command, Long driverId) {
         // Find the ride
         RideEntity rideEntity = rideRepository.findById(command.rideId())
                 .orElseThrow(() -> new RideNotFoundException(command.rideId()));
@@ -50,11 +62,13 @@ public class DriverAcceptCommandHandler {
         }
 
         // Update status to ACCEPTED
-        rideEntity.setStatus(RideStatus.ACCEPTED);
+        rideEntity.transitionTo(RideStatus.ACCEPTED);
         rideEntity.setAcceptedAt(java.time.LocalDateTime.now());
         rideEntity.setInvitedAt(null);
 
         rideEntity = rideRepository.save(rideEntity);
+        publisher.publishEvent(new RideAcceptedEvent(rideEntity.getId(), driverId));
+        publisher.publishEvent(RideStatusChangedEvent.of(rideEntity));
         return mapToRideResult(rideEntity);
     }
 
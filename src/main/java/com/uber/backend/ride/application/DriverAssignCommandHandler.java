@@ -2,6 +2,7 @@ package com.uber.backend.ride.application;
 
 import com.uber.backend.driver.domain.model.Driver;
 import com.uber.backend.driver.domain.model.Vehicle;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.DriverMapper;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
@@ -29,6 +30,7 @@ public class DriverAssignCommandHandler {
     private final RideRepository rideRepository;
     private final DriverMapper driverMapper;
     private final VehicleMapper vehicleMapper;
+    private final DriverLocationStore driverLocationStore;
 
     public RideAssignResult handle(DriverAssignCommand command, Long passengerId) {
         RideEntity rideEntity = rideRepository.findById(command.rideId()).orElse(null);
@@ -54,6 +56,7 @@ public class DriverAssignCommandHandler {
 
         rideRepository.save(rideEntity);
         driverRepository.save(driverEntity);
+        driverLocationStore.untrack(driverEntity.getId());
         return new RideAssignResult(rideEntity.getId(), passengerId, rideEntity.getStatus(), rideEntity.getRequestedAt(), driver, vehicle, rideEntity.getStartedAt());
 
     }
@@ -8,23 +8,42 @@ import com.uber.backend.ride.domain.enums.RideStatus;
 import com.uber.backend.ride.domain.enums.RideType;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.DomainEvents;
 import com.uber.backend.shared.domain.port.GeocodingPort;
 import com.uber.backend.shared.domain.valueobject.Location;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RequestRideCommandHandler {
 
     private final RideRepository rideRepository;
     private final PassengerRepository passengerRepository;
     private final GeocodingPort geocodingPort;
-    private final ApplicationEventPublisher publisher;
+    private final DomainEvents domainEvents;
+    // Only the insert runs in a transaction, not the geocoding lookups before it
+    private final TransactionTemplate transactionTemplate;
+
+    // Pickup and dropoff are geocoded concurrently, both within this deadline
+    @Value("${ride.request.geocoding-timeout-ms:3000}")
+    private long geocodingTimeoutMs = 3000;
+
+    private final ExecutorService geocodingExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public RideRequestResult handle(RequestRideCommand command, Long passengerId) {
 
@@ -49,30 +68,29 @@ public class RequestRideCommandHandler {
         PassengerEntity passenger = passengerRepository.findById(passengerId)
                 .orElseThrow(() -> new IllegalArgumentException("Passenger not found: " + passengerId));
 
-        // Resolve pickup address from coordinates
-        String pickupAddress = geocodingPort.getAddressFromCoordinates(
-            command.pickupLatitude(), 
+        // Resolve pickup and dropoff addresses from coordinates at the same time
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(geocodingTimeoutMs);
+        Future<String> pickupAddress = geocodingExecutor.submit(() -> geocodingPort.getAddressFromCoordinates(
+            command.pickupLatitude(),
             command.pickupLongitude()
-        );
+        ));
+        Future<String> dropoffAddress = geocodingExecutor.submit(() -> geocodingPort.getAddressFromCoordinates(
+            command.dropoffLatitude(),
+            command.dropoffLongitude()
+        ));
 
         // Create pickup location
         Location pickupLocation = new Location(
             command.pickupLatitude(),
             command.pickupLongitude(),
-            pickupAddress
-        );
-
-        // Resolve dropoff address from coordinates
-        String dropoffAddress = geocodingPort.getAddressFromCoordinates(
-            command.dropoffLatitude(), 
-            command.dropoffLongitude()
+            awaitAddress(pickupAddress, deadline, command.pickupLatitude(), command.pickupLongitude())
         );
 
         // Create dropoff location
         Location dropoffLocation = new Location(
             command.dropoffLatitude(),
             command.dropoffLongitude(),
-            dropoffAddress
+            awaitAddress(dropoffAddress, deadline, command.dropoffLatitude(), command.dropoffLongitude())
         );
 
         // Create ride entity
@@ -84,15 +102,45 @@ public class RequestRideCommandHandler {
         rideEntity.setPassenger(passenger);
         rideEntity.setRideType(rideType);
 
-        // Save ride entity
-        rideEntity = rideRepository.save(rideEntity);
-
-        RideRequestResult result = new RideRequestResult(rideEntity.getId(), passengerId, rideEntity.getStatus(), rideEntity.getRequestedAt());
-        publisher.publishEvent(result);
+        // Save ride entity together with its outbox event
+        RideEntity ride = rideEntity;
+        RideRequestResult result = transactionTemplate.execute(status -> {
+            RideEntity saved = rideRepository.save(ride);
+            RideRequestResult requested = new RideRequestResult(saved.getId(), passengerId, saved.getStatus(), saved.getRequestedAt());
+            domainEvents.raise(requested);
+            return requested;
+        });
 
         // Return result (price is null at request time, calculated when ride completes)
         return result;
 
 
     }
+
+    @PreDestroy
+    public void shutdown() {
+        geocodingExecutor.shutdownNow();
+    }
+
+    /**
+     * Wait for a geocoding lookup until the shared deadline. Falls back to a coordinates-only
+     * address instead of failing the ride request.
+     */
+    private String awaitAddress(Future<String> address, long deadline, Double latitude, Double longitude) {
+        try {
+            String resolved = address.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (resolved != null && !resolved.isBlank()) {
+                return resolved;
+            }
+        } catch (TimeoutException e) {
+            address.cancel(true);
+            log.warn("Geocoding ({}, {}) timed out after {} ms", latitude, longitude, geocodingTimeoutMs);
+        } catch (InterruptedException e) {
+            address.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Geocoding ({}, {}) failed: {}", latitude, longitude, e.getCause().getMessage());
+        }
+        return String.format("Location (%.4f, %.4f)", latitude, longitude);
+    }
 }
@@ -4,9 +4,11 @@ import com.uber.backend.ride.application.command.StartRideCommand;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.application.query.RideResult;
 import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import java.time.LocalDateTime;
 public class StartRideCommandHandler {
 
     private final RideRepository rideRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public RideResult handle(StartRideCommand command, Long driverId) {
@@ -35,10 +38,11 @@ public class StartRideCommandHandler {
         }
 
         // Update status and set startedAt
-        rideEntity.setStatus(RideStatus.IN_PROGRESS);
+        rideEntity.transitionTo(RideStatus.IN_PROGRESS);
         rideEntity.setStartedAt(LocalDateTime.now());
 
         rideEntity = rideRepository.save(rideEntity);
+        publisher.publishEvent(RideStatusChangedEvent.of(rideEntity));
         return mapToRideResult(rideEntity);
     }
 
@@ -1,5 +1,9 @@
 package com.uber.backend.ride.domain.enums;
 
+/**
+ * Ride lifecycle. {@link #canTransitionTo(RideStatus)} defines the allowed moves;
+ * COMPLETED and CANCELLED are final.
+ */
 public enum RideStatus {
     REQUESTED,
     INVITED,
@@ -7,5 +11,16 @@ public enum RideStatus {
     DENIED,
     IN_PROGRESS,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean canTransitionTo(RideStatus target) {
+        return switch (this) {
+            case REQUESTED -> target == INVITED || target == ACCEPTED || target == CANCELLED;
+            case INVITED -> target == ACCEPTED || target == DENIED || target == CANCELLED;
+            case DENIED -> target == INVITED || target == CANCELLED;
+            case ACCEPTED -> target == IN_PROGRESS || target == CANCELLED;
+            case IN_PROGRESS -> target == COMPLETED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,9 @@
+package com.uber.backend.ride.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raised when the dispatcher invites a driver for a ride.
+ * The driver has until {@code invitedAt} plus the response timeout to accept or deny.
+ */
+public record DriverInvitedEvent(Long rideId, Long driverId, LocalDateTime invitedAt) {}
@@ -0,0 +1,6 @@
+package com.uber.backend.ride.domain.event;
+
+/**
+ * Raised when a driver accepts a ride.
+ */
+public record RideAcceptedEvent(Long rideId, Long driverId) {}
@@ -0,0 +1,7 @@
+package com.uber.backend.ride.domain.event;
+
+/**
+ * Raised when an invited driver declines a ride or lets the invitation time out.
+ * The ride is back in DENIED status and needs a new driver.
+ */
+public record RideDeniedEvent(Long rideId, Long driverId) {}
@@ -0,0 +1,46 @@
+package com.uber.backend.ride.domain.event;
+
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raised on every ride status transition, for pushing updates to the ride's participants.
+ * {@code driverId} is the driver the transition concerns, e.g. the invited driver on INVITED
+ * and the driver who declined or timed out on DENIED. Either participant may be null.
+ */
+public record RideStatusChangedEvent(Long rideId, Long passengerId, Long driverId, RideStatus status,
+                                     LocalDateTime occurredAt) {
+
+    /**
+     * Event for the ride's current status, concerning the ride's assigned driver.
+     */
+    public static RideStatusChangedEvent of(RideEntity ride) {
+        return of(ride, ride.getDriver() != null ? ride.getDriver().getId() : null);
+    }
+
+    /**
+     * Event for the ride's current status, concerning the given driver. Used once the
+     * driver has been taken off the ride, e.g. after a decline.
+     */
+    public static RideStatusChangedEvent of(RideEntity ride, Long driverId) {
+        return new RideStatusChangedEvent(ride.getId(), ride.getPassenger() != null ? ride.getPassenger().getId() : null,
+                driverId, ride.getStatus(), occurredAt(ride));
+    }
+
+    /**
+     * The timestamp the ride recorded for its current status, or now for statuses without one.
+     */
+    private static LocalDateTime occurredAt(RideEntity ride) {
+        LocalDateTime recordedAt = switch (ride.getStatus()) {
+            case INVITED -> ride.getInvitedAt();
+            case ACCEPTED -> ride.getAcceptedAt();
+            case IN_PROGRESS -> ride.getStartedAt();
+            case COMPLETED -> ride.getCompletedAt();
+            case CANCELLED -> ride.getCancelledAt();
+            case REQUESTED, DENIED -> null;
+        };
+        return recordedAt != null ? recordedAt : LocalDateTime.now();
+    }
+}
@@ -3,16 +3,27 @@ package com.uber.backend.ride.domain.saga;
 import com.uber.backend.ride.application.command.CancelRideIfUnmatchedCommand;
 import com.uber.backend.ride.application.command.RideRequestResult;
 import com.uber.backend.ride.infrastructure.DelayedCommandScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 
+/**
+ * Schedules one cancellation command per requested ride.
+ * Only used with {@code ride.unmatched-expiry.mode=per-ride}; the default sweep cancels
+ * all expired rides with a single statement instead.
+ */
 @Component
+@ConditionalOnProperty(name = "ride.unmatched-expiry.mode", havingValue = "per-ride")
 public class RideMatchingSaga {
 
     private final DelayedCommandScheduler scheduler;
 
+    @Value("${ride.unmatched-timeout:5m}")
+    private Duration unmatchedTimeout = Duration.ofMinutes(5);
+
     public RideMatchingSaga(DelayedCommandScheduler scheduler) {
         this.scheduler = scheduler;
     }
@@ -21,7 +32,7 @@ public class RideMatchingSaga {
     public void on(RideRequestResult event) {
         scheduler.schedule(
                 new CancelRideIfUnmatchedCommand(event.rideId()),
-                event.requestedAt().plus(Duration.ofMinutes(5))
+                event.requestedAt().plus(unmatchedTimeout)
         );
     }
 }
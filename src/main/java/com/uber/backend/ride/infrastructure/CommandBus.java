@@ -1,22 +1,209 @@
 package com.uber.backend.ride.infrastructure;
 
-import com.uber.backend.ride.application.CancelRideIfUnmatchedCommandHandler;
-import com.uber.backend.ride.application.command.CancelRideIfUnmatchedCommand;
+import com.uber.backend.shared.application.command.BatchCommandHandler;
+import com.uber.backend.shared.application.command.CommandHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches commands to the {@link CommandHandler} registered for their class.
+ * The handler registry is built once at startup. Commands can be dispatched synchronously,
+ * asynchronously on virtual threads (at most {@code max-in-flight} at a time, callers block
+ * beyond that), or micro-batched: batched commands are queued per type and flushed every
+ * {@code batch-window-ms}, through {@link BatchCommandHandler#handleAll} where supported.
+ */
 @Component
+@Slf4j
 public class CommandBus {
 
-    private final CancelRideIfUnmatchedCommandHandler cancelRideIfUnmatchedCommandHandler;
+    private final Map<Class<?>, CommandHandler<Object, Object>> handlers = new LinkedHashMap<>();
+    private final Map<Class<?>, Queue<Object>> batchQueues = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final Semaphore inFlightPermits;
+    private final int maxBatchSize;
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public CommandBus(List<CommandHandler<?, ?>> commandHandlers,
+                      MeterRegistry meterRegistry,
+                      @Value("${commands.bus.max-in-flight:256}") int maxInFlight,
+                      @Value("${commands.bus.max-batch-size:500}") int maxBatchSize) {
+        if (maxInFlight <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Command bus max in-flight and batch size must be positive");
+        }
+        for (CommandHandler<?, ?> handler : commandHandlers) {
+            CommandHandler<?, ?> previous = handlers.put(handler.commandType(), (CommandHandler<Object, Object>) handler);
+            if (previous != null) {
+                throw new IllegalArgumentException("Multiple handlers registered for " + handler.commandType().getName());
+            }
+        }
+        this.meterRegistry = meterRegistry;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.maxBatchSize = maxBatchSize;
+
+        Gauge.builder("commands.queue.depth", queuedCount, AtomicInteger::get).tag("mode", "batch").register(meterRegistry);
+        Gauge.builder("commands.queue.depth", inFlightCount, AtomicInteger::get).tag("mode", "async").register(meterRegistry);
+        log.info("Registered {} command handlers", handlers.size());
+    }
 
-    public CommandBus(CancelRideIfUnmatchedCommandHandler cancelRideIfUnmatchedCommandHandler) {
-        this.cancelRideIfUnmatchedCommandHandler = cancelRideIfUnmatchedCommandHandler;
+    /**
+     * Handle the command on the calling thread.
+     *
+     * @return The handler's result
+     */
+    public Object dispatch(Object command) {
+        CommandHandler<Object, Object> handler = handlerFor(command.getClass());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return handler.handle(command);
+        } finally {
+            sample.stop(timer(command.getClass(), "sync"));
+        }
     }
 
-    public void dispatch(Object command) {
-        if (command instanceof CancelRideIfUnmatchedCommand c) {
-            cancelRideIfUnmatchedCommandHandler.handle(c);
+    /**
+     * Handle the command on a virtual thread. Blocks while {@code max-in-flight} commands are running.
+     */
+    public CompletableFuture<Object> dispatchAsync(Object command) {
+        CommandHandler<Object, Object> handler = handlerFor(command.getClass());
+        inFlightPermits.acquireUninterruptibly();
+        inFlightCount.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    return handler.handle(command);
+                } finally {
+                    sample.stop(timer(command.getClass(), "async"));
+                    inFlightCount.decrementAndGet();
+                    inFlightPermits.release();
+                }
+            }, asyncExecutor);
+        } catch (RuntimeException e) {
+            inFlightCount.decrementAndGet();
+            inFlightPermits.release();
+            throw e;
         }
     }
-}
 
+    /**
+     * Queue the command for the next batch flush. A full batch is flushed on the calling thread.
+     */
+    public void dispatchBatched(Object command) {
+        handlerFor(command.getClass());
+        Queue<Object> queue = batchQueues.computeIfAbsent(command.getClass(), type -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+        if (queuedCount.incrementAndGet() >= maxBatchSize) {
+            flushBatches();
+        }
+    }
+
+    /**
+     * Handle several commands on the calling thread, grouped by type so that batch handlers
+     * process each group at once.
+     */
+    public void dispatchAll(List<?> commands) {
+        Map<Class<?>, List<Object>> byType = new LinkedHashMap<>();
+        for (Object command : commands) {
+            byType.computeIfAbsent(command.getClass(), type -> new ArrayList<>()).add(command);
+        }
+        byType.forEach(this::dispatchGroup);
+    }
+
+    /**
+     * Dispatch all queued batched commands.
+     *
+     * @return Number of commands dispatched
+     */
+    @Scheduled(fixedDelayString = "${commands.bus.batch-window-ms:1000}")
+    public int flushBatches() {
+        int dispatched = 0;
+        for (Map.Entry<Class<?>, Queue<Object>> entry : batchQueues.entrySet()) {
+            List<Object> batch = new ArrayList<>();
+            Object command;
+            while ((command = entry.getValue().poll()) != null) {
+                batch.add(command);
+                queuedCount.decrementAndGet();
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                dispatchGroup(entry.getKey(), batch);
+                dispatched += batch.size();
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch batch of {} {}: {}", batch.size(), entry.getKey().getSimpleName(), e.getMessage(), e);
+            }
+        }
+        return dispatched;
+    }
+
+    public boolean hasHandler(Class<?> commandType) {
+        return handlers.containsKey(commandType);
+    }
+
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushBatches();
+        asyncExecutor.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchGroup(Class<?> commandType, List<Object> commands) {
+        CommandHandler<Object, Object> handler = handlerFor(commandType);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (commands.size() > 1 && (Object) handler instanceof BatchCommandHandler<?> batchHandler) {
+                ((BatchCommandHandler<Object>) batchHandler).handleAll(commands);
+            } else {
+                commands.forEach(handler::handle);
+            }
+        } finally {
+            sample.stop(timer(commandType, "batch"));
+        }
+    }
+
+    private CommandHandler<Object, Object> handlerFor(Class<?> commandType) {
+        CommandHandler<Object, Object> handler = handlers.get(commandType);
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler registered for " + commandType.getName());
+        }
+        return handler;
+    }
+
+    private Timer timer(Class<?> commandType, String mode) {
+        return timers.computeIfAbsent(commandType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(mode, m -> Timer.builder("commands.dispatch")
+                        .tag("command", commandType.getSimpleName())
+                        .tag("mode", m)
+                        .register(meterRegistry));
+    }
+}
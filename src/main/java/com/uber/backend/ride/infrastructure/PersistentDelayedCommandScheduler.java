@@ -0,0 +1,180 @@
+package com.uber.backend.ride.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.ride.infrastructure.persistence.ScheduledCommandEntity;
+import com.uber.backend.ride.infrastructure.repository.ScheduledCommandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable {@link DelayedCommandScheduler} backed by the {@code scheduled_commands} table.
+ * Commands are stored as JSON and polled in batches locked with {@code FOR UPDATE SKIP LOCKED},
+ * so pending commands survive restarts and several instances can poll without double dispatch.
+ * Each claimed batch goes to {@link CommandBus#dispatchAll} in one transaction, so e.g. all
+ * rides due for cancellation in the same poll are cancelled with a single UPDATE.
+ * A failed command is retried with exponential backoff up to {@code max-attempts} times and
+ * then kept in the table for inspection.
+ */
+@Component
+@ConditionalOnProperty(name = "commands.scheduler.type", havingValue = "persistent", matchIfMissing = true)
+@Slf4j
+public class PersistentDelayedCommandScheduler implements DelayedCommandScheduler {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScheduledCommandRepository scheduledCommandRepository;
+    private final CommandBus commandBus;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate claimTransaction;
+    private final TransactionTemplate commandTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public PersistentDelayedCommandScheduler(ScheduledCommandRepository scheduledCommandRepository,
+                                             CommandBus commandBus,
+                                             ObjectMapper objectMapper,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${commands.scheduler.batch-size:100}") int batchSize,
+                                             @Value("${commands.scheduler.max-attempts:5}") int maxAttempts,
+                                             @Value("${commands.scheduler.retry-backoff:5s}") Duration retryBackoff) {
+        if (batchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Scheduler batch size and max attempts must be positive");
+        }
+        this.scheduledCommandRepository = scheduledCommandRepository;
+        this.commandBus = commandBus;
+        this.objectMapper = objectMapper;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        // Each command commits on its own, so one failing command does not roll back the batch
+        this.commandTransaction = new TransactionTemplate(transactionManager);
+        this.commandTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Store the command. Joins the caller's transaction, so the command is only scheduled
+     * if the change that scheduled it commits.
+     */
+    @Override
+    public void schedule(Object command, LocalDateTime executeAt) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(command);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize command " + command.getClass().getName(), e);
+        }
+
+        scheduledCommandRepository.save(ScheduledCommandEntity.builder()
+                .commandType(command.getClass().getName())
+                .payload(payload)
+                .executeAt(executeAt)
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Dispatch every command that is due, one locked batch at a time.
+     *
+     * @return Number of commands dispatched successfully
+     */
+    @Scheduled(fixedDelayString = "${commands.scheduler.poll-interval-ms:1000}")
+    public int dispatchDue() {
+        int dispatched = 0;
+        while (true) {
+            int[] batch = claimTransaction.execute(status -> dispatchBatch());
+            if (batch == null) {
+                break;
+            }
+            dispatched += batch[1];
+            if (batch[0] < batchSize) {
+                break;
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * @return Number of commands claimed and number dispatched
+     */
+    private int[] dispatchBatch() {
+        List<ScheduledCommandEntity> due = scheduledCommandRepository.findDueForUpdate(
+                LocalDateTime.now(), maxAttempts, PageRequest.of(0, batchSize));
+
+        List<ScheduledCommandEntity> claimed = new ArrayList<>();
+        List<Object> commands = new ArrayList<>();
+        for (ScheduledCommandEntity scheduled : due) {
+            try {
+                commands.add(deserialize(scheduled));
+                claimed.add(scheduled);
+            } catch (Exception e) {
+                retryLater(scheduled, e);
+            }
+        }
+
+        if (claimed.isEmpty()) {
+            return new int[]{due.size(), 0};
+        }
+
+        // Whole batch first, so batch handlers can process it at once; one by one if that fails
+        int dispatched = 0;
+        try {
+            commandTransaction.executeWithoutResult(status -> commandBus.dispatchAll(commands));
+            scheduledCommandRepository.deleteAll(claimed);
+            dispatched = claimed.size();
+        } catch (Exception batchFailure) {
+            log.warn("Batch of {} scheduled commands failed, dispatching one by one: {}",
+                    claimed.size(), batchFailure.getMessage());
+            for (int i = 0; i < claimed.size(); i++) {
+                Object command = commands.get(i);
+                ScheduledCommandEntity scheduled = claimed.get(i);
+                try {
+                    commandTransaction.executeWithoutResult(status -> commandBus.dispatch(command));
+                    scheduledCommandRepository.delete(scheduled);
+                    dispatched++;
+                } catch (Exception e) {
+                    retryLater(scheduled, e);
+                }
+            }
+        }
+        log.debug("Dispatched {} of {} scheduled commands", dispatched, due.size());
+        return new int[]{due.size(), dispatched};
+    }
+
+    private Object deserialize(ScheduledCommandEntity scheduled) throws ClassNotFoundException, JsonProcessingException {
+        return objectMapper.readValue(scheduled.getPayload(), Class.forName(scheduled.getCommandType()));
+    }
+
+    private void retryLater(ScheduledCommandEntity scheduled, Exception e) {
+        int attempts = scheduled.getAttempts() + 1;
+        String error = String.valueOf(e.getMessage());
+        scheduled.setAttempts(attempts);
+        scheduled.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on scheduled command {} ({}) after {} attempts: {}",
+                    scheduled.getId(), scheduled.getCommandType(), attempts, error, e);
+        } else {
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+            scheduled.setExecuteAt(LocalDateTime.now().plus(backoff));
+            log.warn("Scheduled command {} ({}) failed, retrying in {}: {}",
+                    scheduled.getId(), scheduled.getCommandType(), backoff, error);
+        }
+        scheduledCommandRepository.save(scheduled);
+    }
+}
@@ -1,5 +1,6 @@
 package com.uber.backend.ride.infrastructure;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Component;
@@ -8,8 +9,13 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 
+/**
+ * In-memory {@link DelayedCommandScheduler}; pending commands are lost on restart.
+ * Enabled with {@code commands.scheduler.type=in-memory}.
+ */
 @Component
 @EnableScheduling
+@ConditionalOnProperty(name = "commands.scheduler.type", havingValue = "in-memory")
 public class SpringDelayedCommandScheduler implements DelayedCommandScheduler {
 
     private final TaskScheduler taskScheduler;
@@ -31,7 +37,7 @@ public class SpringDelayedCommandScheduler implements DelayedCommandScheduler {
         );
 
         taskScheduler.schedule(
-                () -> commandBus.dispatch(command),
+                () -> commandBus.dispatchBatched(command),
                 executionDate
         );
     }
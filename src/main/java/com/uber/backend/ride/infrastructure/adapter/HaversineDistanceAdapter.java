@@ -9,18 +9,25 @@ public class HaversineDistanceAdapter implements DistanceCalculatorPort {
 
     @Override
     public double calculateDistance(Location start, Location end) {
+        return distanceKm(start.latitude(), start.longitude(), end.latitude(), end.longitude());
+    }
+
+    /**
+     * Haversine distance on raw coordinates, for callers that do not hold {@link Location}s.
+     */
+    public static double distanceKm(double startLat, double startLon, double endLat, double endLon) {
         double R = 6371; // km
 
-        double dLat = Math.toRadians(end.latitude() - start.latitude());
-        double dLon = Math.toRadians(end.longitude() - start.longitude());
+        double dLat = Math.toRadians(endLat - startLat);
+        double dLon = Math.toRadians(endLon - startLon);
 
         double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(start.latitude()))
-                * Math.cos(Math.toRadians(end.latitude()))
+                + Math.cos(Math.toRadians(startLat))
+                * Math.cos(Math.toRadians(endLat))
                 * Math.sin(dLon / 2) * Math.sin(dLon / 2);
 
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
 
         return R * c;
     }
-}
\ No newline at end of file
+}
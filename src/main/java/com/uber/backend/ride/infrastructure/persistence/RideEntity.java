@@ -10,6 +10,7 @@ import com.uber.backend.ride.domain.enums.RideType;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,7 +18,7 @@ import java.util.List;
 
 @Slf4j
 @Entity
-@Table(name = "rides")
+@Table(name = "rides", indexes = @Index(name = "idx_rides_status_requested_at", columnList = "status, requested_at"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +30,12 @@ public class RideEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Rejects a second, concurrent assignment of the same ride
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private RideStatus status;
@@ -111,9 +118,20 @@ public class RideEntity {
         }
     }
 
+    /**
+     * Move the ride to {@code target}, following the {@link RideStatus} state machine.
+     * A concurrent transition of the same ride is rejected by the version check on commit.
+     */
+    public void transitionTo(RideStatus target) {
+        if (this.status != null && !this.status.canTransitionTo(target)) {
+            throw new IllegalArgumentException("Ride " + this.id + " cannot move from " + this.status + " to " + target);
+        }
+        this.status = target;
+    }
+
     public void cancelIfUnmatched() {
         if (this.status == RideStatus.REQUESTED || this.status == RideStatus.DENIED) {
-            this.status = RideStatus.CANCELLED;
+            transitionTo(RideStatus.CANCELLED);
             this.cancelledAt = LocalDateTime.now();
         }
     }
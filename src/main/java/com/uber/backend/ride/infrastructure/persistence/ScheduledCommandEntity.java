@@ -0,0 +1,41 @@
+package com.uber.backend.ride.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A command waiting to be dispatched at {@code executeAt}, stored as JSON.
+ */
+@Entity
+@Table(name = "scheduled_commands", indexes = @Index(name = "idx_scheduled_commands_execute_at", columnList = "execute_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledCommandEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "command_type", nullable = false)
+    private String commandType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "execute_at", nullable = false)
+    private LocalDateTime executeAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
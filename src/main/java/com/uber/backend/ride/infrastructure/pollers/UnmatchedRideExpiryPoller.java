@@ -0,0 +1,51 @@
+package com.uber.backend.ride.infrastructure.pollers;
+
+import com.uber.backend.ride.application.CancelRideIfUnmatchedCommandHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels rides that found no driver within {@code ride.unmatched-timeout}.
+ * Each run costs one UPDATE per {@code batch-size} expired rides, however many rides are waiting.
+ */
+@Component
+@ConditionalOnProperty(name = "ride.unmatched-expiry.mode", havingValue = "sweep", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class UnmatchedRideExpiryPoller {
+
+    private final CancelRideIfUnmatchedCommandHandler cancelRideIfUnmatchedCommandHandler;
+
+    @Value("${ride.unmatched-timeout:5m}")
+    private Duration unmatchedTimeout = Duration.ofMinutes(5);
+
+    @Value("${ride.unmatched-expiry.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * @return Number of rides cancelled
+     */
+    @Scheduled(fixedDelayString = "${ride.unmatched-expiry.interval-ms:5000}")
+    public int expireUnmatchedRides() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(unmatchedTimeout);
+        int cancelled = 0;
+        List<Long> batch;
+        do {
+            batch = cancelRideIfUnmatchedCommandHandler.expireUnmatched(cutoff, batchSize);
+            cancelled += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (cancelled > 0) {
+            log.info("Cancelled {} rides unmatched for more than {}", cancelled, unmatchedTimeout);
+        }
+        return cancelled;
+    }
+}
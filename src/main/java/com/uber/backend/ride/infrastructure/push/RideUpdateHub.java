@@ -0,0 +1,181 @@
+package com.uber.backend.ride.infrastructure.push;
+
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed ride status changes to the passenger's and driver's open
+ * Server-Sent Events streams, so clients no longer poll {@code GET /api/rides/{id}}.
+ * An idle stream holds no thread, only its emitter. Every stream has its own outbound
+ * queue, drained on a virtual thread, which keeps events in order per stream and stops a
+ * slow client from delaying the others; a stream that falls too far behind is closed and
+ * the client reconnects and reloads the ride.
+ * Streams are local to this node.
+ */
+@Component
+@Slf4j
+public class RideUpdateHub {
+
+    static final String STATUS_EVENT = "ride-status";
+
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final int maxQueuedEvents;
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger streamCount = new AtomicInteger();
+
+    @Autowired
+    public RideUpdateHub(MeterRegistry meterRegistry,
+                         @Value("${push.sse.timeout:30m}") Duration timeout,
+                         @Value("${push.sse.max-queued-events:100}") int maxQueuedEvents) {
+        this(meterRegistry, timeout, maxQueuedEvents, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public RideUpdateHub(MeterRegistry meterRegistry, Duration timeout, int maxQueuedEvents, Executor executor) {
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxQueuedEvents = maxQueuedEvents;
+        Gauge.builder("push.sse.connections", streamCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of status changes for every ride the user takes part in.
+     */
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    /**
+     * Register an emitter for the user. The stream ends on completion, timeout or a failed write.
+     */
+    public SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Stream stream = new Stream(userId, emitter);
+        streams.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+        streamCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+        // Sent right away so the response headers reach the client
+        stream.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RideStatusChangedEvent event) {
+        push(event.passengerId(), event);
+        if (!Objects.equals(event.driverId(), event.passengerId())) {
+            push(event.driverId(), event);
+        }
+    }
+
+    /**
+     * Keep idle streams open through proxies and notice clients that went away.
+     */
+    @Scheduled(fixedRateString = "${push.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream ->
+                stream.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int getConnectionCount() {
+        return streamCount.get();
+    }
+
+    private void push(Long userId, RideStatusChangedEvent event) {
+        if (userId == null) {
+            return;
+        }
+        Set<Stream> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (Stream stream : userStreams) {
+            stream.enqueue(SseEmitter.event()
+                    .name(STATUS_EVENT)
+                    .id(event.rideId() + ":" + event.status())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void remove(Stream stream) {
+        Set<Stream> userStreams = streams.get(stream.userId);
+        if (userStreams != null && userStreams.remove(stream)) {
+            streamCount.decrementAndGet();
+            streams.computeIfPresent(stream.userId, (id, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+    }
+
+    private final class Stream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (queued.incrementAndGet() > maxQueuedEvents) {
+                log.debug("Closing push stream of user {}: client is not keeping up", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the emitter's error callback may not run for a closed stream
+                        remove(this);
+                        emitter.completeWithError(e);
+                        queue.clear();
+                        draining.set(false);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before releasing the flag is drained here
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -2,16 +2,28 @@ package com.uber.backend.ride.infrastructure.repository;
 
 import com.uber.backend.ride.domain.enums.RideStatus;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RideRepository extends JpaRepository<RideEntity, Long> {
+
+    interface RidePassenger {
+        Long getRideId();
+
+        Long getPassengerId();
+    }
+
     List<RideEntity> findByStatusEquals(RideStatus status);
 
     @Query("SELECT r FROM RideEntity r WHERE r.status = :status AND r.invitedAt < :cutoffTime")
@@ -19,4 +31,49 @@ public interface RideRepository extends JpaRepository<RideEntity, Long> {
 
     @Query("SELECT r FROM RideEntity r WHERE r.passenger.id = :passengerId AND r.status IN :statuses ORDER BY r.requestedAt DESC")
     List<RideEntity> findByPassengerIdAndStatusIn(@Param("passengerId") Long passengerId, @Param("statuses") List<RideStatus> statuses);
+
+    /**
+     * Lock the given rides that still wait for a driver, skipping rows another dispatcher
+     * already holds (lock timeout -2 is Hibernate's SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM RideEntity r WHERE r.id IN :rideIds AND r.status IN :statuses ORDER BY r.requestedAt")
+    List<RideEntity> findByIdInAndStatusInForUpdate(@Param("rideIds") Collection<Long> rideIds, @Param("statuses") List<RideStatus> statuses);
+
+    /**
+     * Lock up to {@code limit} REQUESTED or DENIED rides whose pickup cell belongs to this dispatcher's shard.
+     * Pickup points are bucketed into cells of {@code cellDegrees}, and each cell is hashed onto one of
+     * {@code shardCount} shards, so replicas sweep disjoint areas. Rows locked elsewhere are skipped.
+     */
+    @Query(value = "SELECT * FROM rides WHERE status IN ('REQUESTED', 'DENIED') AND pickup_latitude IS NOT NULL " +
+            "AND MOD(ABS(CAST(FLOOR(pickup_latitude / :cellDegrees) AS BIGINT) * 31 " +
+            "+ CAST(FLOOR(pickup_longitude / :cellDegrees) AS BIGINT)), :shardCount) = :shardIndex " +
+            "ORDER BY requested_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RideEntity> claimUnmatchedInShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex,
+                                           @Param("cellDegrees") double cellDegrees, @Param("limit") int limit);
+
+    /**
+     * Cancel the given rides that still wait for a driver, in one statement. Bumps the version like an
+     * entity update, so a transaction that read one of the rides before (e.g. a driver accepting) fails its commit.
+     *
+     * @return The rides this statement cancelled and their passengers
+     */
+    @Query(value = "UPDATE rides SET status = 'CANCELLED', cancelled_at = :now, version = version + 1 " +
+            "WHERE id IN :rideIds AND status IN ('REQUESTED', 'DENIED') " +
+            "RETURNING id AS \"rideId\", passenger_id AS \"passengerId\"", nativeQuery = true)
+    List<RidePassenger> cancelUnmatched(@Param("rideIds") Collection<Long> rideIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Cancel up to {@code limit} rides that have been unmatched since before {@code cutoff}, in one statement.
+     * Rows locked by a concurrent transaction (e.g. a driver being invited) are left for the next run.
+     * Bumps the version, so a transaction that read one of the rides before fails its commit.
+     *
+     * @return The cancelled rides and their passengers
+     */
+    @Query(value = "UPDATE rides SET status = 'CANCELLED', cancelled_at = :now, version = version + 1 WHERE id IN (" +
+            "SELECT id FROM rides WHERE status IN ('REQUESTED', 'DENIED') AND requested_at < :cutoff " +
+            "ORDER BY requested_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id AS \"rideId\", passenger_id AS \"passengerId\"", nativeQuery = true)
+    List<RidePassenger> cancelUnmatchedRequestedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now, @Param("limit") int limit);
 }
@@ -0,0 +1,30 @@
+package com.uber.backend.ride.infrastructure.repository;
+
+import com.uber.backend.ride.infrastructure.persistence.ScheduledCommandEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledCommandRepository extends JpaRepository<ScheduledCommandEntity, Long> {
+
+    /**
+     * Lock due commands, skipping rows already locked by another instance
+     * (lock timeout -2 is Hibernate's SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM ScheduledCommandEntity c WHERE c.executeAt <= :now AND c.attempts < :maxAttempts ORDER BY c.executeAt")
+    List<ScheduledCommandEntity> findDueForUpdate(@Param("now") LocalDateTime now,
+                                                  @Param("maxAttempts") int maxAttempts,
+                                                  Pageable pageable);
+}
@@ -1,7 +1,10 @@
 package com.uber.backend.shared.api.exception;
 
+import com.uber.backend.driver.application.exception.LocationStreamLimitException;
 import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.shared.api.ApiError;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -41,6 +44,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * Handle updates that kept losing to concurrent changes of the same ride.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        ApiError error = new ApiError(
+                "Conflict",
+                "The ride was changed concurrently, please retry",
+                HttpStatus.CONFLICT.value()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handle a node that already holds its maximum number of location streams.
+     */
+    @ExceptionHandler(LocationStreamLimitException.class)
+    public ResponseEntity<ApiError> handleLocationStreamLimit(LocationStreamLimitException ex) {
+        ApiError error = new ApiError(
+                "Service Unavailable",
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(error);
+    }
+
     /**
      * Handle general exceptions (fallback for unexpected errors).
      */
@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.uber.backend.driver.application.service.DriverAvailabilityService;
 import com.uber.backend.shared.application.DataSeederService;
 
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import java.util.Map;
 public class DataSeederController {
 
     private final DataSeederService dataSeederService;
+    private final DriverAvailabilityService driverAvailabilityService;
 
     /**
      * Reset database with fresh seed data.
@@ -47,6 +49,7 @@ public class DataSeederController {
     public ResponseEntity<Map<String, String>> resetDatabase() {
         dataSeederService.deleteAllData();
         dataSeederService.seedDatabase();
+        driverAvailabilityService.rebuildLocationIndex();
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Database has been reset and reseeded successfully!");
@@ -74,6 +77,7 @@ public class DataSeederController {
     })
     public ResponseEntity<Map<String, String>> seedDatabase() {
         dataSeederService.seedDatabase();
+        driverAvailabilityService.rebuildLocationIndex();
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Database seeded successfully!");
@@ -101,6 +105,7 @@ public class DataSeederController {
     })
     public ResponseEntity<Map<String, String>> deleteAllData() {
         dataSeederService.deleteAllData();
+        driverAvailabilityService.rebuildLocationIndex();
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "All data deleted successfully!");
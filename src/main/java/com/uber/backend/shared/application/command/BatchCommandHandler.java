@@ -0,0 +1,13 @@
+package com.uber.backend.shared.application.command;
+
+import java.util.List;
+
+/**
+ * Handler that can also process many commands of its type at once, e.g. as a single UPDATE.
+ *
+ * @param <C> Command type
+ */
+public interface BatchCommandHandler<C> extends CommandHandler<C, Void> {
+
+    void handleAll(List<C> commands);
+}
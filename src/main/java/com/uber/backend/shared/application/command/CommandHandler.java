@@ -0,0 +1,14 @@
+package com.uber.backend.shared.application.command;
+
+/**
+ * Handler for a single command type, registered with the command bus at startup.
+ *
+ * @param <C> Command type
+ * @param <R> Result type, {@link Void} for commands without a result
+ */
+public interface CommandHandler<C, R> {
+
+    Class<C> commandType();
+
+    R handle(C command);
+}
@@ -1,20 +1,11 @@
 package com.uber.backend.shared.domain;
 
-import java.util.ArrayList;
-import java.util.List;
-
-public class DomainEvents {
-
-    private static final List<Object> events = new ArrayList<>();
-
-    public static void raise(Object event) {
-        events.add(event);
-    }
-
-    public static List<Object> pullEvents() {
-        List<Object> raised = List.copyOf(events);
-        events.clear();
-        return raised;
-    }
+/**
+ * Raises domain events through the transactional outbox.
+ * Events raised inside a transaction are stored only if it commits. Events are published
+ * to listeners by the outbox relay after commit.
+ */
+public interface DomainEvents {
+
+    void raise(Object event);
 }
-
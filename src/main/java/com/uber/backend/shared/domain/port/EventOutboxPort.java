@@ -0,0 +1,16 @@
+package com.uber.backend.shared.domain.port;
+
+import java.util.List;
+
+/**
+ * Port for the transactional outbox that stores domain events until they are published.
+ */
+public interface EventOutboxPort {
+
+    /**
+     * Store events in the outbox, as part of the current transaction if there is one.
+     *
+     * @param events Events in the order they were raised
+     */
+    void append(List<Object> events);
+}
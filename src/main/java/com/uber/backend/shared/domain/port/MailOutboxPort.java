@@ -0,0 +1,13 @@
+package com.uber.backend.shared.domain.port;
+
+/**
+ * Port for outgoing emails that are stored with the current transaction and delivered
+ * in the background once it has committed.
+ */
+public interface MailOutboxPort {
+
+    /**
+     * Queue a plain-text email, as part of the current transaction if there is one.
+     */
+    void enqueue(String recipient, String subject, String body);
+}
@@ -0,0 +1,138 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caching decorator for reverse geocoding.
+ * Coordinates are snapped to a grid of {@code geocoding.cache.cell-size-meters}, so repeated
+ * lookups around the same spot (busy pickup points, idling drivers) are answered from memory.
+ * Entries are evicted least-recently-used beyond {@code max-entries} and expire after {@code ttl}.
+ * Only wraps the Nominatim provider; the offline provider needs no cache.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${geocoding.provider:nominatim}' == 'nominatim' and ${geocoding.cache.enabled:true}")
+@Slf4j
+public class CachingGeocodingAdapter implements GeocodingPort {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    // Prefix of the address NominatimGeocodingAdapter returns when no address could be resolved
+    private static final String FALLBACK_PREFIX = "Location (";
+
+    private final GeocodingPort delegate;
+    private final double cellSizeDegrees;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final boolean cacheFallbacks;
+    private final Clock clock;
+
+    private final Map<CellKey, CachedAddress> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    private record CellKey(long latIndex, long lonIndex) {}
+
+    private record CachedAddress(String address, long expiresAtMillis) {}
+
+    @Autowired
+    public CachingGeocodingAdapter(
+            @Qualifier("nominatimGeocodingAdapter") GeocodingPort delegate,
+            MeterRegistry meterRegistry,
+            @Value("${geocoding.cache.cell-size-meters:15}") double cellSizeMeters,
+            @Value("${geocoding.cache.max-entries:50000}") int maxEntries,
+            @Value("${geocoding.cache.ttl:24h}") Duration ttl,
+            @Value("${geocoding.cache.negative-ttl:5m}") Duration negativeTtl,
+            @Value("${geocoding.cache.cache-fallbacks:true}") boolean cacheFallbacks) {
+        this(delegate, meterRegistry, cellSizeMeters, maxEntries, ttl, negativeTtl, cacheFallbacks, Clock.systemUTC());
+    }
+
+    public CachingGeocodingAdapter(GeocodingPort delegate, MeterRegistry meterRegistry, double cellSizeMeters,
+                                   int maxEntries, Duration ttl, Duration negativeTtl, boolean cacheFallbacks,
+                                   Clock clock) {
+        if (cellSizeMeters <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Geocoding cache cell size and max entries must be positive");
+        }
+        this.delegate = delegate;
+        this.cellSizeDegrees = cellSizeMeters / METERS_PER_DEGREE;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.cacheFallbacks = cacheFallbacks;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellKey, CachedAddress> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("geocoding.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("geocoding.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("geocoding.cache.size", cache, CachingGeocodingAdapter::sizeOf).register(meterRegistry);
+    }
+
+    @Override
+    public String getAddressFromCoordinates(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return delegate.getAddressFromCoordinates(latitude, longitude);
+        }
+
+        CellKey key = new CellKey(Math.round(latitude / cellSizeDegrees), Math.round(longitude / cellSizeDegrees));
+        long now = clock.millis();
+        synchronized (cache) {
+            CachedAddress cached = cache.get(key);
+            if (cached != null && cached.expiresAtMillis() > now) {
+                hits.increment();
+                return cached.address();
+            }
+        }
+
+        // Resolve outside the lock so slow lookups do not block cache hits
+        misses.increment();
+        String address = delegate.getAddressFromCoordinates(latitude, longitude);
+        boolean fallback = address == null || address.startsWith(FALLBACK_PREFIX);
+        if (fallback && !cacheFallbacks) {
+            return address;
+        }
+
+        long expiresAt = now + (fallback ? negativeTtlMillis : ttlMillis);
+        synchronized (cache) {
+            cache.put(key, new CachedAddress(address, expiresAt));
+        }
+        return address;
+    }
+
+    public int size() {
+        return sizeOf(cache);
+    }
+
+    private static int sizeOf(Map<CellKey, CachedAddress> cache) {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Drop all cached addresses.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        log.debug("Geocoding cache cleared");
+    }
+}
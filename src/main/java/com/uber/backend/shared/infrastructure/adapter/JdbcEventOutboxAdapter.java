@@ -0,0 +1,61 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.shared.domain.port.EventOutboxPort;
+import com.uber.backend.shared.infrastructure.pollers.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes domain events to the {@code outbox_events} table in one JDBC batch, on the connection
+ * of the current transaction, and wakes the relay once that transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcEventOutboxAdapter implements EventOutboxPort {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (event_type, payload, created_at, attempts) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    @Override
+    public void append(List<Object> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            try {
+                rows.add(new Object[]{event.getClass().getName(), objectMapper.writeValueAsString(event), now});
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot serialize event " + event.getClass().getName(), e);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        } else {
+            outboxRelay.wakeUp();
+        }
+    }
+}
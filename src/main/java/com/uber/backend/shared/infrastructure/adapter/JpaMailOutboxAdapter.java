@@ -0,0 +1,48 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import com.uber.backend.shared.domain.port.MailOutboxPort;
+import com.uber.backend.shared.infrastructure.persistence.MailOutboxEntity;
+import com.uber.backend.shared.infrastructure.pollers.MailDispatcher;
+import com.uber.backend.shared.infrastructure.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores outgoing mails in the {@code mail_outbox} table within the current transaction and
+ * wakes the dispatcher once that transaction has committed, so no SMTP call runs inside it.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaMailOutboxAdapter implements MailOutboxPort {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailDispatcher mailDispatcher;
+
+    @Override
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepository.save(MailOutboxEntity.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .attempts(0)
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailDispatcher.wakeUp();
+                }
+            });
+        } else {
+            mailDispatcher.wakeUp();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.uber.backend.shared.infrastructure.adapter;
 
 import com.uber.backend.shared.domain.port.GeocodingPort;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -13,8 +14,10 @@ import java.util.Map;
 
 /**
  * Reverse geocoding adapter using OpenStreetMap Nominatim API (free, no API key needed).
+ * Default provider ({@code geocoding.provider=nominatim}).
  */
 @Component
+@ConditionalOnProperty(name = "geocoding.provider", havingValue = "nominatim", matchIfMissing = true)
 @Slf4j
 public class NominatimGeocodingAdapter implements GeocodingPort {
 
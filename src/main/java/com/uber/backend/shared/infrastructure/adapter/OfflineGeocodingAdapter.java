@@ -0,0 +1,71 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reverse geocoding from a local extract of streets and places, without network access.
+ * The extract is loaded into an {@link OfflineGeocodingIndex} at startup.
+ * Enabled with {@code geocoding.provider=offline}.
+ */
+@Component
+@ConditionalOnProperty(name = "geocoding.provider", havingValue = "offline")
+@Slf4j
+public class OfflineGeocodingAdapter implements GeocodingPort {
+
+    private final OfflineGeocodingIndex index;
+    private final double maxDistanceMeters;
+
+    @Autowired
+    public OfflineGeocodingAdapter(
+            @Value("${geocoding.offline.file:classpath:geocoding/places.csv}") Resource file,
+            @Value("${geocoding.offline.cell-size-degrees:0.005}") double cellSizeDegrees,
+            @Value("${geocoding.offline.max-distance-meters:250}") double maxDistanceMeters) {
+        this(loadIndex(file, cellSizeDegrees), maxDistanceMeters);
+    }
+
+    public OfflineGeocodingAdapter(OfflineGeocodingIndex index, double maxDistanceMeters) {
+        this.index = index;
+        this.maxDistanceMeters = maxDistanceMeters;
+    }
+
+    @Override
+    public String getAddressFromCoordinates(Double latitude, Double longitude) {
+        String address = index.nearestAddress(latitude, longitude, maxDistanceMeters);
+        if (address == null) {
+            log.debug("No place within {} m of ({}, {})", maxDistanceMeters, latitude, longitude);
+            return String.format("Location (%.4f, %.4f)", latitude, longitude);
+        }
+        return address;
+    }
+
+    public OfflineGeocodingIndex getIndex() {
+        return index;
+    }
+
+    private static OfflineGeocodingIndex loadIndex(Resource file, double cellSizeDegrees) {
+        long start = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            OfflineGeocodingIndex index = OfflineGeocodingIndex.load(reader, cellSizeDegrees);
+            log.info("Offline geocoding index built from {} in {} ms: {} places, {} unique addresses, {} cells, ~{} KB",
+                    file.getDescription(), (System.nanoTime() - start) / 1_000_000,
+                    index.getPlaceCount(), index.getAddressCount(), index.getCellCount(),
+                    index.estimateMemoryBytes() / 1024);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load offline geocoding data from " + file.getDescription(), e);
+        }
+    }
+}
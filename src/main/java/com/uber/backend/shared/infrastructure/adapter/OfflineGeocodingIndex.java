@@ -0,0 +1,236 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact in-memory spatial index of named places for offline reverse geocoding.
+ * Places are stored column-wise in primitive arrays, sorted by grid cell, and identical
+ * address strings are shared. A lookup binary-searches the cells around the query point.
+ */
+@Slf4j
+public final class OfflineGeocodingIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final double cellSizeDegrees;
+    // One entry per non-empty cell: its key and the offset of its first place
+    private final long[] cellKeys;
+    private final int[] cellStarts;
+    // One entry per place, grouped by cell
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final int[] addressIds;
+    private final String[] addresses;
+
+    private OfflineGeocodingIndex(double cellSizeDegrees, long[] cellKeys, int[] cellStarts, float[] latitudes,
+                                  float[] longitudes, int[] addressIds, String[] addresses) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.cellKeys = cellKeys;
+        this.cellStarts = cellStarts;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.addressIds = addressIds;
+        this.addresses = addresses;
+    }
+
+    /**
+     * Build an index from CSV lines {@code latitude,longitude,house_number,road,city,postcode,country}.
+     * Empty lines, {@code #} comments, a header line and malformed lines are skipped.
+     */
+    public static OfflineGeocodingIndex load(BufferedReader reader, double cellSizeDegrees) throws IOException {
+        if (cellSizeDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+
+        List<double[]> points = new ArrayList<>();
+        List<Integer> pointAddresses = new ArrayList<>();
+        Map<String, Integer> addressIdsByText = new HashMap<>();
+        List<String> addressTexts = new ArrayList<>();
+        int skipped = 0;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            double latitude;
+            double longitude;
+            try {
+                latitude = Double.parseDouble(fields.get(0).trim());
+                longitude = Double.parseDouble(fields.get(1).trim());
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                if (lineNumber > 1) {
+                    skipped++;
+                }
+                continue;
+            }
+            String address = formatAddress(fields.subList(2, fields.size()));
+            if (address.isEmpty() || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                skipped++;
+                continue;
+            }
+            Integer addressId = addressIdsByText.computeIfAbsent(address, text -> {
+                addressTexts.add(text);
+                return addressTexts.size() - 1;
+            });
+            points.add(new double[]{latitude, longitude});
+            pointAddresses.add(addressId);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed lines while loading offline geocoding data", skipped);
+        }
+
+        // Sort places by cell so every cell is one contiguous range
+        int count = points.size();
+        Integer[] order = new Integer[count];
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            keys[i] = cellKey(cellIndex(points.get(i)[0], cellSizeDegrees), cellIndex(points.get(i)[1], cellSizeDegrees));
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        float[] latitudes = new float[count];
+        float[] longitudes = new float[count];
+        int[] addressIds = new int[count];
+        long[] cellKeys = new long[count];
+        int[] cellStarts = new int[count + 1];
+        int cells = 0;
+        for (int i = 0; i < count; i++) {
+            int source = order[i];
+            latitudes[i] = (float) points.get(source)[0];
+            longitudes[i] = (float) points.get(source)[1];
+            addressIds[i] = pointAddresses.get(source);
+            if (cells == 0 || cellKeys[cells - 1] != keys[source]) {
+                cellKeys[cells] = keys[source];
+                cellStarts[cells] = i;
+                cells++;
+            }
+        }
+        cellStarts[cells] = count;
+
+        return new OfflineGeocodingIndex(cellSizeDegrees, Arrays.copyOf(cellKeys, cells),
+                Arrays.copyOf(cellStarts, cells + 1), latitudes, longitudes, addressIds,
+                addressTexts.toArray(new String[0]));
+    }
+
+    /**
+     * Address of the place closest to the given point.
+     *
+     * @return The address, or null if no place lies within {@code maxDistanceMeters}
+     */
+    public String nearestAddress(double latitude, double longitude, double maxDistanceMeters) {
+        int centerLat = cellIndex(latitude, cellSizeDegrees);
+        int centerLon = cellIndex(longitude, cellSizeDegrees);
+        double lonScale = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double maxDistanceDegrees = maxDistanceMeters / METERS_PER_DEGREE;
+        int latRings = (int) Math.ceil(maxDistanceDegrees / cellSizeDegrees);
+        int lonRings = (int) Math.ceil(maxDistanceDegrees / lonScale / cellSizeDegrees);
+
+        int best = -1;
+        double bestDistance = maxDistanceDegrees * maxDistanceDegrees;
+        for (int dLat = -latRings; dLat <= latRings; dLat++) {
+            for (int dLon = -lonRings; dLon <= lonRings; dLon++) {
+                int cell = Arrays.binarySearch(cellKeys, cellKey(centerLat + dLat, centerLon + dLon));
+                if (cell < 0) {
+                    continue;
+                }
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    // Equirectangular approximation, accurate at street scale
+                    double y = latitudes[i] - latitude;
+                    double x = (longitudes[i] - longitude) * lonScale;
+                    double distance = x * x + y * y;
+                    if (distance <= bestDistance) {
+                        bestDistance = distance;
+                        best = i;
+                    }
+                }
+            }
+        }
+        return best < 0 ? null : addresses[addressIds[best]];
+    }
+
+    public int getPlaceCount() {
+        return latitudes.length;
+    }
+
+    public int getAddressCount() {
+        return addresses.length;
+    }
+
+    public int getCellCount() {
+        return cellKeys.length;
+    }
+
+    /**
+     * Approximate heap used by the index: the primitive arrays plus the shared address strings
+     * (compact Latin-1 strings assumed).
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 8L * cellKeys.length + 4L * cellStarts.length
+                + 4L * latitudes.length + 4L * longitudes.length + 4L * addressIds.length
+                + 8L * addresses.length;
+        for (String address : addresses) {
+            bytes += 40 + address.length();
+        }
+        return bytes;
+    }
+
+    private static String formatAddress(List<String> parts) {
+        StringBuilder address = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i).trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (address.length() > 0) {
+                address.append(", ");
+            }
+            address.append(part);
+        }
+        return address.toString();
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int cellIndex(double degrees, double cellSizeDegrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xFFFFFFFFL);
+    }
+}
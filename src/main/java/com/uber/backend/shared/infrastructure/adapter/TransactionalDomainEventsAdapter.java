@@ -0,0 +1,69 @@
+package com.uber.backend.shared.infrastructure.adapter;
+
+import com.uber.backend.shared.domain.DomainEvents;
+import com.uber.backend.shared.domain.port.EventOutboxPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds raised domain events to the Spring-managed transaction.
+ * Inside a transaction, events are buffered per transaction and written to the outbox just
+ * before it commits, so they are stored exactly when the change that raised them is; a rolled
+ * back transaction drops them. Outside a transaction they are written right away.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionalDomainEventsAdapter implements DomainEvents {
+
+    private final EventOutboxPort eventOutbox;
+
+    @Override
+    public void raise(Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventOutbox.append(List.of(event));
+            return;
+        }
+        currentBuffer().events.add(event);
+    }
+
+    private EventBuffer currentBuffer() {
+        // Synchronizations are suspended with their transaction, so a nested REQUIRES_NEW
+        // transaction gets its own buffer
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof EventBuffer buffer && buffer.owner == this) {
+                return buffer;
+            }
+        }
+        EventBuffer buffer = new EventBuffer(this);
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer;
+    }
+
+    private static final class EventBuffer implements TransactionSynchronization {
+
+        private final TransactionalDomainEventsAdapter owner;
+        private final List<Object> events = new ArrayList<>();
+
+        private EventBuffer(TransactionalDomainEventsAdapter owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                owner.eventOutbox.append(List.copyOf(events));
+                events.clear();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            events.clear();
+        }
+    }
+}
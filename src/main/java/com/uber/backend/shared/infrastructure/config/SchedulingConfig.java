@@ -1,22 +1,33 @@
 package com.uber.backend.shared.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Scheduler for the pollers, sweeps and in-memory delayed commands.
+ * With {@code spring.threads.virtual.enabled=true} its workers are virtual threads, so jobs
+ * blocked on JDBC or HTTP do not hold a platform thread.
+ */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
 
     @Bean
-    public TaskScheduler taskScheduler() {
+    public TaskScheduler taskScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                       @Value("${scheduling.pool-size:5}") int poolSize) {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(5);
+        scheduler.setPoolSize(poolSize);
         scheduler.setThreadNamePrefix("delayed-commands-");
+        if (virtualThreads) {
+            // Fixed-delay jobs still get their own worker, unlike SimpleAsyncTaskScheduler which
+            // runs them all on its single scheduler thread
+            scheduler.setThreadFactory(Thread.ofVirtual().name("delayed-commands-vt-", 0).factory());
+        }
         scheduler.initialize();
         return scheduler;
     }
 }
-
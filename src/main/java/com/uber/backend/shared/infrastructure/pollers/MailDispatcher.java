@@ -0,0 +1,244 @@
+package com.uber.backend.shared.infrastructure.pollers;
+
+import com.uber.backend.shared.infrastructure.persistence.MailOutboxEntity;
+import com.uber.backend.shared.infrastructure.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers mails from the {@code mail_outbox} table, oldest first.
+ * Runs right after a transaction that queued mail commits, and every {@code interval-ms} for
+ * retries and mails left behind by a restart. A batch is claimed in a short transaction by
+ * leasing it ({@code next_attempt_at} moves forward), then sent outside any transaction in one
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which reuses a single SMTP connection
+ * for the whole batch. Failed mails are retried with exponential backoff.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+    private final Timer deliveryLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter abandoned;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    // A lock rather than synchronized: dispatching does JDBC and SMTP, which would pin a virtual thread inside a monitor
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    // First retry delay, doubled for every further failure up to max-backoff
+    @Value("${mail.outbox.backoff:5s}")
+    private Duration backoff = Duration.ofSeconds(5);
+
+    @Value("${mail.outbox.max-backoff:10m}")
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    // How long a claimed batch is hidden from other dispatchers while it is being sent
+    @Value("${mail.outbox.lease:2m}")
+    private Duration lease = Duration.ofMinutes(2);
+
+    @Autowired
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+                          JavaMailSender mailSender,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this(mailOutboxRepository, mailSender, transactionManager, meterRegistry,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "mail-dispatcher")));
+    }
+
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+                          JavaMailSender mailSender,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          Executor executor) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.deliveryLag = Timer.builder("mail.outbox.delivery-lag")
+                .description("Time from queuing a mail to handing it to the SMTP server")
+                .register(meterRegistry);
+        this.sent = Counter.builder("mail.outbox.deliveries").tag("outcome", "sent").register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.deliveries").tag("outcome", "retried").register(meterRegistry);
+        this.abandoned = Counter.builder("mail.outbox.deliveries").tag("outcome", "abandoned").register(meterRegistry);
+    }
+
+    /**
+     * Deliver new mail soon, on the dispatcher thread. Wake-ups arriving while one is pending are merged.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                try {
+                    dispatch();
+                } catch (RuntimeException e) {
+                    log.error("Mail dispatch failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Deliver all due mail, one leased batch at a time.
+     *
+     * @return Number of mails sent
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.interval-ms:1000}")
+    public int dispatch() {
+        dispatchLock.lock();
+        try {
+            int delivered = 0;
+            while (true) {
+                List<MailOutboxEntity> batch = transaction.execute(status -> claimBatch());
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                delivered += deliver(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            return delivered;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<MailOutboxEntity> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxEntity> due = mailOutboxRepository.findDueForUpdate(now, maxAttempts, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return due;
+        }
+        LocalDateTime leasedUntil = now.plus(lease);
+        due.forEach(mail -> mail.setNextAttemptAt(leasedUntil));
+        mailOutboxRepository.saveAll(due);
+        return due;
+    }
+
+    /**
+     * @return Number of mails the SMTP server accepted
+     */
+    private int deliver(List<MailOutboxEntity> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(MailDispatcher::toMessage).toArray(SimpleMailMessage[]::new);
+        Map<Object, Exception> failures = new HashMap<>();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                failAll(messages, e, failures);
+            }
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing was sent
+            failAll(messages, e, failures);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> deliveredIds = new ArrayList<>();
+        List<MailOutboxEntity> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutboxEntity mail = batch.get(i);
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                deliveredIds.add(mail.getId());
+                deliveryLag.record(Duration.between(mail.getCreatedAt(), now));
+            } else {
+                scheduleRetry(mail, failure, now);
+                failed.add(mail);
+            }
+        }
+
+        transaction.executeWithoutResult(status -> {
+            if (!deliveredIds.isEmpty()) {
+                mailOutboxRepository.deleteAllByIdInBatch(deliveredIds);
+            }
+            if (!failed.isEmpty()) {
+                mailOutboxRepository.saveAll(failed);
+            }
+        });
+        sent.increment(deliveredIds.size());
+        log.debug("Sent {} of {} mails", deliveredIds.size(), batch.size());
+        return deliveredIds.size();
+    }
+
+    private void scheduleRetry(MailOutboxEntity mail, Exception failure, LocalDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        String error = String.valueOf(failure.getMessage());
+        mail.setAttempts(attempts);
+        mail.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= maxAttempts) {
+            abandoned.increment();
+            log.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, error);
+            return;
+        }
+        retried.increment();
+        mail.setNextAttemptAt(now.plus(retryDelay(attempts)));
+        log.warn("Mail {} to {} failed (attempt {}), retrying: {}", mail.getId(), mail.getRecipient(), attempts, error);
+    }
+
+    private Duration retryDelay(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = backoff.multipliedBy(factor);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static void failAll(SimpleMailMessage[] messages, Exception e, Map<Object, Exception> failures) {
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, e);
+        }
+    }
+
+    private static SimpleMailMessage toMessage(MailOutboxEntity mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
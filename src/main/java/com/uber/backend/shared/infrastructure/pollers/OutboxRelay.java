@@ -0,0 +1,186 @@
+package com.uber.backend.shared.infrastructure.pollers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.shared.infrastructure.persistence.OutboxEventEntity;
+import com.uber.backend.shared.infrastructure.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes outbox events to in-process listeners, oldest first.
+ * Runs right after a transaction that wrote events commits, and every {@code interval-ms}
+ * to pick up anything left behind (failed listeners, events from before a restart).
+ * Events are deleted once published, so listeners see each event at least once.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate claimTransaction;
+    private final TransactionTemplate publishTransaction;
+    private final Executor executor;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    // A lock rather than synchronized: relaying does JDBC, which would pin a virtual thread inside a monitor
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ApplicationEventPublisher publisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager) {
+        this(outboxEventRepository, publisher, objectMapper, transactionManager,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "outbox-relay")));
+    }
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ApplicationEventPublisher publisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       Executor executor) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        // Listeners run in their own transaction, so @TransactionalEventListeners fire once it commits
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = executor;
+    }
+
+    /**
+     * Relay new events soon, on the relay thread. Wake-ups arriving while one is pending are merged.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                try {
+                    relay();
+                } catch (RuntimeException e) {
+                    log.error("Outbox relay failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Publish all pending events, one locked batch at a time.
+     *
+     * @return Number of events published
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public int relay() {
+        relayLock.lock();
+        try {
+            int published = 0;
+            while (true) {
+                int[] batch = claimTransaction.execute(status -> relayBatch());
+                if (batch == null) {
+                    break;
+                }
+                published += batch[1];
+                if (batch[0] < batchSize) {
+                    break;
+                }
+            }
+            return published;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Number of events claimed and number published
+     */
+    private int[] relayBatch() {
+        List<OutboxEventEntity> pending = outboxEventRepository.findUnpublishedForUpdate(
+                maxAttempts, PageRequest.of(0, batchSize));
+
+        List<OutboxEventEntity> claimed = new ArrayList<>();
+        List<Object> events = new ArrayList<>();
+        for (OutboxEventEntity entry : pending) {
+            try {
+                events.add(objectMapper.readValue(entry.getPayload(), Class.forName(entry.getEventType())));
+                claimed.add(entry);
+            } catch (Exception e) {
+                recordFailure(entry, e);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return new int[]{pending.size(), 0};
+        }
+
+        // Whole batch in one transaction first; one by one if a listener fails
+        int published = 0;
+        try {
+            publishTransaction.executeWithoutResult(status -> events.forEach(publisher::publishEvent));
+            outboxEventRepository.deleteAll(claimed);
+            published = claimed.size();
+        } catch (Exception batchFailure) {
+            log.warn("Publishing {} outbox events failed, retrying one by one: {}",
+                    claimed.size(), batchFailure.getMessage());
+            for (int i = 0; i < claimed.size(); i++) {
+                Object event = events.get(i);
+                OutboxEventEntity entry = claimed.get(i);
+                try {
+                    publishTransaction.executeWithoutResult(status -> publisher.publishEvent(event));
+                    outboxEventRepository.delete(entry);
+                    published++;
+                } catch (Exception e) {
+                    recordFailure(entry, e);
+                }
+            }
+        }
+        log.debug("Published {} of {} outbox events", published, pending.size());
+        return new int[]{pending.size(), published};
+    }
+
+    private void recordFailure(OutboxEventEntity entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        String error = String.valueOf(e.getMessage());
+        entry.setAttempts(attempts);
+        entry.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on outbox event {} ({}) after {} attempts: {}",
+                    entry.getId(), entry.getEventType(), attempts, error, e);
+        } else {
+            log.warn("Outbox event {} ({}) failed: {}", entry.getId(), entry.getEventType(), error);
+        }
+        outboxEventRepository.save(entry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.uber.backend.shared.infrastructure.repository;
+
+import com.uber.backend.shared.infrastructure.persistence.MailOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+
+    /**
+     * Lock the oldest mails due for delivery, skipping rows already locked by another dispatcher
+     * (lock timeout -2 is Hibernate's SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutboxEntity m WHERE m.nextAttemptAt <= :now AND m.attempts < :maxAttempts ORDER BY m.id")
+    List<MailOutboxEntity> findDueForUpdate(@Param("now") LocalDateTime now,
+                                            @Param("maxAttempts") int maxAttempts,
+                                            Pageable pageable);
+}
@@ -0,0 +1,256 @@
+package com.uber.backend.shared.infrastructure.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel for many cancellable timeouts keyed by an id.
+ * Scheduling and cancelling are O(1). Each level has {@code wheelSize} slots, and a slot
+ * of level {@code n} spans {@code wheelSize^n} ticks; timers move down a level as their
+ * deadline approaches and fire from level 0 with tick precision.
+ * Expired tasks run on the given executor so slow tasks never delay the wheel.
+ *
+ * @param <K> Timer key; scheduling a key again replaces its previous timer
+ */
+@Slf4j
+public class HierarchicalTimingWheel<K> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int levels;
+    private final LongSupplier nanoClock;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final List<List<Set<Timer<K>>>> wheels = new ArrayList<>();
+    // Timers beyond the range of the top level, re-placed whenever the top level moves
+    private final Set<Timer<K>> overflow = new LinkedHashSet<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private final long startNanos;
+    private long currentTick;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    private record Timer<K>(K key, long deadlineTick, Runnable task) {}
+
+    /**
+     * @param wheelSize Slots per level, must be a power of two
+     * @param nanoClock Time source in nanoseconds, normally {@link System#nanoTime()}
+     */
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, int levels, LongSupplier nanoClock, Executor executor) {
+        if (tick.isNegative() || tick.isZero() || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 2) {
+            throw new IllegalArgumentException("Tick must be positive, wheel size a power of two and levels at least 2");
+        }
+        this.tickNanos = tick.toNanos();
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.levels = levels;
+        this.nanoClock = nanoClock;
+        this.executor = executor;
+        this.startNanos = nanoClock.getAsLong();
+        for (int level = 0; level < levels; level++) {
+            List<Set<Timer<K>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            wheels.add(slots);
+        }
+    }
+
+    /**
+     * Run {@code task} once {@code delay} has passed, replacing any timer with the same key.
+     */
+    public void schedule(K key, Duration delay, Runnable task) {
+        long delayTicks = Math.max(1, (Math.max(0, delay.toNanos()) + tickNanos - 1) / tickNanos);
+        synchronized (lock) {
+            removeTimer(timers.remove(key));
+            Timer<K> timer = new Timer<>(key, elapsedTicks() + delayTicks, task);
+            timers.put(key, timer);
+            if (!place(timer)) {
+                timers.remove(key);
+                fire(List.of(timer));
+            }
+        }
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * @return true if a pending timer was cancelled
+     */
+    public boolean cancel(K key) {
+        synchronized (lock) {
+            Timer<K> timer = timers.remove(key);
+            removeTimer(timer);
+            return timer != null;
+        }
+    }
+
+    public boolean isScheduled(K key) {
+        synchronized (lock) {
+            return timers.containsKey(key);
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return timers.size();
+        }
+    }
+
+    /**
+     * Process every tick up to the current time and fire expired timers.
+     * Called by the worker thread; tests may call it directly with a controlled clock.
+     */
+    public void advance() {
+        List<Timer<K>> expired = new ArrayList<>();
+        synchronized (lock) {
+            long targetTick = elapsedTicks();
+            if (timers.isEmpty()) {
+                currentTick = targetTick;
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade(expired);
+                Set<Timer<K>> slot = wheels.get(0).get(slotIndex(currentTick, 0));
+                for (Timer<K> timer : slot) {
+                    timers.remove(timer.key());
+                    expired.add(timer);
+                }
+                slot.clear();
+            }
+        }
+        fire(expired);
+    }
+
+    /**
+     * Start a daemon thread that advances the wheel every tick.
+     */
+    public void start(String threadName) {
+        running = true;
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            boolean idle;
+            synchronized (lock) {
+                idle = timers.isEmpty();
+            }
+            if (idle) {
+                // Nothing pending: sleep until a timer is scheduled, then catch up on skipped ticks
+                LockSupport.park(this);
+            } else {
+                long nextTickNanos = startNanos + (currentTickSnapshot() + 1) * tickNanos;
+                LockSupport.parkNanos(this, Math.max(0, nextTickNanos - nanoClock.getAsLong()));
+            }
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                log.error("Timing wheel tick failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private long currentTickSnapshot() {
+        synchronized (lock) {
+            return currentTick;
+        }
+    }
+
+    private long elapsedTicks() {
+        return (nanoClock.getAsLong() - startNanos) / tickNanos;
+    }
+
+    /**
+     * Move timers from higher levels whose slot starts at the current tick down a level.
+     */
+    private void cascade(List<Timer<K>> expired) {
+        for (int level = levels - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << (wheelBits * level)) - 1)) != 0) {
+                continue;
+            }
+            if (level == levels - 1 && !overflow.isEmpty()) {
+                List<Timer<K>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                replace(waiting, expired);
+            }
+            Set<Timer<K>> slot = wheels.get(level).get(slotIndex(currentTick, level));
+            List<Timer<K>> moving = new ArrayList<>(slot);
+            slot.clear();
+            replace(moving, expired);
+        }
+    }
+
+    private void replace(List<Timer<K>> moving, List<Timer<K>> expired) {
+        for (Timer<K> timer : moving) {
+            if (!place(timer)) {
+                timers.remove(timer.key());
+                expired.add(timer);
+            }
+        }
+    }
+
+    /**
+     * @return false if the timer is already due
+     */
+    private boolean place(Timer<K> timer) {
+        long remaining = timer.deadlineTick() - currentTick;
+        if (remaining <= 0) {
+            return false;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (remaining < (1L << (wheelBits * (level + 1)))) {
+                wheels.get(level).get(slotIndex(timer.deadlineTick(), level)).add(timer);
+                return true;
+            }
+        }
+        overflow.add(timer);
+        return true;
+    }
+
+    private void removeTimer(Timer<K> timer) {
+        if (timer == null) {
+            return;
+        }
+        if (overflow.remove(timer)) {
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (wheels.get(level).get(slotIndex(timer.deadlineTick(), level)).remove(timer)) {
+                return;
+            }
+        }
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (wheelBits * level)) & ((1L << wheelBits) - 1));
+    }
+
+    private void fire(List<Timer<K>> expired) {
+        for (Timer<K> timer : expired) {
+            try {
+                executor.execute(timer.task());
+            } catch (RuntimeException e) {
+                log.error("Failed to run timer {}: {}", timer.key(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.uber.backend.shared.infrastructure.transaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own short transaction and re-runs it when the commit loses
+ * a version check against a concurrent writer. Each attempt re-reads its rows, so the retry
+ * sees the winner's state and either applies on top of it or fails its own validation.
+ * Called inside an existing transaction the work runs once, as the conflict only surfaces
+ * when the outer transaction commits.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    @Value("${transactions.optimistic-retry.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    // Base backoff between attempts, grows linearly and gets random jitter
+    @Value("${transactions.optimistic-retry.backoff-ms:10}")
+    private long backoffMillis = 10;
+
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retries = Counter.builder("transactions.optimistic.conflicts").tag("outcome", "retried").register(meterRegistry);
+        this.exhausted = Counter.builder("transactions.optimistic.conflicts").tag("outcome", "exhausted").register(meterRegistry);
+    }
+
+    /**
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Concurrent update on attempt {}/{}, retrying: {}", attempt, maxAttempts, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long millis = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,6 +5,9 @@
 -- ===================================================================
 
 -- Drop tables if they exist (in correct order to respect foreign keys)
+DROP TABLE IF EXISTS mail_outbox CASCADE;
+DROP TABLE IF EXISTS outbox_events CASCADE;
+DROP TABLE IF EXISTS scheduled_commands CASCADE;
 DROP TABLE IF EXISTS ratings CASCADE;
 DROP TABLE IF EXISTS payments CASCADE;
 DROP TABLE IF EXISTS rides CASCADE;
@@ -27,7 +30,8 @@ CREATE TABLE accounts (
     password VARCHAR(255) NOT NULL,
     phone_number VARCHAR(255) NOT NULL,
     role VARCHAR(20) NOT NULL CHECK (role IN ('PASSENGER', 'DRIVER', 'ADMIN')),
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE INDEX idx_accounts_email ON accounts(email);
@@ -107,6 +111,8 @@ CREATE TABLE rides (
     driver_id BIGINT,
     vehicle_id BIGINT,
 
+    version BIGINT NOT NULL DEFAULT 0,
+
     CONSTRAINT fk_rides_passenger FOREIGN KEY (passenger_id) REFERENCES passengers(id) ON DELETE CASCADE,
     CONSTRAINT fk_rides_driver FOREIGN KEY (driver_id) REFERENCES drivers(id) ON DELETE SET NULL,
     CONSTRAINT fk_rides_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles(id) ON DELETE SET NULL
@@ -117,6 +123,7 @@ CREATE INDEX idx_rides_driver ON rides(driver_id);
 CREATE INDEX idx_rides_vehicle ON rides(vehicle_id);
 CREATE INDEX idx_rides_status ON rides(status);
 CREATE INDEX idx_rides_requested_at ON rides(requested_at);
+CREATE INDEX idx_rides_status_requested_at ON rides(status, requested_at);
 
 -- ===================================================================
 -- PAYMENT TABLE
@@ -154,6 +161,48 @@ CREATE TABLE ratings (
 CREATE INDEX idx_ratings_ride ON ratings(ride_id);
 CREATE INDEX idx_ratings_source ON ratings(rated_by);
 
+-- ===================================================================
+-- SCHEDULED COMMANDS (delayed commands such as unmatched ride cancellation)
+-- ===================================================================
+
+CREATE TABLE scheduled_commands (
+    id BIGSERIAL PRIMARY KEY,
+    command_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    execute_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_scheduled_commands_execute_at ON scheduled_commands(execute_at);
+
+-- ===================================================================
+-- OUTBOX EVENTS (domain events waiting to be published)
+-- ===================================================================
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000)
+);
+
+CREATE TABLE mail_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000)
+);
+
+CREATE INDEX idx_mail_outbox_next_attempt ON mail_outbox(next_attempt_at);
+
 -- ===================================================================
 -- END OF SCHEMA
 -- ===================================================================
@@ -0,0 +1,178 @@
+package com.uber.backend.auth;
+
+import com.uber.backend.auth.infrastructure.security.AccountDeletionListener;
+import com.uber.backend.auth.infrastructure.security.AccountStatusCache;
+import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the cached account check of claim-based authentication.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountStatusCacheTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private AccountStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now.get());
+            }
+        };
+        cache = new AccountStatusCache(jdbcTemplate, Duration.ofSeconds(60), 2, clock);
+    }
+
+    private void givenAccountCount(int count) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any())).thenReturn(count);
+    }
+
+    @Test
+    void givenRepeatedChecksWithinTtl_whenChecked_thenQueriedOnce() {
+        // Given
+        givenAccountCount(1);
+
+        // When
+        boolean first = cache.isActive(1L, "a@example.com");
+        boolean second = cache.isActive(1L, "a@example.com");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), any(), any());
+    }
+
+    @Test
+    void givenTtlElapsed_whenChecked_thenDeletedAccountRejected() {
+        // Given
+        givenAccountCount(1);
+        cache.isActive(1L, "a@example.com");
+        givenAccountCount(0);
+        now.addAndGet(61_000);
+
+        // When / Then
+        assertFalse(cache.isActive(1L, "a@example.com"));
+    }
+
+    @Test
+    void givenDifferentEmail_whenChecked_thenQueriedAgain() {
+        // Given
+        givenAccountCount(1);
+        cache.isActive(1L, "a@example.com");
+
+        // When
+        cache.isActive(1L, "b@example.com");
+
+        // Then
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Integer.class), any(), any());
+    }
+
+    @Test
+    void givenMoreUsersThanMaxEntries_whenChecked_thenLeastRecentlyUsedEvicted() {
+        // Given
+        givenAccountCount(1);
+
+        // When
+        cache.isActive(1L, "a@example.com");
+        cache.isActive(2L, "b@example.com");
+        cache.isActive(3L, "c@example.com");
+
+        // Then
+        assertEquals(2, cache.size());
+    }
+
+    @Nested
+    class AccountDeletionTests {
+
+        private AccountDeletionListener listener;
+        private PassengerEntity account;
+
+        @BeforeEach
+        void setUp() {
+            listener = new AccountDeletionListener(cache);
+            account = new PassengerEntity();
+            account.setId(1L);
+            givenAccountCount(1);
+            cache.isActive(1L, "a@example.com");
+        }
+
+        @AfterEach
+        void tearDown() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        void givenDeleteInTransaction_whenCommitted_thenEvictedOnlyAfterCommit() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            listener.onDelete(account);
+            assertEquals(1, cache.size(), "Cache must not change before commit");
+            TransactionSynchronizationUtils.triggerAfterCommit();
+
+            // Then
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        void givenDeleteInTransaction_whenRolledBack_thenStillCached() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            listener.onDelete(account);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Then
+            assertEquals(1, cache.size());
+        }
+
+        @Test
+        void givenNoTransaction_whenDeleted_thenEvictedImmediately() {
+            // When
+            listener.onDelete(account);
+
+            // Then
+            assertEquals(0, cache.size());
+        }
+    }
+}
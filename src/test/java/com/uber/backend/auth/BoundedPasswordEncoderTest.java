@@ -0,0 +1,172 @@
+package com.uber.backend.auth;
+
+import com.uber.backend.auth.infrastructure.security.BoundedPasswordEncoder;
+import com.uber.backend.auth.infrastructure.security.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for password hashing on a bounded pool and re-hashing on login.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Nested
+    class Hashing {
+
+        @Test
+        void givenPassword_whenEncodedAndMatched_thenDelegatedAndTimed() {
+            // Given
+            encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, meterRegistry);
+
+            // When
+            String hash = encoder.encode("Password123");
+
+            // Then
+            assertTrue(encoder.matches("Password123", hash));
+            assertFalse(encoder.matches("wrong", hash));
+            assertEquals(1, meterRegistry.timer("auth.password.hashing", "operation", "encode").count());
+            assertEquals(2, meterRegistry.timer("auth.password.hashing", "operation", "matches").count());
+        }
+
+        @Test
+        void givenPoolAndQueueFull_whenHashing_thenRejectedFast() throws Exception {
+            // Given: one thread busy and one call queued behind it
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            PasswordEncoder slow = mock(PasswordEncoder.class);
+            when(slow.encode(any())).thenAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "hash";
+            });
+            encoder = new BoundedPasswordEncoder(slow, 1, 1, meterRegistry);
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                Future<String> running = callers.submit(() -> encoder.encode("a"));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                Future<String> queued = callers.submit(() -> encoder.encode("b"));
+                waitUntilQueued();
+
+                // When / Then
+                assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+                release.countDown();
+                assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+                assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+                assertEquals(1, meterRegistry.counter("auth.password.hashing.rejected").count());
+            } finally {
+                release.countDown();
+                callers.shutdownNow();
+            }
+        }
+
+        @Test
+        void givenDelegateFails_whenHashing_thenOriginalExceptionThrown() {
+            // Given
+            PasswordEncoder failing = mock(PasswordEncoder.class);
+            when(failing.matches(any(), any())).thenThrow(new IllegalArgumentException("Encoded password does not look like BCrypt"));
+            encoder = new BoundedPasswordEncoder(failing, 1, 1, meterRegistry);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> encoder.matches("a", "not-bcrypt"));
+        }
+
+        private void waitUntilQueued() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("auth.password.hashing.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    @Nested
+    class RehashOnLogin {
+
+        @Mock
+        private UserDetailsService userDetailsService;
+
+        @Mock
+        private UserDetailsPasswordService userDetailsPasswordService;
+
+        private DaoAuthenticationProvider provider;
+
+        @BeforeEach
+        void setUp() {
+            encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, meterRegistry);
+            provider = new DaoAuthenticationProvider();
+            provider.setUserDetailsService(userDetailsService);
+            provider.setPasswordEncoder(encoder);
+            provider.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
+
+        private void givenStoredHash(String hash) {
+            UserDetails user = User.builder().username("rider@example.com").password(hash).authorities(List.of()).build();
+            when(userDetailsService.loadUserByUsername("rider@example.com")).thenReturn(user);
+        }
+
+        @Test
+        void givenHashBelowConfiguredStrength_whenLoggedIn_thenPasswordRehashed() {
+            // Given
+            givenStoredHash(new BCryptPasswordEncoder(4).encode("Password123"));
+            when(userDetailsPasswordService.updatePassword(any(), anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            provider.authenticate(new UsernamePasswordAuthenticationToken("rider@example.com", "Password123"));
+
+            // Then
+            verify(userDetailsPasswordService).updatePassword(any(), argThat(hash -> hash.startsWith("$2a$05$")));
+        }
+
+        @Test
+        void givenHashAtConfiguredStrength_whenLoggedIn_thenPasswordKept() {
+            // Given
+            givenStoredHash(new BCryptPasswordEncoder(5).encode("Password123"));
+
+            // When
+            provider.authenticate(new UsernamePasswordAuthenticationToken("rider@example.com", "Password123"));
+
+            // Then
+            verifyNoInteractions(userDetailsPasswordService);
+        }
+    }
+}
@@ -1,40 +1,34 @@
 package com.uber.backend.auth;
 
 import com.uber.backend.auth.application.service.EmailService;
-import org.junit.jupiter.api.BeforeEach;
+import com.uber.backend.shared.domain.port.MailOutboxPort;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Test suite for EmailService.
- * Tests email sending functionality with verification codes.
+ * Tests that verification emails are queued in the mail outbox with the right content.
+ * Delivery and SMTP failures are covered by MailDispatcherTest.
  */
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxPort mailOutbox;
 
     @InjectMocks
     private EmailService emailService;
 
-    @BeforeEach
-    void setUp() {
-        // Default behavior: mail sending succeeds
-    }
-
     @Test
-    void givenValidEmailAndCode_whenSendVerificationEmail_thenSuccess() {
+    void givenValidEmailAndCode_whenSendVerificationEmail_thenQueued() {
         // Arrange
         String recipientEmail = "test@example.com";
         String verificationCode = "123456";
@@ -43,17 +37,14 @@ class EmailServiceTest {
         emailService.sendVerificationEmail(recipientEmail, verificationCode);
 
         // Assert
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-
-        SimpleMailMessage capturedMessage = messageCaptor.getValue();
-        assertNotNull(capturedMessage);
-        assertEquals(recipientEmail, capturedMessage.getTo()[0]);
-        assertEquals("Verify Your Email - MJT Rides", capturedMessage.getSubject());
-        assertNotNull(capturedMessage.getText());
-        assertTrue(capturedMessage.getText().contains(verificationCode));
-        assertTrue(capturedMessage.getText().contains("MJT Rides"));
-        assertTrue(capturedMessage.getText().contains("15 minutes"));
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mailOutbox).enqueue(eq(recipientEmail), eq("Verify Your Email - MJT Rides"), bodyCaptor.capture());
+
+        String body = bodyCaptor.getValue();
+        assertNotNull(body);
+        assertTrue(body.contains(verificationCode));
+        assertTrue(body.contains("MJT Rides"));
+        assertTrue(body.contains("15 minutes"));
     }
 
     @Test
@@ -68,31 +59,23 @@ class EmailServiceTest {
         emailService.sendVerificationEmail(email, code2);
 
         // Assert
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(2)).send(messageCaptor.capture());
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mailOutbox, times(2)).enqueue(eq(email), anyString(), bodyCaptor.capture());
 
-        var messages = messageCaptor.getAllValues();
-        assertTrue(messages.get(0).getText().contains(code1));
-        assertTrue(messages.get(1).getText().contains(code2));
+        var bodies = bodyCaptor.getAllValues();
+        assertTrue(bodies.get(0).contains(code1));
+        assertTrue(bodies.get(1).contains(code2));
     }
 
     @Test
-    void givenMailSenderThrowsException_whenSendVerificationEmail_thenRuntimeExceptionThrown() {
-        // Arrange
-        String recipientEmail = "test@example.com";
-        String verificationCode = "123456";
-
-        doThrow(new RuntimeException("SMTP server unavailable"))
-                .when(mailSender).send(any(SimpleMailMessage.class));
+    void givenOutboxFails_whenSendVerificationEmail_thenExceptionPropagates() {
+        // Arrange - the caller's transaction must roll back with the verification code
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(mailOutbox).enqueue(anyString(), anyString(), anyString());
 
         // Act & Assert
-        RuntimeException exception = assertThrows(
-                RuntimeException.class,
-                () -> emailService.sendVerificationEmail(recipientEmail, verificationCode)
-        );
-
-        assertEquals("Failed to send verification email", exception.getMessage());
-        assertNotNull(exception.getCause());
+        assertThrows(IllegalStateException.class,
+                () -> emailService.sendVerificationEmail("test@example.com", "123456"));
     }
 
     @Test
@@ -105,11 +88,10 @@ class EmailServiceTest {
         emailService.sendVerificationEmail(recipientEmail, verificationCode);
 
         // Assert
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mailOutbox).enqueue(eq(recipientEmail), anyString(), bodyCaptor.capture());
 
-        SimpleMailMessage message = messageCaptor.getValue();
-        String emailText = message.getText();
+        String emailText = bodyCaptor.getValue();
 
         // Check for key content
         assertTrue(emailText.contains("Welcome to MJT Rides"));
@@ -120,7 +102,7 @@ class EmailServiceTest {
     }
 
     @Test
-    void givenDifferentEmails_whenSendVerificationEmail_thenEachSentToCorrectRecipient() {
+    void givenDifferentEmails_whenSendVerificationEmail_thenEachQueuedForCorrectRecipient() {
         // Arrange
         String email1 = "user1@example.com";
         String email2 = "user2@example.com";
@@ -131,11 +113,11 @@ class EmailServiceTest {
         emailService.sendVerificationEmail(email2, code);
 
         // Assert
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(2)).send(messageCaptor.capture());
+        ArgumentCaptor<String> recipientCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mailOutbox, times(2)).enqueue(recipientCaptor.capture(), anyString(), anyString());
 
-        var messages = messageCaptor.getAllValues();
-        assertEquals(email1, messages.get(0).getTo()[0]);
-        assertEquals(email2, messages.get(1).getTo()[0]);
+        var recipients = recipientCaptor.getAllValues();
+        assertEquals(email1, recipients.get(0));
+        assertEquals(email2, recipients.get(1));
     }
 }
@@ -0,0 +1,184 @@
+package com.uber.backend.auth;
+
+import com.uber.backend.auth.domain.enums.JwtPrincipalMode;
+import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.AccountStatusCache;
+import com.uber.backend.auth.infrastructure.security.JwtAuthenticationFilter;
+import com.uber.backend.auth.infrastructure.security.JwtPrincipal;
+import com.uber.backend.auth.infrastructure.security.JwtService;
+import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for authenticating requests from JWT claims or from the database.
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET =
+            "dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW5zLW1pbmltdW0tMjU2LWJpdHMtcmVxdWlyZWQtZm9yLWhzMjU2LWFsZ29yaXRobQ==";
+    private static final String EMAIL = "driver@example.com";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, accountStatusCache);
+        user = User.builder()
+                .username(EMAIL)
+                .password("hashed")
+                .authorities(List.of(new SimpleGrantedAuthority(Role.DRIVER.getAuthority())))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest request;
+
+    private Authentication authenticate(String token) throws Exception {
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Nested
+    class ClaimsMode {
+
+        @Test
+        void givenValidToken_whenFiltered_thenPrincipalBuiltFromClaimsWithoutLoadingAccount() throws Exception {
+            // Given
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+            when(accountStatusCache.isActive(7L, EMAIL)).thenReturn(true);
+
+            // When
+            Authentication authentication = authenticate(token);
+
+            // Then
+            assertNotNull(authentication);
+            assertEquals(new JwtPrincipal(7L, EMAIL, Role.DRIVER), authentication.getPrincipal());
+            assertEquals(EMAIL, authentication.getName());
+            assertEquals(List.of(new SimpleGrantedAuthority("ROLE_DRIVER")), List.copyOf(authentication.getAuthorities()));
+            verifyNoInteractions(userDetailsService);
+        }
+
+        @Test
+        void givenValidToken_whenFiltered_thenClaimsAttachedForControllers() throws Exception {
+            // Given
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+            when(accountStatusCache.isActive(7L, EMAIL)).thenReturn(true);
+            authenticate(token);
+
+            // When
+            Long userId = new JwtUtil(jwtService).extractUserIdFromRequest(request);
+
+            // Then
+            assertEquals(7L, userId);
+            assertInstanceOf(Claims.class, request.getAttribute(JwtService.CLAIMS_ATTRIBUTE));
+        }
+
+        @Test
+        void givenDeletedAccount_whenFiltered_thenNotAuthenticated() throws Exception {
+            // Given
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+            when(accountStatusCache.isActive(7L, EMAIL)).thenReturn(false);
+
+            // When / Then
+            assertNull(authenticate(token));
+        }
+
+        @Test
+        void givenAccountCheckDisabled_whenFiltered_thenNoDatabaseAccess() throws Exception {
+            // Given
+            ReflectionTestUtils.setField(filter, "accountCheckEnabled", false);
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+
+            // When / Then
+            assertNotNull(authenticate(token));
+            verifyNoInteractions(accountStatusCache, userDetailsService);
+        }
+
+        @Test
+        void givenTamperedToken_whenFiltered_thenNotAuthenticated() throws Exception {
+            // Given
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+            String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+            // When / Then
+            assertNull(authenticate(tampered));
+            verifyNoInteractions(accountStatusCache);
+        }
+
+        @Test
+        void givenTokenWithoutRole_whenFiltered_thenNotAuthenticated() throws Exception {
+            // Given
+            String token = jwtService.generateToken(Map.of("userId", 7L), user);
+
+            // When / Then
+            assertNull(authenticate(token));
+        }
+    }
+
+    @Nested
+    class DatabaseMode {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(filter, "principalMode", JwtPrincipalMode.DATABASE);
+        }
+
+        @Test
+        void givenValidToken_whenFiltered_thenAccountLoaded() throws Exception {
+            // Given
+            String token = jwtService.generateToken(user, 7L, Role.DRIVER.name());
+            when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+
+            // When
+            Authentication authentication = authenticate(token);
+
+            // Then
+            assertNotNull(authentication);
+            assertSame(user, authentication.getPrincipal());
+            verify(userDetailsService).loadUserByUsername(EMAIL);
+            verifyNoInteractions(accountStatusCache);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.uber.backend.auth;
+
+import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for token verification with the cached key, parser and verified claims.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET =
+            "dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW5zLW1pbmltdW0tMjU2LWJpdHMtcmVxdWlyZWQtZm9yLWhzMjU2LWFsZ29yaXRobQ==";
+
+    private JwtService jwtService;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+        user = User.builder().username("rider@example.com").password("hashed").authorities(List.of()).build();
+    }
+
+    @Test
+    void givenSameTokenTwice_whenParsed_thenVerifiedClaimsReused() {
+        // Given
+        String token = jwtService.generateToken(user, 3L, Role.PASSENGER.name());
+
+        // When
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(3L, jwtService.extractUserId(token));
+        assertEquals("PASSENGER", jwtService.extractRole(token));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void givenCacheDisabled_whenParsed_thenVerifiedEveryTime() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxEntries", 0);
+        String token = jwtService.generateToken(user, 3L, Role.PASSENGER.name());
+
+        // When
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first.getSubject(), second.getSubject());
+    }
+
+    @Test
+    void givenMoreTokensThanCacheLimit_whenParsed_thenCacheTrimmed() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxEntries", 8);
+
+        // When
+        for (long userId = 1; userId <= 20; userId++) {
+            jwtService.parseClaims(jwtService.generateToken(user, userId, Role.PASSENGER.name()));
+        }
+
+        // Then
+        assertTrue(jwtService.getClaimsCacheSize() <= 8);
+    }
+
+    @Test
+    void givenConcurrentRequests_whenParsed_thenEveryTokenVerified() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxEntries", 16);
+        List<String> tokens = new ArrayList<>();
+        for (long userId = 1; userId <= 64; userId++) {
+            tokens.add(jwtService.generateToken(user, userId, Role.PASSENGER.name()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Long>> userIds = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String token = tokens.get(i % tokens.size());
+            userIds.add(executor.submit(() -> jwtService.extractUserId(token)));
+        }
+
+        // Then
+        for (int i = 0; i < userIds.size(); i++) {
+            assertEquals((long) (i % tokens.size()) + 1, userIds.get(i).get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertTrue(jwtService.getClaimsCacheSize() <= 16 + 8);
+    }
+
+    @Test
+    void givenTamperedToken_whenParsed_thenRejected() {
+        // Given
+        String token = jwtService.generateToken(user, 3L, Role.PASSENGER.name());
+        jwtService.parseClaims(token);
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        // When / Then
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(tampered));
+    }
+
+    @Test
+    void givenExpiredToken_whenParsed_thenRejected() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "expiration", -1_000L);
+        String token = jwtService.generateToken(user, 3L, Role.PASSENGER.name());
+
+        // When / Then
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseClaims(token));
+    }
+}
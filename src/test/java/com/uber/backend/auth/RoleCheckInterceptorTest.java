@@ -0,0 +1,92 @@
+package com.uber.backend.auth;
+
+import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.JwtService;
+import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import com.uber.backend.auth.infrastructure.security.RequiresRole;
+import com.uber.backend.auth.infrastructure.security.RoleCheckInterceptor;
+import com.uber.backend.ride.application.exception.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for claims-based role checks on controller methods.
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleCheckInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private RoleCheckInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RoleCheckInterceptor(new JwtUtil(jwtService));
+    }
+
+    static class SampleController {
+
+        @RequiresRole(value = Role.DRIVER, message = "Only drivers can accept rides. Please log in as a driver.")
+        public void driversOnly() {
+        }
+
+        public void anyone() {
+        }
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+
+    private static MockHttpServletRequest requestWithRole(Role role) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Claims claims = Jwts.claims().add("userId", 7L).add("role", role.name()).build();
+        request.setAttribute(JwtService.CLAIMS_ATTRIBUTE, claims);
+        return request;
+    }
+
+    @Test
+    void givenMatchingRoleClaim_whenHandled_thenAllowedWithoutLookup() throws Exception {
+        // When
+        boolean allowed = interceptor.preHandle(requestWithRole(Role.DRIVER), new MockHttpServletResponse(), handler("driversOnly"));
+
+        // Then
+        assertTrue(allowed);
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void givenOtherRoleClaim_whenHandled_thenUnauthorizedWithMethodMessage() throws Exception {
+        // Given
+        MockHttpServletRequest request = requestWithRole(Role.PASSENGER);
+        HandlerMethod handler = handler("driversOnly");
+
+        // When
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+
+        // Then
+        assertEquals("Only drivers can accept rides. Please log in as a driver.", exception.getMessage());
+    }
+
+    @Test
+    void givenUnannotatedMethod_whenHandled_thenAllowedWithoutReadingClaims() throws Exception {
+        // When
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("anyone"));
+
+        // Then
+        assertTrue(allowed);
+    }
+}
@@ -0,0 +1,101 @@
+package com.uber.backend.domain.driver;
+
+import com.uber.backend.driver.domain.matching.HungarianAssignmentSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the min-cost assignment solver.
+ */
+class HungarianAssignmentSolverTest {
+
+    @Test
+    void givenSquareMatrix_whenSolve_thenOptimalAssignment() {
+        // Given - greedy would pick (0,0) first and end up with 1 + 10 = 11
+        double[][] costs = {
+                {1, 2},
+                {2, 10}
+        };
+
+        // When
+        int[] assignment = HungarianAssignmentSolver.solve(costs);
+
+        // Then
+        assertArrayEquals(new int[]{1, 0}, assignment);
+    }
+
+    @Test
+    void givenMoreColumnsThanRows_whenSolve_thenEachRowGetsDistinctColumn() {
+        // Given
+        double[][] costs = {
+                {5, 1, 9},
+                {5, 2, 9}
+        };
+
+        // When
+        int[] assignment = HungarianAssignmentSolver.solve(costs);
+
+        // Then
+        assertEquals(6, costs[0][assignment[0]] + costs[1][assignment[1]]);
+        assertNotEquals(assignment[0], assignment[1]);
+    }
+
+    @Test
+    void givenMoreRowsThanColumns_whenSolve_thenThrowsException() {
+        // Given
+        double[][] costs = {{1}, {2}};
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> HungarianAssignmentSolver.solve(costs));
+    }
+
+    @Test
+    void givenEmptyMatrix_whenSolve_thenEmptyAssignment() {
+        // When & Then
+        assertEquals(0, HungarianAssignmentSolver.solve(new double[0][0]).length);
+    }
+
+    @Test
+    void givenRandomMatrices_whenSolve_thenMatchesBruteForce() {
+        // Given
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(5);
+            int columns = rows + random.nextInt(3);
+            double[][] costs = new double[rows][columns];
+            for (double[] row : costs) {
+                for (int j = 0; j < columns; j++) {
+                    row[j] = random.nextInt(100);
+                }
+            }
+
+            // When
+            int[] assignment = HungarianAssignmentSolver.solve(costs);
+
+            // Then
+            double total = 0;
+            for (int i = 0; i < rows; i++) {
+                total += costs[i][assignment[i]];
+            }
+            assertEquals(bruteForce(costs, 0, new boolean[columns]), total, 1e-9);
+        }
+    }
+
+    private static double bruteForce(double[][] costs, int row, boolean[] used) {
+        if (row == costs.length) {
+            return 0;
+        }
+        double best = Double.MAX_VALUE;
+        for (int j = 0; j < costs[row].length; j++) {
+            if (!used[j]) {
+                used[j] = true;
+                best = Math.min(best, costs[row][j] + bruteForce(costs, row + 1, used));
+                used[j] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,117 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.application.service.PollAvailableDriversService;
+import com.uber.backend.driver.domain.enums.DispatchMode;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.infrastructure.adapter.HaversineDistanceAdapter;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares greedy and batch dispatch on synthetic clustered city workloads.
+ * Both modes see the same rides and drivers; batch mode must never need more total pickup distance.
+ */
+class BatchAssignmentBenchmarkTest {
+
+    // Brussels-sized area with a few hotspots (stations, centre)
+    private static final double[][] HOTSPOTS = {
+            {50.8466, 4.3528}, {50.8358, 4.3365}, {50.8603, 4.3618}, {50.8386, 4.3758}
+    };
+
+    private record Result(int matched, double totalPickupKm) {}
+
+    @ParameterizedTest(name = "{0} rides, {1} drivers")
+    @CsvSource({"20, 20", "50, 40", "100, 120", "150, 100"})
+    void givenClusteredWorkload_whenBatchDispatch_thenTotalPickupDistanceNotWorseThanGreedy(int rides, int drivers) {
+        // Given
+        long seed = 31L * rides + drivers;
+
+        // When
+        Result greedy = run(DispatchMode.GREEDY, seed, rides, drivers);
+        Result batch = run(DispatchMode.BATCH, seed, rides, drivers);
+
+        // Then
+        assertEquals(greedy.matched(), batch.matched());
+        assertTrue(batch.totalPickupKm() <= greedy.totalPickupKm() + 1e-9);
+    }
+
+    private Result run(DispatchMode mode, long seed, int rideCount, int driverCount) {
+        Random random = new Random(seed);
+        DriverRepository driverRepository = mock(DriverRepository.class);
+        RideRepository rideRepository = mock(RideRepository.class);
+        DriverLocationIndex index = new DriverLocationIndex(0.01, 50);
+
+        Map<Long, DriverEntity> drivers = new HashMap<>();
+        for (long id = 1; id <= driverCount; id++) {
+            DriverEntity driver = new DriverEntity();
+            driver.setId(id);
+            driver.setIsAvailable(true);
+            driver.setCurrentLocation(randomLocation(random, 0.02));
+            VehicleEntity vehicle = new VehicleEntity();
+            vehicle.setType(RideType.UBER_X);
+            driver.setCurrentVehicle(vehicle);
+            drivers.put(id, driver);
+            index.upsert(id, driver.getCurrentLocation().latitude(), driver.getCurrentLocation().longitude(), RideType.UBER_X);
+        }
+
+        List<RideEntity> rides = new ArrayList<>();
+        for (long id = 1; id <= rideCount; id++) {
+            RideEntity ride = new RideEntity();
+            ride.setId(id);
+            ride.setStatus(RideStatus.REQUESTED);
+            ride.setRideType(RideType.UBER_X);
+            ride.setPickupLocation(randomLocation(random, 0.008));
+            rides.add(ride);
+        }
+
+        when(rideRepository.claimUnmatchedInShard(anyInt(), anyInt(), anyDouble(), anyInt())).thenReturn(rides);
+        when(driverRepository.findAvailableByIdForUpdate(any(), any())).thenAnswer(invocation -> Optional.ofNullable(drivers.get(invocation.<Long>getArgument(0))));
+
+        PollAvailableDriversService service = new PollAvailableDriversService(driverRepository, rideRepository, index,
+                mock(DriverAddressResolver.class), mock(DriverLocationStore.class),
+                mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "dispatchMode", mode);
+        service.pollForAvailableDriversForAllRides();
+
+        int matched = 0;
+        double total = 0;
+        for (RideEntity ride : rides) {
+            if (ride.getDriver() != null) {
+                matched++;
+                Location from = ride.getDriver().getCurrentLocation();
+                total += HaversineDistanceAdapter.distanceKm(from.latitude(), from.longitude(),
+                        ride.getPickupLocation().latitude(), ride.getPickupLocation().longitude());
+            }
+        }
+        return new Result(matched, total);
+    }
+
+    private static Location randomLocation(Random random, double spreadDegrees) {
+        double[] hotspot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+        return new Location(hotspot[0] + random.nextGaussian() * spreadDegrees,
+                hotspot[1] + random.nextGaussian() * spreadDegrees, "Synthetic");
+    }
+}
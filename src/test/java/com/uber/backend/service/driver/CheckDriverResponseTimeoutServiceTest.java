@@ -5,9 +5,11 @@ import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
 import com.uber.backend.ride.domain.enums.RideStatus;
 import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
 import com.uber.backend.shared.domain.valueobject.Location;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,10 +17,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,9 +40,32 @@ class CheckDriverResponseTimeoutServiceTest {
     @Mock
     private RideRepository rideRepository;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private OptimisticRetryTemplate optimisticRetry;
+
     @InjectMocks
     private CheckDriverResponseTimeoutService timeoutService;
 
+    @BeforeEach
+    void runRetriedWorkDirectly() {
+        lenient().when(optimisticRetry.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    /**
+     * Timed-out rides returned by the sweep query, loadable again by ID as each is timed out.
+     */
+    private void givenTimedOutRides(RideEntity... rides) {
+        when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(rides));
+        for (RideEntity ride : rides) {
+            lenient().when(rideRepository.findById(ride.getId())).thenReturn(Optional.of(ride));
+        }
+    }
+
     @Nested
     class TimeoutDetectionTests {
 
@@ -70,8 +98,7 @@ class CheckDriverResponseTimeoutServiceTest {
         @Test
         void givenTimedOutInvitation_whenChecking_thenRideSetToDenied() {
             // Given
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -83,13 +110,13 @@ class CheckDriverResponseTimeoutServiceTest {
             assertEquals(RideStatus.DENIED, timedOutRide.getStatus());
             assertNull(timedOutRide.getDriver());
             assertNull(timedOutRide.getInvitedAt());
+            verify(publisher).publishEvent(new RideDeniedEvent(100L, 2L));
         }
 
         @Test
         void givenTimedOutInvitation_whenChecking_thenDriverAddedToDeniedList() {
             // Given
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -116,8 +143,7 @@ class CheckDriverResponseTimeoutServiceTest {
             timedOutRide2.setDropoffLocation(new Location(50.8467, 4.3525, "Dropoff"));
             timedOutRide2.setRideType(RideType.UBER_X);
 
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Arrays.asList(timedOutRide, timedOutRide2));
+            givenTimedOutRides(timedOutRide, timedOutRide2);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -149,8 +175,7 @@ class CheckDriverResponseTimeoutServiceTest {
         void givenDriverAlreadyInDeniedList_whenChecking_thenNotAddedTwice() {
             // Given
             timedOutRide.getDeniedDriverIds().add(2L); // Driver already denied once
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -165,8 +190,7 @@ class CheckDriverResponseTimeoutServiceTest {
         void givenRideWithNoDriver_whenChecking_thenStillProcessed() {
             // Given
             timedOutRide.setDriver(null); // Edge case: no driver assigned
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -222,8 +246,7 @@ class CheckDriverResponseTimeoutServiceTest {
             borderlineRide.setDropoffLocation(new Location(50.8467, 4.3525, "Dropoff"));
             borderlineRide.setRideType(RideType.UBER_X);
 
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(borderlineRide));
+            givenTimedOutRides(borderlineRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -264,8 +287,7 @@ class CheckDriverResponseTimeoutServiceTest {
         void givenInvitedStatus_whenTimedOut_thenChangesToDenied() {
             // Given
             assertEquals(RideStatus.INVITED, timedOutRide.getStatus());
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -279,8 +301,7 @@ class CheckDriverResponseTimeoutServiceTest {
         void givenDriverAssigned_whenTimedOut_thenDriverCleared() {
             // Given
             assertNotNull(timedOutRide.getDriver());
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -294,8 +315,7 @@ class CheckDriverResponseTimeoutServiceTest {
         void givenInvitedAtSet_whenTimedOut_thenInvitedAtCleared() {
             // Given
             assertNotNull(timedOutRide.getInvitedAt());
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -308,8 +328,7 @@ class CheckDriverResponseTimeoutServiceTest {
         @Test
         void givenCompleteRide_whenTimedOut_thenAllFieldsSetCorrectly() {
             // Given
-            when(rideRepository.findTimedOutInvitations(eq(RideStatus.INVITED), any(LocalDateTime.class)))
-                    .thenReturn(Collections.singletonList(timedOutRide));
+            givenTimedOutRides(timedOutRide);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -329,4 +348,78 @@ class CheckDriverResponseTimeoutServiceTest {
             assertNotNull(timedOutRide.getDropoffLocation());
         }
     }
+
+    @Nested
+    class SingleInvitationTimeoutTests {
+
+        private RideEntity invitedRide;
+
+        @BeforeEach
+        void setUp() {
+            DriverEntity driver = new DriverEntity();
+            driver.setId(2L);
+
+            invitedRide = new RideEntity();
+            invitedRide.setId(100L);
+            invitedRide.setDriver(driver);
+            invitedRide.setStatus(RideStatus.INVITED);
+            invitedRide.setInvitedAt(LocalDateTime.now().minusSeconds(61));
+            invitedRide.setRideType(RideType.UBER_X);
+        }
+
+        @Test
+        void givenExpiredInvitation_whenTimingOut_thenRideDeniedAndEventPublished() {
+            // Given
+            when(rideRepository.findById(100L)).thenReturn(Optional.of(invitedRide));
+
+            // When
+            boolean timedOut = timeoutService.timeOutInvitation(100L);
+
+            // Then
+            assertTrue(timedOut);
+            assertEquals(RideStatus.DENIED, invitedRide.getStatus());
+            assertTrue(invitedRide.getDeniedDriverIds().contains(2L));
+            verify(rideRepository).save(invitedRide);
+            verify(publisher).publishEvent(new RideDeniedEvent(100L, 2L));
+        }
+
+        @Test
+        void givenInvitationNotYetExpired_whenTimingOut_thenNoChanges() {
+            // Given - the driver was re-invited after the timer was armed
+            invitedRide.setInvitedAt(LocalDateTime.now().minusSeconds(5));
+            when(rideRepository.findById(100L)).thenReturn(Optional.of(invitedRide));
+
+            // When
+            boolean timedOut = timeoutService.timeOutInvitation(100L);
+
+            // Then
+            assertFalse(timedOut);
+            assertEquals(RideStatus.INVITED, invitedRide.getStatus());
+            verify(rideRepository, never()).save(any());
+            verifyNoInteractions(publisher);
+        }
+
+        @Test
+        void givenAcceptedRide_whenTimingOut_thenNoChanges() {
+            // Given
+            invitedRide.setStatus(RideStatus.ACCEPTED);
+            when(rideRepository.findById(100L)).thenReturn(Optional.of(invitedRide));
+
+            // When
+            boolean timedOut = timeoutService.timeOutInvitation(100L);
+
+            // Then
+            assertFalse(timedOut);
+            verify(rideRepository, never()).save(any());
+        }
+
+        @Test
+        void givenUnknownRide_whenTimingOut_thenReturnsFalse() {
+            // Given
+            when(rideRepository.findById(100L)).thenReturn(Optional.empty());
+
+            // When / Then
+            assertFalse(timeoutService.timeOutInvitation(100L));
+        }
+    }
 }
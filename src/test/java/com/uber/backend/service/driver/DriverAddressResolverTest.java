@@ -0,0 +1,172 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for background driver address resolution.
+ */
+@ExtendWith(MockitoExtension.class)
+class DriverAddressResolverTest {
+
+    @Mock
+    private GeocodingPort geocodingPort;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DriverLocationStore store;
+    private DriverAddressResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        store = new DriverLocationStore(jdbcTemplate, 500);
+        resolver = new DriverAddressResolver(store, geocodingPort, 2);
+    }
+
+    private void givenMoved(Long driverId, double latitude, double longitude) {
+        store.update(driverId, new Location(latitude, longitude, null));
+        resolver.request(driverId, latitude, longitude);
+    }
+
+    @Test
+    void givenSeveralUpdatesFromOneDriver_whenResolved_thenOnlyLatestPositionGeocoded() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        givenMoved(1L, 50.81, 4.31);
+        givenMoved(1L, 50.82, 4.32);
+        givenMoved(1L, 50.83, 4.33);
+        when(geocodingPort.getAddressFromCoordinates(50.83, 4.33)).thenReturn("Latest street");
+
+        // When
+        int resolved = resolver.resolvePending();
+
+        // Then
+        assertEquals(1, resolved);
+        verify(geocodingPort, times(1)).getAddressFromCoordinates(anyDouble(), anyDouble());
+        assertEquals("Latest street", store.get(1L).address());
+    }
+
+    @Test
+    void givenMoreDriversThanPerTick_whenResolved_thenRateLimited() {
+        // Given
+        for (long id = 1; id <= 5; id++) {
+            store.track(id, new Location(50.80, 4.30, "Start"));
+            givenMoved(id, 50.80 + id * 0.01, 4.30);
+        }
+        when(geocodingPort.getAddressFromCoordinates(anyDouble(), anyDouble())).thenReturn("Somewhere");
+
+        // When
+        int firstTick = resolver.resolvePending();
+
+        // Then
+        assertEquals(2, firstTick);
+        assertEquals(3, resolver.getPendingCount());
+    }
+
+    @Test
+    void givenPendingAddress_whenUpdatePending_thenSampleMarkedPending() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+
+        // When
+        givenMoved(1L, 50.81, 4.31);
+
+        // Then
+        assertTrue(store.get(1L).isAddressPending());
+    }
+
+    @Test
+    void givenDriverMovedDuringLookup_whenResolved_thenAddressNotAttachedToNewPosition() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        givenMoved(1L, 50.81, 4.31);
+        when(geocodingPort.getAddressFromCoordinates(50.81, 4.31)).thenAnswer(invocation -> {
+            store.update(1L, new Location(50.82, 4.32, null));
+            return "Old street";
+        });
+
+        // When
+        resolver.resolvePending();
+
+        // Then
+        assertTrue(store.get(1L).isAddressPending());
+    }
+
+    @Test
+    void givenDriverMovedDuringLookup_whenResolved_thenAddressReplacesOlderOne() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        givenMoved(1L, 50.81, 4.31);
+        when(geocodingPort.getAddressFromCoordinates(50.81, 4.31)).thenAnswer(invocation -> {
+            store.update(1L, new Location(50.82, 4.32, null));
+            return "Old street";
+        });
+
+        // When
+        resolver.resolvePending();
+
+        // Then
+        assertEquals("Old street", store.get(1L).address());
+    }
+
+    @Test
+    void givenStreamingDriver_whenFlushed_thenLastResolvedAddressWritten() {
+        // Given - every lookup finishes after the driver has already moved on
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        int[] lookups = new int[1];
+        when(geocodingPort.getAddressFromCoordinates(anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            double latitude = invocation.getArgument(0);
+            store.update(1L, new Location(latitude + 0.0001, 4.30, null));
+            return "Street " + ++lookups[0];
+        });
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            givenMoved(1L, 50.80 + i * 0.001, 4.30);
+            if (i % 2 == 0) {
+                resolver.resolvePending();
+            }
+            store.flush();
+        }
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(5)).batchUpdate(anyString(), batches.capture());
+        List<Object> addresses = batches.getAllValues().stream().map(rows -> rows.get(0)[2]).toList();
+        assertEquals(List.of("Start", "Street 1", "Street 1", "Street 2", "Street 2"), addresses);
+        assertTrue(store.get(1L).isAddressPending());
+    }
+
+    @Test
+    void givenPendingAddress_whenResolveNow_thenResolvedImmediately() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        givenMoved(1L, 50.81, 4.31);
+        when(geocodingPort.getAddressFromCoordinates(50.81, 4.31)).thenReturn("Now street");
+
+        // When
+        String address = resolver.resolveNow(1L);
+
+        // Then
+        assertEquals("Now street", address);
+        assertEquals(0, resolver.resolvePending());
+    }
+}
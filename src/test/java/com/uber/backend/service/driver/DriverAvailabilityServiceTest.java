@@ -0,0 +1,135 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.application.service.DriverAvailabilityService;
+import com.uber.backend.driver.domain.enums.AddressResolutionMode;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for driver availability and location updates.
+ */
+@ExtendWith(MockitoExtension.class)
+class DriverAvailabilityServiceTest {
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private GeocodingPort geocodingPort;
+
+    @Mock
+    private DriverLocationIndex driverLocationIndex;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DriverLocationStore driverLocationStore;
+    private DriverAvailabilityService service;
+
+    private DriverEntity driver;
+
+    @BeforeEach
+    void setUp() {
+        driverLocationStore = new DriverLocationStore(jdbcTemplate, 500);
+        DriverAddressResolver resolver = new DriverAddressResolver(driverLocationStore, geocodingPort, 1);
+        service = new DriverAvailabilityService(driverRepository, geocodingPort, driverLocationIndex,
+                driverLocationStore, resolver, publisher);
+        ReflectionTestUtils.setField(service, "addressResolutionMode", AddressResolutionMode.ASYNC);
+
+        driver = new DriverEntity();
+        driver.setId(1L);
+        driver.setIsAvailable(true);
+        driver.setCurrentLocation(new Location(50.80, 4.30, null));
+        lenient().when(driverRepository.findById(1L)).thenReturn(Optional.of(driver));
+    }
+
+    @Nested
+    class UpdateLocation {
+
+        @Test
+        void givenInvitedDriver_whenLocationUpdated_thenRejectedAsBeforeWriteBehind() {
+            // Given - invited: marked unavailable and no longer tracked
+            service.updateLocation(1L, 50.81, 4.31);
+            driver.setIsAvailable(false);
+            driverLocationStore.untrack(1L);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> service.updateLocation(1L, 50.82, 4.32));
+            assertFalse(service.updateLocationInBackground(1L, 50.82, 4.32));
+            assertFalse(driverLocationStore.isTracked(1L));
+        }
+
+        @Test
+        void givenDriverAvailableAgain_whenLocationUpdated_thenTrackedAgain() {
+            // Given - the ride ended and the driver was tracked again at their saved position
+            driverLocationStore.track(1L, new Location(50.81, 4.31, "Dropoff"));
+
+            // When
+            service.updateLocation(1L, 50.82, 4.32);
+
+            // Then
+            assertEquals(50.82, driverLocationStore.get(1L).latitude());
+            verify(driverRepository, never()).findById(1L);
+        }
+    }
+
+    @Nested
+    class GoOffline {
+
+        @Test
+        void givenAsyncModeAndPendingAddress_whenGoOffline_thenPersistedWithResolvedAddress() {
+            // Given - online before a restart, so the first update starts tracking without address
+            service.updateLocation(1L, 50.81, 4.31);
+            assertTrue(driverLocationStore.get(1L).isAddressPending());
+            when(geocodingPort.getAddressFromCoordinates(50.81, 4.31)).thenReturn("Rue Neuve 1, Brussels");
+
+            // When
+            service.goOffline(1L);
+
+            // Then
+            ArgumentCaptor<DriverEntity> saved = ArgumentCaptor.forClass(DriverEntity.class);
+            verify(driverRepository).save(saved.capture());
+            Location location = saved.getValue().getCurrentLocation();
+            assertEquals(50.81, location.latitude());
+            assertEquals("Rue Neuve 1, Brussels", location.address());
+            assertFalse(saved.getValue().getIsAvailable());
+            assertFalse(driverLocationStore.isTracked(1L));
+        }
+
+        @Test
+        void givenAddressAlreadyResolved_whenGoOffline_thenNoExtraLookup() {
+            // Given
+            driverLocationStore.track(1L, new Location(50.81, 4.31, "Known street"));
+
+            // When
+            service.goOffline(1L);
+
+            // Then
+            verifyNoInteractions(geocodingPort);
+            assertEquals("Known street", driver.getCurrentLocation().address());
+        }
+    }
+}
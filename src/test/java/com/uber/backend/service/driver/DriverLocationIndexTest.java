@@ -0,0 +1,226 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex.NearbyDriver;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.infrastructure.adapter.HaversineDistanceAdapter;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the in-memory driver location index.
+ * Tests nearest-neighbour lookups and index maintenance.
+ */
+class DriverLocationIndexTest {
+
+    private DriverLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverLocationIndex(0.01, 50);
+    }
+
+    @Test
+    void givenDrivers_whenFindNearest_thenSortedByDistance() {
+        // Given
+        index.upsert(1L, 50.9000, 4.4000, RideType.UBER_X); // ~6 km away
+        index.upsert(2L, 50.8510, 4.3520, RideType.UBER_X); // ~100 m away
+        index.upsert(3L, 50.8600, 4.3600, RideType.UBER_X); // ~1.2 km away
+
+        // When
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 2, id -> true);
+
+        // Then
+        assertEquals(2, nearest.size());
+        assertEquals(2L, nearest.get(0).driverId());
+        assertEquals(3L, nearest.get(1).driverId());
+        assertTrue(nearest.get(0).distanceKm() < nearest.get(1).distanceKm());
+    }
+
+    @Test
+    void givenDriversAtSameDistance_whenFindNearest_thenAllReturned() {
+        // Given
+        index.upsert(1L, 50.8510, 4.3520, RideType.UBER_X);
+        index.upsert(2L, 50.8510, 4.3520, RideType.UBER_X);
+
+        // When
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 5, id -> true);
+
+        // Then
+        assertEquals(2, nearest.size());
+    }
+
+    @Test
+    void givenFilter_whenFindNearest_thenFilteredDriversSkipped() {
+        // Given
+        index.upsert(1L, 50.8510, 4.3520, RideType.UBER_X);
+        index.upsert(2L, 50.8600, 4.3600, RideType.UBER_X);
+
+        // When
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 1, id -> id != 1L);
+
+        // Then
+        assertEquals(1, nearest.size());
+        assertEquals(2L, nearest.get(0).driverId());
+    }
+
+    @Test
+    void givenDriverMoved_whenFindNearest_thenNewPositionUsed() {
+        // Given
+        index.upsert(1L, 50.9000, 4.4000, RideType.UBER_X);
+        index.upsert(2L, 50.8600, 4.3600, RideType.UBER_X);
+
+        // When
+        index.upsert(1L, 50.8505, 4.3520, RideType.UBER_X);
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 1, id -> true);
+
+        // Then
+        assertEquals(1L, nearest.get(0).driverId());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void givenDriverRemoved_whenFindNearest_thenNotReturned() {
+        // Given
+        index.upsert(1L, 50.8510, 4.3520, RideType.UBER_X);
+
+        // When
+        index.remove(1L);
+
+        // Then
+        assertTrue(index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 1, id -> true).isEmpty());
+        assertFalse(index.contains(1L));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    void givenDriverBeyondSearchRadius_whenFindNearest_thenNotReturned() {
+        // Given - Brussels vs. Paris (~260 km)
+        index.upsert(1L, 48.8566, 2.3522, RideType.UBER_X);
+
+        // When
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 1, id -> true);
+
+        // Then
+        assertTrue(nearest.isEmpty());
+    }
+
+    @Test
+    void givenRandomFleet_whenFindNearest_thenMatchesBruteForce() {
+        // Given
+        Random random = new Random(42);
+        double[][] positions = new double[2000][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new double[]{50.80 + random.nextDouble() * 0.15, 4.30 + random.nextDouble() * 0.15};
+            index.upsert((long) i, positions[i][0], positions[i][1], RideType.UBER_X);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double lat = 50.80 + random.nextDouble() * 0.15;
+            double lon = 4.30 + random.nextDouble() * 0.15;
+
+            // When
+            List<NearbyDriver> nearest = index.findNearest(RideType.UBER_X, lat, lon, 3, id -> true);
+
+            // Then - the closest driver equals a brute-force scan
+            long expected = -1;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < positions.length; i++) {
+                double distance = HaversineDistanceAdapter.distanceKm(lat, lon, positions[i][0], positions[i][1]);
+                if (distance < best) {
+                    best = distance;
+                    expected = i;
+                }
+            }
+            assertEquals(3, nearest.size());
+            assertEquals(expected, nearest.get(0).driverId());
+        }
+    }
+
+    @Test
+    void givenDriversOfOtherType_whenFindNearest_thenOnlyMatchingTypeReturned() {
+        // Given
+        index.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+        index.upsert(2L, 50.8600, 4.3600, RideType.UBER_BLACK);
+
+        // When
+        List<NearbyDriver> nearest = index.findNearest(RideType.UBER_BLACK, 50.8500, 4.3520, 5, id -> true);
+
+        // Then
+        assertEquals(1, nearest.size());
+        assertEquals(2L, nearest.get(0).driverId());
+    }
+
+    @Test
+    void givenDriverChangesVehicleType_whenUpsert_thenMovedToNewTypeGrid() {
+        // Given
+        index.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+
+        // When
+        index.upsert(1L, 50.8501, 4.3520, RideType.UBER_BLACK);
+
+        // Then
+        assertTrue(index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 5, id -> true).isEmpty());
+        assertEquals(1, index.findNearest(RideType.UBER_BLACK, 50.8500, 4.3520, 5, id -> true).size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void givenIndexedDriver_whenRetyped_thenPositionKeptUnderNewType() {
+        // Given
+        index.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+
+        // When
+        boolean indexed = index.retype(1L, RideType.UBER_BLACK);
+
+        // Then
+        assertTrue(indexed);
+        assertTrue(index.findNearest(RideType.UBER_X, 50.8500, 4.3520, 5, id -> true).isEmpty());
+        List<NearbyDriver> black = index.findNearest(RideType.UBER_BLACK, 50.8500, 4.3520, 5, id -> true);
+        assertEquals(1, black.size());
+        assertTrue(black.get(0).distanceKm() < 0.05);
+    }
+
+    @Test
+    void givenOfflineDriver_whenRetyped_thenNotIndexed() {
+        // When
+        boolean indexed = index.retype(1L, RideType.UBER_BLACK);
+
+        // Then
+        assertFalse(indexed);
+        assertFalse(index.contains(1L));
+    }
+
+    @Test
+    void givenIndexedDriver_whenRetypedWithoutVehicle_thenRemoved() {
+        // Given
+        index.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+
+        // When
+        index.retype(1L, null);
+
+        // Then
+        assertFalse(index.contains(1L));
+    }
+
+    @Test
+    void givenDriverWithoutVehicle_whenUpsertEntity_thenNotIndexed() {
+        // Given
+        DriverEntity driver = new DriverEntity();
+        driver.setId(1L);
+        driver.setCurrentLocation(new Location(50.8501, 4.3520, "Somewhere"));
+
+        // When
+        index.upsert(driver);
+
+        // Then
+        assertFalse(index.contains(1L));
+    }
+}
@@ -0,0 +1,198 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.domain.event.DriverIndexChangedEvent;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndexUpdater;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.domain.event.DriverInvitedEvent;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for applying driver changes to the location index after commit.
+ * Runs the listener in a minimal Spring context with a transaction manager that only drives
+ * transaction synchronization.
+ */
+@SpringJUnitConfig(DriverLocationIndexUpdaterTest.Config.class)
+class DriverLocationIndexUpdaterTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import(DriverLocationIndexUpdater.class)
+    static class Config {
+
+        @Bean
+        DriverLocationIndex driverLocationIndex() {
+            return new DriverLocationIndex(0.01, 50);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new AbstractPlatformTransactionManager() {
+                @Override
+                protected Object doGetTransaction() {
+                    return new Object();
+                }
+
+                @Override
+                protected void doBegin(Object transaction, TransactionDefinition definition) {
+                }
+
+                @Override
+                protected void doCommit(DefaultTransactionStatus status) {
+                }
+
+                @Override
+                protected void doRollback(DefaultTransactionStatus status) {
+                }
+            };
+        }
+    }
+
+    @MockBean
+    private DriverRepository driverRepository;
+
+    @MockBean
+    private DriverLocationStore driverLocationStore;
+
+    @Autowired
+    private DriverLocationIndex driverLocationIndex;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        driverLocationIndex.clear();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void givenDriverWentOnline_whenTransactionCommits_thenIndexedOnlyAfterCommit() {
+        // When
+        transaction.executeWithoutResult(status -> {
+            publisher.publishEvent(new DriverIndexChangedEvent(1L, 50.85, 4.35, RideType.UBER_X));
+            assertFalse(driverLocationIndex.contains(1L), "Index must not change before commit");
+        });
+
+        // Then
+        assertTrue(driverLocationIndex.contains(1L));
+    }
+
+    @Test
+    void givenDriverWentOnline_whenTransactionRollsBack_thenNeverIndexed() {
+        // When
+        transaction.executeWithoutResult(status -> {
+            publisher.publishEvent(new DriverIndexChangedEvent(1L, 50.85, 4.35, RideType.UBER_X));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertFalse(driverLocationIndex.contains(1L));
+    }
+
+    @Test
+    void givenDriverWentOffline_whenTransactionCommits_thenRemoved() {
+        // Given
+        driverLocationIndex.upsert(1L, 50.85, 4.35, RideType.UBER_X);
+
+        // When
+        transaction.executeWithoutResult(status -> publisher.publishEvent(DriverIndexChangedEvent.removed(1L)));
+
+        // Then
+        assertFalse(driverLocationIndex.contains(1L));
+    }
+
+    @Test
+    void givenVehicleChanged_whenTransactionCommits_thenRetyped() {
+        // Given
+        driverLocationIndex.upsert(1L, 50.85, 4.35, RideType.UBER_X);
+
+        // When
+        transaction.executeWithoutResult(status -> publisher.publishEvent(new DriverVehicleChangedEvent(1L, RideType.UBER_BLACK)));
+
+        // Then
+        assertTrue(driverLocationIndex.findNearest(RideType.UBER_X, 50.85, 4.35, 5, id -> true).isEmpty());
+        assertEquals(1, driverLocationIndex.findNearest(RideType.UBER_BLACK, 50.85, 4.35, 5, id -> true).size());
+    }
+
+    @Test
+    void givenNoTransaction_whenPublished_thenAppliedImmediately() {
+        // When
+        publisher.publishEvent(new DriverIndexChangedEvent(1L, 50.85, 4.35, RideType.UBER_X));
+
+        // Then
+        assertTrue(driverLocationIndex.contains(1L));
+    }
+
+    @Test
+    void givenInvitationRolledBack_whenRestored_thenDriverBackInIndexAndTracked() {
+        // Given - the dispatcher removed the invited driver inside its transaction
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setType(RideType.UBER_X);
+        DriverEntity driver = new DriverEntity();
+        driver.setId(1L);
+        driver.setIsAvailable(true);
+        driver.setCurrentLocation(new Location(50.85, 4.35, "Brussels"));
+        driver.setCurrentVehicle(vehicle);
+        when(driverRepository.findById(1L)).thenReturn(Optional.of(driver));
+        driverLocationIndex.upsert(1L, 50.85, 4.35, RideType.UBER_X);
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            driverLocationIndex.remove(1L);
+            publisher.publishEvent(new DriverInvitedEvent(100L, 1L, LocalDateTime.now()));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertTrue(driverLocationIndex.contains(1L));
+        verify(driverLocationStore).track(1L, driver.getCurrentLocation());
+    }
+
+    @Test
+    void givenInvitationCommitted_whenCompleted_thenDriverStaysOutOfIndex() {
+        // Given
+        driverLocationIndex.upsert(1L, 50.85, 4.35, RideType.UBER_X);
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            driverLocationIndex.remove(1L);
+            publisher.publishEvent(new DriverInvitedEvent(100L, 1L, LocalDateTime.now()));
+        });
+
+        // Then
+        assertFalse(driverLocationIndex.contains(1L));
+        verifyNoInteractions(driverRepository);
+    }
+}
@@ -0,0 +1,134 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.shared.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the write-behind driver location store.
+ */
+@ExtendWith(MockitoExtension.class)
+class DriverLocationStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DriverLocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DriverLocationStore(jdbcTemplate, 2);
+    }
+
+    @Test
+    void givenUntrackedDriver_whenUpdate_thenRejected() {
+        // When
+        boolean updated = store.update(1L, new Location(50.85, 4.35, "Brussels"));
+
+        // Then
+        assertFalse(updated);
+        assertEquals(0, store.getPendingCount());
+    }
+
+    @Test
+    void givenManyUpdates_whenFlush_thenOnlyLatestPositionWrittenInBatches() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        store.track(2L, new Location(50.80, 4.30, "Start"));
+        store.track(3L, new Location(50.80, 4.30, "Start"));
+        for (int i = 0; i < 10; i++) {
+            store.update(1L, new Location(50.80 + i * 0.001, 4.30, "Street " + i));
+        }
+        store.update(2L, new Location(50.81, 4.31, "Other"));
+        store.update(3L, new Location(50.82, 4.32, "Third"));
+
+        // When
+        int written = store.flush();
+
+        // Then
+        assertEquals(3, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        assertEquals("Street 9", store.get(1L).address());
+        assertEquals(0, store.getPendingCount());
+    }
+
+    @Test
+    void givenPositionsWithoutAddress_whenFlush_thenLastKnownAddressKept() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        store.update(1L, new Location(50.81, 4.31, null));
+        store.update(1L, new Location(50.82, 4.32, null));
+
+        // When
+        store.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertArrayEquals(new Object[]{50.82, 4.32, "Start", 1L}, batch.getValue().get(0));
+        assertTrue(store.get(1L).isAddressPending());
+    }
+
+    @Test
+    void givenNothingChanged_whenFlush_thenNoDatabaseWork() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+
+        // When
+        int written = store.flush();
+
+        // Then
+        assertEquals(0, written);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void givenFlushFails_whenFlush_thenUpdatesKeptForRetry() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        store.update(1L, new Location(50.81, 4.31, "Moved"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        store.flush();
+
+        // Then
+        assertEquals(1, store.getPendingCount());
+    }
+
+    @Test
+    void givenPendingUpdate_whenAppliedToEntity_thenEntityCarriesLatestPosition() {
+        // Given
+        store.track(1L, new Location(50.80, 4.30, "Start"));
+        store.update(1L, new Location(50.81, 4.31, "Moved"));
+        DriverEntity driver = new DriverEntity();
+        driver.setId(1L);
+        driver.setCurrentLocation(new Location(50.80, 4.30, "Start"));
+
+        // When
+        store.applyTo(driver);
+
+        // Then
+        assertEquals("Moved", driver.getCurrentLocation().address());
+        assertEquals(0, store.getPendingCount());
+    }
+}
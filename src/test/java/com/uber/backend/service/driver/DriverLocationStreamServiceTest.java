@@ -0,0 +1,218 @@
+package com.uber.backend.service.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.driver.application.command.LocationStreamResult;
+import com.uber.backend.driver.application.exception.LocationStreamLimitException;
+import com.uber.backend.driver.application.service.DriverAvailabilityService;
+import com.uber.backend.driver.application.service.DriverLocationStreamService;
+import com.uber.backend.driver.infrastructure.location.LocationIngestionBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for streamed driver location ingestion.
+ */
+@ExtendWith(MockitoExtension.class)
+class DriverLocationStreamServiceTest {
+
+    private static final long NOW = 1_718_000_000_000L;
+
+    @Mock
+    private DriverAvailabilityService driverAvailabilityService;
+
+    private LocationIngestionBuffer buffer;
+    private SimpleMeterRegistry meterRegistry;
+    private DriverLocationStreamService service;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new LocationIngestionBuffer();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new DriverLocationStreamService(driverAvailabilityService, buffer, new ObjectMapper(),
+                meterRegistry, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), queuedTasks::add);
+        ReflectionTestUtils.setField(service, "maxStreams", 1);
+    }
+
+    private static InputStream stream(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String frame(double lat, double lon, long ts) {
+        return String.format("{\"lat\":%s,\"lon\":%s,\"ts\":%d}", lat, lon, ts);
+    }
+
+    @Nested
+    class Ingest {
+
+        @Test
+        void givenSeveralFrames_whenApplied_thenOnlyLatestPositionUpdated() throws Exception {
+            // Given
+            when(driverAvailabilityService.updateLocationInBackground(1L, 50.83, 4.33)).thenReturn(true);
+            service.ingest(1L, stream(
+                    frame(50.81, 4.31, NOW - 300),
+                    frame(50.82, 4.32, NOW - 200),
+                    frame(50.83, 4.33, NOW - 100)));
+
+            // When
+            int applied = service.applyPending();
+
+            // Then
+            assertEquals(1, applied);
+            verify(driverAvailabilityService, times(1)).updateLocationInBackground(anyLong(), anyDouble(), anyDouble());
+        }
+
+        @Test
+        void givenInvalidFrames_whenIngested_thenRejectedAndStreamContinues() throws Exception {
+            // When
+            LocationStreamResult result = service.ingest(1L, stream(
+                    "not json",
+                    frame(91.0, 4.31, NOW),
+                    "{\"lat\":50.8}",
+                    frame(50.81, 4.31, NOW + 60_000),
+                    frame(50.81, 4.31, NOW - 60_000),
+                    "",
+                    "{\"lat\":50.84,\"lon\":4.34}"));
+
+            // Then
+            assertEquals(new LocationStreamResult(1, 5), result);
+            assertEquals(1, buffer.getPendingCount());
+            assertEquals(5, meterRegistry.counter("driver.location.frames", "result", "rejected").count());
+        }
+
+        @Test
+        void givenOutOfOrderFrame_whenIngested_thenRejected() throws Exception {
+            // When
+            LocationStreamResult result = service.ingest(1L, stream(
+                    frame(50.82, 4.32, NOW - 100),
+                    frame(50.81, 4.31, NOW - 200)));
+
+            // Then
+            assertEquals(new LocationStreamResult(1, 1), result);
+        }
+
+        @Test
+        void givenFrameOlderThanAppliedPosition_whenIngested_thenRejected() throws Exception {
+            // Given
+            when(driverAvailabilityService.updateLocationInBackground(1L, 50.82, 4.32)).thenReturn(true);
+            service.ingest(1L, stream(frame(50.82, 4.32, NOW - 100)));
+            service.applyPending();
+
+            // When
+            LocationStreamResult result = service.ingest(1L, stream(frame(50.81, 4.31, NOW - 200)));
+
+            // Then
+            assertEquals(new LocationStreamResult(0, 1), result);
+        }
+
+        @Test
+        void givenOverlongLine_whenIngested_thenRejected() throws Exception {
+            // When
+            LocationStreamResult result = service.ingest(1L, stream(
+                    "{\"lat\":50.81,\"lon\":4.31,\"pad\":\"" + "x".repeat(500) + "\"}",
+                    frame(50.82, 4.32, NOW)));
+
+            // Then
+            assertEquals(new LocationStreamResult(1, 1), result);
+        }
+
+        @Test
+        void givenOfflineDriver_whenIngested_thenRejectedBeforeReading() {
+            // Given
+            doThrow(new IllegalArgumentException("Cannot update location while offline. Please go online first."))
+                    .when(driverAvailabilityService).requireOnline(1L);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> service.ingest(1L, stream(frame(50.81, 4.31, NOW))));
+            assertEquals(0, buffer.getPendingCount());
+        }
+    }
+
+    @Nested
+    class IngestAsync {
+
+        @Test
+        void givenStream_whenIngestedAsync_thenReadOnStreamExecutorNotCaller() throws Exception {
+            // When
+            CompletableFuture<LocationStreamResult> result = service.ingestAsync(1L, stream(frame(50.81, 4.31, NOW)));
+
+            // Then - nothing is read until the executor runs the stream
+            assertFalse(result.isDone());
+            assertEquals(1, service.getOpenStreamCount());
+            queuedTasks.remove(0).run();
+            assertEquals(new LocationStreamResult(1, 0), result.get());
+            assertEquals(0, service.getOpenStreamCount());
+        }
+
+        @Test
+        void givenMaxStreamsOpen_whenIngestedAsync_thenRejectedUntilOneCloses() {
+            // Given - max streams is 1
+            service.ingestAsync(1L, stream(frame(50.81, 4.31, NOW)));
+
+            // When / Then
+            assertThrows(LocationStreamLimitException.class, () -> service.ingestAsync(2L, stream(frame(50.82, 4.32, NOW))));
+            queuedTasks.remove(0).run();
+            assertDoesNotThrow(() -> service.ingestAsync(2L, stream(frame(50.82, 4.32, NOW))));
+        }
+
+        @Test
+        void givenOfflineDriver_whenIngestedAsync_thenRejectedWithoutOpeningStream() {
+            // Given
+            doThrow(new IllegalArgumentException("Cannot update location while offline. Please go online first."))
+                    .when(driverAvailabilityService).requireOnline(1L);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> service.ingestAsync(1L, stream(frame(50.81, 4.31, NOW))));
+            assertEquals(0, service.getOpenStreamCount());
+            assertTrue(queuedTasks.isEmpty());
+        }
+    }
+
+    @Nested
+    class ApplyPending {
+
+        @Test
+        void givenDriverWentOffline_whenApplied_thenFramesDropped() throws Exception {
+            // Given
+            when(driverAvailabilityService.updateLocationInBackground(1L, 50.81, 4.31)).thenReturn(false);
+            service.ingest(1L, stream(frame(50.81, 4.31, NOW)));
+
+            // When
+            int applied = service.applyPending();
+
+            // Then
+            assertEquals(0, applied);
+            assertEquals(0, buffer.getPendingCount());
+        }
+
+        @Test
+        void givenNothingPending_whenApplied_thenNoUpdates() {
+            // When
+            int applied = service.applyPending();
+
+            // Then
+            assertEquals(0, applied);
+            verifyNoInteractions(driverAvailabilityService);
+        }
+    }
+}
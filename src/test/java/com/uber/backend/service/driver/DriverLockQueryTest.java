@@ -0,0 +1,114 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.AccountStatusCache;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.shared.domain.valueobject.Location;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which drivers the dispatcher's locking query claims, on an in-memory database.
+ */
+@DataJpaTest
+@Import(AccountStatusCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:driver-lock-query;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+class DriverLockQueryTest {
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long persistDriver(boolean available, RideType vehicleType) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            long suffix = System.nanoTime();
+            DriverEntity driver = new DriverEntity();
+            driver.setFirstName("John");
+            driver.setLastName("Driver");
+            driver.setEmail("driver." + suffix + "@example.com");
+            driver.setPassword("hash");
+            driver.setPhoneNumber("+32470000001");
+            driver.setRole(Role.DRIVER);
+            driver.setCreatedAt(LocalDateTime.now());
+            driver.setLicenseNumber("LIC-" + suffix);
+            driver.setIsAvailable(available);
+            driver.setCurrentLocation(new Location(50.85, 4.35, "Brussels"));
+            entityManager.persist(driver);
+
+            VehicleEntity vehicle = new VehicleEntity();
+            vehicle.setLicensePlate("PLATE-" + suffix);
+            vehicle.setModel("Toyota Prius");
+            vehicle.setColor("Black");
+            vehicle.setType(vehicleType);
+            vehicle.setDriver(driver);
+            entityManager.persist(vehicle);
+            return driver.getId();
+        });
+    }
+
+    @Test
+    void givenAvailableDriver_whenLockedForMatchingType_thenReturned() {
+        // Given
+        Long driverId = persistDriver(true, RideType.UBER_X);
+
+        // When
+        Optional<DriverEntity> locked = new TransactionTemplate(transactionManager).execute(status ->
+                driverRepository.findAvailableByIdForUpdate(driverId, RideType.UBER_X));
+
+        // Then
+        assertTrue(locked.isPresent());
+    }
+
+    @Test
+    void givenAvailableDriver_whenLockedForOtherType_thenNotReturned() {
+        // Given
+        Long driverId = persistDriver(true, RideType.UBER_X);
+
+        // When
+        Optional<DriverEntity> locked = new TransactionTemplate(transactionManager).execute(status ->
+                driverRepository.findAvailableByIdForUpdate(driverId, RideType.UBER_BLACK));
+
+        // Then
+        assertTrue(locked.isEmpty());
+    }
+
+    @Test
+    void givenUnavailableDriver_whenLocked_thenNotReturned() {
+        // Given
+        Long driverId = persistDriver(false, RideType.UBER_X);
+
+        // When
+        Optional<DriverEntity> locked = new TransactionTemplate(transactionManager).execute(status ->
+                driverRepository.findAvailableByIdForUpdate(driverId, RideType.UBER_X));
+
+        // Then
+        assertTrue(locked.isEmpty());
+    }
+}
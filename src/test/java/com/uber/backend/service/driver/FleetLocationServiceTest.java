@@ -0,0 +1,185 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.application.command.FleetLocationResult;
+import com.uber.backend.driver.application.command.FleetLocationSample;
+import com.uber.backend.driver.application.service.DriverAvailabilityService;
+import com.uber.backend.driver.application.service.FleetLocationService;
+import com.uber.backend.driver.domain.enums.LocationUpdateStatus;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import com.uber.backend.shared.domain.valueobject.Location;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for batch location updates from fleet gateways.
+ */
+@ExtendWith(MockitoExtension.class)
+class FleetLocationServiceTest {
+
+    private static final long NOW = 1_718_000_000_000L;
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private GeocodingPort geocodingPort;
+
+    @Mock
+    private DriverLocationIndex driverLocationIndex;
+
+    @Mock
+    private DriverAddressResolver driverAddressResolver;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DriverLocationStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private FleetLocationService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new DriverLocationStore(jdbcTemplate, 500);
+        meterRegistry = new SimpleMeterRegistry();
+        DriverAvailabilityService availabilityService = new DriverAvailabilityService(driverRepository, geocodingPort,
+                driverLocationIndex, store, driverAddressResolver, publisher);
+        service = new FleetLocationService(availabilityService, store, meterRegistry,
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    private void givenTracked(Long driverId, long timestamp) {
+        store.track(driverId, new Location(50.80, 4.30, "Start"), timestamp);
+    }
+
+    private static List<LocationUpdateStatus> statuses(List<FleetLocationResult> results) {
+        return results.stream().map(FleetLocationResult::status).toList();
+    }
+
+    @Test
+    void givenOnlineDrivers_whenBatchApplied_thenEveryPositionStoredAndIndexed() {
+        // Given
+        givenTracked(1L, NOW - 10_000);
+        givenTracked(2L, NOW - 10_000);
+
+        // When
+        List<FleetLocationResult> results = service.updateLocations(List.of(
+                new FleetLocationSample(1L, 50.81, 4.31, NOW - 1000),
+                new FleetLocationSample(2L, 50.82, 4.32, NOW - 1000)));
+
+        // Then
+        assertEquals(List.of(LocationUpdateStatus.APPLIED, LocationUpdateStatus.APPLIED), statuses(results));
+        assertEquals(50.81, store.get(1L).latitude());
+        assertEquals(50.82, store.get(2L).latitude());
+        assertEquals(2, store.getPendingCount());
+        verify(driverLocationIndex).move(1L, 50.81, 4.31);
+        verify(driverLocationIndex).move(2L, 50.82, 4.32);
+        verifyNoInteractions(driverRepository);
+    }
+
+    @Test
+    void givenSameDriverTwiceOutOfOrder_whenBatchApplied_thenNewestWinsAndOlderStale() {
+        // Given
+        givenTracked(1L, NOW - 10_000);
+
+        // When
+        List<FleetLocationResult> results = service.updateLocations(List.of(
+                new FleetLocationSample(1L, 50.83, 4.33, NOW - 1000),
+                new FleetLocationSample(1L, 50.82, 4.32, NOW - 2000)));
+
+        // Then
+        assertEquals(List.of(LocationUpdateStatus.APPLIED, LocationUpdateStatus.STALE), statuses(results));
+        assertEquals(50.83, store.get(1L).latitude());
+    }
+
+    @Test
+    void givenSampleOlderThanCurrentPosition_whenBatchApplied_thenStale() {
+        // Given
+        givenTracked(1L, NOW - 1000);
+
+        // When
+        List<FleetLocationResult> results = service.updateLocations(List.of(
+                new FleetLocationSample(1L, 50.81, 4.31, NOW - 5000)));
+
+        // Then
+        assertEquals(List.of(LocationUpdateStatus.STALE), statuses(results));
+        assertEquals(50.80, store.get(1L).latitude());
+        verifyNoInteractions(driverLocationIndex);
+    }
+
+    @Test
+    void givenUntrackedDrivers_whenBatchApplied_thenOnlineOnesLoadedInOneQuery() {
+        // Given
+        DriverEntity online = new DriverEntity();
+        online.setId(1L);
+        online.setIsAvailable(true);
+        online.setCurrentLocation(new Location(50.80, 4.30, "Start"));
+        when(driverRepository.findByIdInAndIsAvailableTrue(List.of(1L, 2L))).thenReturn(List.of(online));
+
+        // When
+        List<FleetLocationResult> results = service.updateLocations(List.of(
+                new FleetLocationSample(1L, 50.81, 4.31, NOW),
+                new FleetLocationSample(2L, 50.82, 4.32, NOW)));
+
+        // Then
+        assertEquals(List.of(LocationUpdateStatus.APPLIED, LocationUpdateStatus.OFFLINE), statuses(results));
+        verify(driverRepository, times(1)).findByIdInAndIsAvailableTrue(any());
+        assertFalse(store.isTracked(2L));
+    }
+
+    @Test
+    void givenInvalidEntries_whenBatchApplied_thenOnlyThoseRejected() {
+        // Given
+        givenTracked(1L, NOW - 10_000);
+
+        // When
+        List<FleetLocationResult> results = service.updateLocations(Arrays.asList(
+                new FleetLocationSample(1L, 91.0, 4.31, NOW),
+                new FleetLocationSample(null, 50.81, 4.31, NOW),
+                new FleetLocationSample(1L, 50.81, 4.31, null),
+                new FleetLocationSample(1L, 50.81, 4.31, NOW + 60_000),
+                null,
+                new FleetLocationSample(1L, 50.81, 4.31, NOW)));
+
+        // Then
+        assertEquals(List.of(LocationUpdateStatus.INVALID, LocationUpdateStatus.INVALID, LocationUpdateStatus.INVALID,
+                LocationUpdateStatus.INVALID, LocationUpdateStatus.INVALID, LocationUpdateStatus.APPLIED), statuses(results));
+        assertEquals(5, meterRegistry.counter("driver.location.batch.entries", "status", "invalid").count());
+    }
+
+    @Test
+    void givenBatchAboveMaxSize_whenApplied_thenRejected() {
+        // Given
+        ReflectionTestUtils.setField(service, "maxBatchSize", 1);
+        List<FleetLocationSample> samples = List.of(
+                new FleetLocationSample(1L, 50.81, 4.31, NOW),
+                new FleetLocationSample(2L, 50.82, 4.32, NOW));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> service.updateLocations(samples));
+        verifyNoInteractions(driverRepository);
+    }
+}
@@ -1,15 +1,18 @@
 package com.uber.backend.service.driver;
 
 import com.uber.backend.driver.application.service.PollAvailableDriversService;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
 import com.uber.backend.ride.domain.enums.RideStatus;
 import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.domain.event.DriverInvitedEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
-import com.uber.backend.shared.domain.port.DistanceCalculatorPort;
 import com.uber.backend.shared.domain.valueobject.Location;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -18,14 +21,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -41,12 +48,54 @@ class PollAvailableDriversServiceTest {
     @Mock
     private RideRepository rideRepository;
 
+    @Spy
+    private DriverLocationIndex driverLocationIndex = new DriverLocationIndex(0.01, 50);
+
+    @Mock
+    private DriverAddressResolver driverAddressResolver;
+
     @Mock
-    private DistanceCalculatorPort distanceCalculator;
+    private DriverLocationStore driverLocationStore;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
 
     @InjectMocks
     private PollAvailableDriversService pollingService;
 
+    /**
+     * Rides the next sweep claims from this dispatcher's shard.
+     */
+    private void givenClaimableRides(RideEntity... rides) {
+        when(rideRepository.claimUnmatchedInShard(anyInt(), anyInt(), anyDouble(), anyInt()))
+                .thenReturn(Arrays.asList(rides));
+    }
+
+    /**
+     * Put drivers in the location index, as going online would, and make them loadable by ID.
+     */
+    private void givenOnlineDrivers(DriverEntity... drivers) {
+        for (DriverEntity driver : drivers) {
+            Location location = driver.getCurrentLocation() != null
+                    ? driver.getCurrentLocation()
+                    : new Location(50.8503, 4.3517, "Last known location");
+            driverLocationIndex.upsert(driver.getId(), location.latitude(), location.longitude(),
+                    driver.getCurrentVehicle().getType());
+            lenient().when(driverRepository.findAvailableByIdForUpdate(eq(driver.getId()), any()))
+                    .thenAnswer(invocation -> qualifies(driver, invocation.getArgument(1))
+                            ? Optional.of(driver) : Optional.empty());
+            lenient().when(driverRepository.findById(driver.getId())).thenReturn(Optional.of(driver));
+        }
+    }
+
+    /**
+     * Mirrors the conditions of the locking query.
+     */
+    private static boolean qualifies(DriverEntity driver, RideType rideType) {
+        return Boolean.TRUE.equals(driver.getIsAvailable()) && driver.getCurrentLocation() != null
+                && driver.getCurrentVehicle() != null && driver.getCurrentVehicle().getType() == rideType;
+    }
+
     @Nested
     class RequestedRideTests {
 
@@ -88,14 +137,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenRequestedRide_whenDriverAvailable_thenDriverAssigned() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(requestedRide));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(nearbyDriver));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(2.5); // 2.5 km away
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -107,17 +150,31 @@ class PollAvailableDriversServiceTest {
             assertEquals(nearbyDriver, requestedRide.getDriver());
             assertEquals(vehicle, requestedRide.getVehicle());
             assertNotNull(requestedRide.getInvitedAt());
+            verify(publisher).publishEvent(new DriverInvitedEvent(100L, 2L, requestedRide.getInvitedAt()));
+        }
+
+        @Test
+        void givenRequestedRide_whenDriverInvited_thenDriverNoLongerTrackedForLocationUpdates() {
+            // Given
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver);
+            when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            pollingService.pollForAvailableDriversForAllRides();
+
+            // Then
+            var order = inOrder(driverAddressResolver, driverLocationStore);
+            order.verify(driverAddressResolver).applyTo(nearbyDriver);
+            order.verify(driverLocationStore).untrack(2L);
+            assertFalse(nearbyDriver.getIsAvailable());
         }
 
         @Test
         void givenRequestedRide_whenNoAvailableDrivers_thenNoAssignment() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(requestedRide));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.emptyList()); // No available drivers
+            givenClaimableRides(requestedRide);
+            // No drivers online
 
             // When
             pollingService.pollForAvailableDriversForAllRides();
@@ -132,38 +189,111 @@ class PollAvailableDriversServiceTest {
         void givenRequestedRide_whenNoPickupLocation_thenSkipRide() {
             // Given
             requestedRide.setPickupLocation(null); // Missing pickup location
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(requestedRide));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(nearbyDriver));
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver);
 
             // When
             pollingService.pollForAvailableDriversForAllRides();
 
             // Then
             verify(rideRepository, never()).save(any());
-            verify(distanceCalculator, never()).calculateDistance(any(), any());
+            verify(driverRepository, never()).findById(any());
         }
 
         @Test
         void givenRequestedRide_whenDriverNoLocation_thenSkipDriver() {
             // Given
             nearbyDriver.setCurrentLocation(null); // Driver has no location
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(requestedRide));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(nearbyDriver));
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver);
 
             // When
             pollingService.pollForAvailableDriversForAllRides();
 
             // Then
             verify(rideRepository, never()).save(any());
-            verify(distanceCalculator, never()).calculateDistance(any(), any());
+            assertFalse(driverLocationIndex.contains(nearbyDriver.getId()), "Stale driver should be evicted from the index");
+        }
+
+        @Test
+        void givenNearestDriverLockedByAnotherDispatcher_whenMatching_thenNextDriverInvited() {
+            // Given - the nearest driver is still available, but their row is locked elsewhere
+            DriverEntity fartherDriver = new DriverEntity();
+            fartherDriver.setId(3L);
+            fartherDriver.setIsAvailable(true);
+            fartherDriver.setCurrentLocation(new Location(50.8600, 4.3600, "Farther"));
+            fartherDriver.setCurrentVehicle(vehicle);
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver, fartherDriver);
+            when(driverRepository.findAvailableByIdForUpdate(nearbyDriver.getId(), RideType.UBER_X)).thenReturn(Optional.empty());
+
+            // When
+            List<Long> unmatched = pollingService.pollForAvailableDriversForAllRides();
+
+            // Then
+            assertTrue(unmatched.isEmpty());
+            assertEquals(fartherDriver, requestedRide.getDriver());
+            assertTrue(driverLocationIndex.contains(nearbyDriver.getId()), "Locked driver should stay in the index");
+        }
+
+        @Test
+        void givenNearestDriverNoLongerAvailable_whenMatching_thenReadWithoutLockAndEvicted() {
+            // Given - the index still lists a driver who went offline
+            DriverEntity fartherDriver = new DriverEntity();
+            fartherDriver.setId(3L);
+            fartherDriver.setIsAvailable(true);
+            fartherDriver.setCurrentLocation(new Location(50.8600, 4.3600, "Farther"));
+            fartherDriver.setCurrentVehicle(vehicle);
+            givenClaimableRides(requestedRide);
+            givenOnlineDrivers(nearbyDriver, fartherDriver);
+            nearbyDriver.setIsAvailable(false);
+
+            // When
+            pollingService.pollForAvailableDriversForAllRides();
+
+            // Then - only the invited driver was returned by the locking query
+            assertEquals(fartherDriver, requestedRide.getDriver());
+            verify(driverRepository).findById(nearbyDriver.getId());
+            verify(driverRepository, never()).findById(fartherDriver.getId());
+            assertFalse(driverLocationIndex.contains(nearbyDriver.getId()), "Stale driver should be evicted from the index");
+        }
+    }
+
+    @Nested
+    class ShardValidationTests {
+
+        @Test
+        void givenShardIndexOutsideShardCount_whenStarting_thenRejected() {
+            // Given
+            ReflectionTestUtils.setField(pollingService, "shardCount", 2);
+            ReflectionTestUtils.setField(pollingService, "shardIndex", 2);
+
+            // When
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> ReflectionTestUtils.invokeMethod(pollingService, "validateShard"));
+
+            // Then
+            assertEquals("dispatch.shard.index must be between 0 and dispatch.shard.count - 1", exception.getMessage());
+        }
+
+        @Test
+        void givenNoShards_whenStarting_thenRejected() {
+            // Given
+            ReflectionTestUtils.setField(pollingService, "shardCount", 0);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> ReflectionTestUtils.invokeMethod(pollingService, "validateShard"));
+        }
+
+        @Test
+        void givenLastShard_whenStarting_thenAccepted() {
+            // Given
+            ReflectionTestUtils.setField(pollingService, "shardCount", 4);
+            ReflectionTestUtils.setField(pollingService, "shardIndex", 3);
+
+            // When / Then
+            assertDoesNotThrow(() -> ReflectionTestUtils.invokeMethod(pollingService, "validateShard"));
         }
     }
 
@@ -223,14 +353,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenDeniedRide_whenNewDriverAvailable_thenNewDriverAssigned() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.emptyList());
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.singletonList(deniedRide));
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Arrays.asList(driver1, driver2));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(3.0); // Both drivers same distance
+            givenClaimableRides(deniedRide);
+            givenOnlineDrivers(driver1, driver2);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -247,12 +371,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenDeniedRide_whenOnlyDeniedDriverAvailable_thenNoAssignment() {
             // Given - Only driver1 available (who is in denied list)
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.emptyList());
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.singletonList(deniedRide));
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(driver1)); // Only denied driver
+            givenClaimableRides(deniedRide);
+            givenOnlineDrivers(driver1); // Only denied driver
 
             // When
             pollingService.pollForAvailableDriversForAllRides();
@@ -277,14 +397,8 @@ class PollAvailableDriversServiceTest {
             vehicle3.setType(RideType.UBER_X);
             driver3.setCurrentVehicle(vehicle3);
 
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.emptyList());
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.singletonList(deniedRide));
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Arrays.asList(driver1, driver2, driver3));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(3.0);
+            givenClaimableRides(deniedRide);
+            givenOnlineDrivers(driver1, driver2, driver3);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -344,16 +458,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenMultipleDrivers_whenDifferentDistances_thenNearestDriverSelected() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(ride));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Arrays.asList(farDriver, nearDriver)); // Far driver first in list
-            when(distanceCalculator.calculateDistance(eq(ride.getPickupLocation()), eq(nearDriver.getCurrentLocation())))
-                    .thenReturn(1.0); // 1 km
-            when(distanceCalculator.calculateDistance(eq(ride.getPickupLocation()), eq(farDriver.getCurrentLocation())))
-                    .thenReturn(5.0); // 5 km
+            givenClaimableRides(ride);
+            givenOnlineDrivers(farDriver, nearDriver); // Far driver first in list
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -368,14 +474,9 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenMultipleDrivers_whenSameDistance_thenAnyDriverSelected() {
             // Given - Both drivers same distance
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(ride));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Arrays.asList(nearDriver, farDriver));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(3.0); // Same distance for both
+            farDriver.setCurrentLocation(nearDriver.getCurrentLocation());
+            givenClaimableRides(ride);
+            givenOnlineDrivers(nearDriver, farDriver);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -445,20 +546,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenMultipleRides_whenEnoughDrivers_thenAllRidesAssigned() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Arrays.asList(ride1, ride2));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Arrays.asList(driver1, driver2));
-            when(distanceCalculator.calculateDistance(eq(ride1.getPickupLocation()), eq(driver1.getCurrentLocation())))
-                    .thenReturn(1.0);
-            when(distanceCalculator.calculateDistance(eq(ride1.getPickupLocation()), eq(driver2.getCurrentLocation())))
-                    .thenReturn(10.0);
-            when(distanceCalculator.calculateDistance(eq(ride2.getPickupLocation()), eq(driver1.getCurrentLocation())))
-                    .thenReturn(10.0);
-            when(distanceCalculator.calculateDistance(eq(ride2.getPickupLocation()), eq(driver2.getCurrentLocation())))
-                    .thenReturn(1.0);
+            givenClaimableRides(ride1, ride2);
+            givenOnlineDrivers(driver1, driver2);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -475,24 +564,20 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenMultipleRides_whenNotEnoughDrivers_thenOnlyFirstRideAssigned() {
             // Given - Only one driver for two rides
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Arrays.asList(ride1, ride2));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(driver1)); // Only one driver
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(2.0);
+            givenClaimableRides(ride1, ride2);
+            givenOnlineDrivers(driver1); // Only one driver
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
             pollingService.pollForAvailableDriversForAllRides();
 
-            // Then
-            verify(rideRepository, times(2)).save(any(RideEntity.class));
-            // Both rides will get the same driver (TreeMap allows duplicate values)
+            // Then - the invited driver leaves the index, so the second ride keeps waiting
+            verify(rideRepository, times(1)).save(any(RideEntity.class));
             assertEquals(RideStatus.INVITED, ride1.getStatus());
-            assertEquals(RideStatus.INVITED, ride2.getStatus());
+            assertEquals(driver1, ride1.getDriver());
+            assertEquals(RideStatus.REQUESTED, ride2.getStatus());
+            assertNull(ride2.getDriver());
+            assertFalse(driverLocationIndex.contains(driver1.getId()));
         }
     }
 
@@ -502,6 +587,7 @@ class PollAvailableDriversServiceTest {
         private RideEntity requestedRide;
         private RideEntity deniedRide;
         private DriverEntity driver;
+        private DriverEntity secondDriver;
         private VehicleEntity vehicle;
 
         @BeforeEach
@@ -521,6 +607,16 @@ class PollAvailableDriversServiceTest {
             driver.setCurrentLocation(new Location(50.8503, 4.3517, "Driver"));
             driver.setCurrentVehicle(vehicle);
 
+            VehicleEntity secondVehicle = new VehicleEntity();
+            secondVehicle.setId(11L);
+            secondVehicle.setType(RideType.UBER_X);
+
+            secondDriver = new DriverEntity();
+            secondDriver.setId(3L);
+            secondDriver.setIsAvailable(true);
+            secondDriver.setCurrentLocation(new Location(50.8507, 4.3528, "Second Driver"));
+            secondDriver.setCurrentVehicle(secondVehicle);
+
             requestedRide = new RideEntity();
             requestedRide.setId(100L);
             requestedRide.setPassenger(passenger1);
@@ -541,14 +637,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenRequestedAndDeniedRides_whenPolling_thenBothProcessed() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(requestedRide));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.singletonList(deniedRide));
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(driver));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(2.0);
+            givenClaimableRides(requestedRide, deniedRide);
+            givenOnlineDrivers(driver, secondDriver);
             when(rideRepository.save(any(RideEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
@@ -558,6 +648,7 @@ class PollAvailableDriversServiceTest {
             verify(rideRepository, times(2)).save(any(RideEntity.class));
             assertEquals(RideStatus.INVITED, requestedRide.getStatus());
             assertEquals(RideStatus.INVITED, deniedRide.getStatus());
+            assertNotEquals(requestedRide.getDriver(), deniedRide.getDriver());
         }
     }
 
@@ -595,14 +686,8 @@ class PollAvailableDriversServiceTest {
         @Test
         void givenDriverAssigned_whenSaved_thenInvitedAtTimestampSet() {
             // Given
-            when(rideRepository.findByStatusEquals(RideStatus.REQUESTED))
-                    .thenReturn(Collections.singletonList(ride));
-            when(rideRepository.findByStatusEquals(RideStatus.DENIED))
-                    .thenReturn(Collections.emptyList());
-            when(driverRepository.findByIsAvailableTrue())
-                    .thenReturn(Collections.singletonList(driver));
-            when(distanceCalculator.calculateDistance(any(Location.class), any(Location.class)))
-                    .thenReturn(2.0);
+            givenClaimableRides(ride);
+            givenOnlineDrivers(driver);
 
             ArgumentCaptor<RideEntity> rideCaptor = ArgumentCaptor.forClass(RideEntity.class);
             when(rideRepository.save(rideCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
@@ -617,4 +702,89 @@ class PollAvailableDriversServiceTest {
             assertEquals(driver, savedRide.getDriver());
         }
     }
+
+    @Nested
+    class RideTypeTests {
+
+        private RideEntity blackRide;
+        private DriverEntity uberXDriver;
+        private DriverEntity blackDriver;
+
+        @BeforeEach
+        void setUp() {
+            VehicleEntity uberXVehicle = new VehicleEntity();
+            uberXVehicle.setId(10L);
+            uberXVehicle.setType(RideType.UBER_X);
+
+            VehicleEntity blackVehicle = new VehicleEntity();
+            blackVehicle.setId(11L);
+            blackVehicle.setType(RideType.UBER_BLACK);
+
+            // UBER_X driver is right at the pickup, UBER_BLACK driver ~1 km away
+            uberXDriver = new DriverEntity();
+            uberXDriver.setId(2L);
+            uberXDriver.setIsAvailable(true);
+            uberXDriver.setCurrentLocation(new Location(50.8501, 4.3520, "Near"));
+            uberXDriver.setCurrentVehicle(uberXVehicle);
+
+            blackDriver = new DriverEntity();
+            blackDriver.setId(3L);
+            blackDriver.setIsAvailable(true);
+            blackDriver.setCurrentLocation(new Location(50.8600, 4.3600, "Farther"));
+            blackDriver.setCurrentVehicle(blackVehicle);
+
+            blackRide = new RideEntity();
+            blackRide.setId(100L);
+            blackRide.setStatus(RideStatus.REQUESTED);
+            blackRide.setPickupLocation(new Location(50.8500, 4.3520, "Pickup"));
+            blackRide.setRideType(RideType.UBER_BLACK);
+        }
+
+        @Test
+        void givenBlackRide_whenNearestDriverIsUberX_thenBlackDriverInvited() {
+            // Given
+            givenClaimableRides(blackRide);
+            givenOnlineDrivers(uberXDriver, blackDriver);
+
+            // When
+            pollingService.pollForAvailableDriversForAllRides();
+
+            // Then
+            assertEquals(blackDriver, blackRide.getDriver());
+            verify(driverRepository, never()).findById(uberXDriver.getId());
+        }
+
+        @Test
+        void givenBlackRide_whenOnlyUberXDriversOnline_thenNoInvite() {
+            // Given
+            givenClaimableRides(blackRide);
+            givenOnlineDrivers(uberXDriver);
+
+            // When
+            List<Long> unmatched = pollingService.pollForAvailableDriversForAllRides();
+
+            // Then
+            assertEquals(List.of(100L), unmatched);
+            assertEquals(RideStatus.REQUESTED, blackRide.getStatus());
+            verify(rideRepository, never()).save(any());
+        }
+
+        @Test
+        void givenIndexedDriverSwitchedVehicle_whenMatching_thenReindexedAndSkipped() {
+            // Given - indexed as UBER_BLACK, but now drives an UBER_X car
+            givenOnlineDrivers(blackDriver);
+            VehicleEntity newVehicle = new VehicleEntity();
+            newVehicle.setType(RideType.UBER_X);
+            blackDriver.setCurrentVehicle(newVehicle);
+            givenClaimableRides(blackRide);
+
+            // When
+            pollingService.pollForAvailableDriversForAllRides();
+
+            // Then
+            assertNull(blackRide.getDriver());
+            assertEquals(1, driverLocationIndex.findNearest(RideType.UBER_X, 50.85, 4.352, 5, id -> true).size());
+            assertTrue(driverLocationIndex.findNearest(RideType.UBER_BLACK, 50.85, 4.352, 5, id -> true).isEmpty());
+        }
+    }
 }
@@ -0,0 +1,221 @@
+package com.uber.backend.service.driver;
+
+import com.uber.backend.driver.application.service.PollAvailableDriversService;
+import com.uber.backend.driver.domain.enums.DispatchMode;
+import com.uber.backend.driver.domain.event.DriverAvailableEvent;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.pollers.RideDispatcher;
+import com.uber.backend.ride.application.command.RideRequestResult;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideDeniedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for event-driven ride dispatching.
+ * Runs the dispatcher on the calling thread.
+ */
+@ExtendWith(MockitoExtension.class)
+class RideDispatcherTest {
+
+    @Mock
+    private PollAvailableDriversService pollAvailableDriversService;
+
+    @Mock
+    private DriverLocationIndex driverLocationIndex;
+
+    private RideDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new RideDispatcher(pollAvailableDriversService, driverLocationIndex, Runnable::run);
+    }
+
+    @Test
+    void givenRideRequested_whenEventReceived_thenRideMatchedImmediately() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenReturn(false);
+
+        // When
+        dispatcher.on(new RideRequestResult(100L, 1L, RideStatus.REQUESTED, LocalDateTime.now()));
+
+        // Then
+        verify(pollAvailableDriversService).matchRide(100L);
+        verify(pollAvailableDriversService, never()).pollForAvailableDriversForAllRides();
+        assertEquals(0, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenRideDenied_whenEventReceived_thenRideMatchedImmediately() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenReturn(false);
+
+        // When
+        dispatcher.on(new RideDeniedEvent(100L, 2L));
+
+        // Then
+        verify(pollAvailableDriversService).matchRide(100L);
+    }
+
+    @Test
+    void givenNoDriverFound_whenDriverBecomesAvailable_thenWaitingRideRetried() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenReturn(true, false);
+        dispatcher.submitRide(100L);
+        assertEquals(1, dispatcher.getWaitingRideCount());
+
+        // When
+        dispatcher.on(new DriverAvailableEvent(2L));
+
+        // Then
+        verify(pollAvailableDriversService, times(2)).matchRide(100L);
+        assertEquals(0, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenNoWaitingRides_whenRetryTick_thenNoDatabaseWork() {
+        // When
+        dispatcher.retryWaitingRides();
+        dispatcher.on(new DriverAvailableEvent(2L));
+
+        // Then
+        verifyNoInteractions(pollAvailableDriversService);
+    }
+
+    @Test
+    void givenWaitingRideButNoDriversOnline_whenRetryTick_thenNoDatabaseWork() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenReturn(true);
+        dispatcher.submitRide(100L);
+        when(driverLocationIndex.isEmpty()).thenReturn(true);
+
+        // When
+        dispatcher.retryWaitingRides();
+
+        // Then
+        verify(pollAvailableDriversService, times(1)).matchRide(100L);
+    }
+
+    @Test
+    void givenSweepRequested_whenRidesUnmatched_thenTrackedAsWaiting() {
+        // Given
+        when(pollAvailableDriversService.pollForAvailableDriversForAllRides()).thenReturn(List.of(100L, 101L));
+
+        // When
+        dispatcher.requestSweep();
+
+        // Then
+        assertEquals(2, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenRideWaitingFromEvent_whenShardSweepRuns_thenRideStillWaiting() {
+        // Given - ride 200 is outside this dispatcher's shard, so the sweep never returns it
+        when(pollAvailableDriversService.matchRide(200L)).thenReturn(true);
+        dispatcher.submitRide(200L);
+        when(pollAvailableDriversService.pollForAvailableDriversForAllRides()).thenReturn(List.of(100L));
+
+        // When
+        dispatcher.requestSweep();
+
+        // Then
+        assertEquals(2, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenSweepLosesRace_whenSweepRequested_thenWaitingRidesKept() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenReturn(true);
+        dispatcher.submitRide(100L);
+        when(pollAvailableDriversService.pollForAvailableDriversForAllRides())
+                .thenThrow(new OptimisticLockingFailureException("driver changed"));
+
+        // When
+        dispatcher.requestSweep();
+
+        // Then
+        assertEquals(1, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenMatchLosesRace_whenEventReceived_thenRideKeptForRetry() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L))
+                .thenThrow(new OptimisticLockingFailureException("ride changed"))
+                .thenReturn(false);
+        dispatcher.submitRide(100L);
+        assertEquals(1, dispatcher.getWaitingRideCount());
+
+        // When
+        dispatcher.on(new DriverAvailableEvent(2L));
+
+        // Then
+        verify(pollAvailableDriversService, times(2)).matchRide(100L);
+        assertEquals(0, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenBatchLosesRace_whenFlushed_thenAllRidesKeptForRetry() {
+        // Given
+        when(pollAvailableDriversService.getDispatchMode()).thenReturn(DispatchMode.BATCH);
+        when(pollAvailableDriversService.matchRides(anyList()))
+                .thenThrow(new OptimisticLockingFailureException("driver changed"));
+        dispatcher.submitRide(100L);
+        dispatcher.submitRide(101L);
+
+        // When
+        dispatcher.flushBatch();
+
+        // Then
+        assertEquals(2, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenMatchingFails_whenEventReceived_thenRideKeptForRetry() {
+        // Given
+        when(pollAvailableDriversService.matchRide(100L)).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        dispatcher.submitRide(100L);
+
+        // Then
+        assertEquals(1, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenBatchMode_whenRidesRequested_thenMatchedTogetherOnFlush() {
+        // Given
+        when(pollAvailableDriversService.getDispatchMode()).thenReturn(DispatchMode.BATCH);
+        when(pollAvailableDriversService.matchRides(anyList())).thenReturn(List.of(101L));
+        dispatcher.submitRide(100L);
+        dispatcher.submitRide(101L);
+        verify(pollAvailableDriversService, never()).matchRides(anyList());
+
+        // When
+        dispatcher.flushBatch();
+
+        // Then
+        verify(pollAvailableDriversService).matchRides(argThat(ids -> ids.containsAll(List.of(100L, 101L))));
+        verify(pollAvailableDriversService, never()).matchRide(any());
+        assertEquals(1, dispatcher.getWaitingRideCount());
+    }
+
+    @Test
+    void givenBatchMode_whenNothingQueued_thenFlushDoesNothing() {
+        // When
+        dispatcher.flushBatch();
+
+        // Then
+        verifyNoInteractions(pollAvailableDriversService);
+    }
+}
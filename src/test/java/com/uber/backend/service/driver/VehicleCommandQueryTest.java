@@ -8,6 +8,10 @@ import com.uber.backend.driver.application.command.UpdateVehicleCommand;
 import com.uber.backend.driver.application.dto.VehicleDTO;
 import com.uber.backend.driver.application.query.GetDriverVehiclesQuery;
 import com.uber.backend.driver.application.query.GetVehicleByIdQuery;
+import com.uber.backend.driver.domain.event.DriverVehicleChangedEvent;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndex;
+import com.uber.backend.driver.infrastructure.index.DriverLocationIndexUpdater;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.persistence.VehicleEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
@@ -20,6 +24,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -42,6 +47,11 @@ class VehicleCommandQueryTest {
     @Mock
     private DriverRepository driverRepository;
 
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    private final DriverLocationIndex driverLocationIndex = new DriverLocationIndex(0.01, 50);
+
     @InjectMocks
     private AddVehicleCommandHandler addVehicleHandler;
 
@@ -63,6 +73,18 @@ class VehicleCommandQueryTest {
     private DriverEntity testDriver;
     private VehicleEntity testVehicle;
 
+    /**
+     * Apply published vehicle changes to the location index, as happens after commit.
+     */
+    private void givenIndexUpdatedOnCommit() {
+        DriverLocationIndexUpdater updater = new DriverLocationIndexUpdater(driverLocationIndex,
+                mock(DriverLocationStore.class), driverRepository);
+        doAnswer(invocation -> {
+            updater.on(invocation.<DriverVehicleChangedEvent>getArgument(0));
+            return null;
+        }).when(publisher).publishEvent(any(DriverVehicleChangedEvent.class));
+    }
+
     @BeforeEach
     void setUp() {
         testDriver = new DriverEntity();
@@ -259,6 +281,43 @@ class VehicleCommandQueryTest {
         assertEquals(RideType.UBER_X, testVehicle.getType()); // Unchanged
     }
 
+    @Test
+    void givenOnlineDriver_whenCurrentVehicleTypeUpdated_thenReindexedUnderNewType() {
+        // Arrange
+        givenIndexUpdatedOnCommit();
+        testDriver.setCurrentVehicle(testVehicle);
+        driverLocationIndex.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+        UpdateVehicleCommand command = new UpdateVehicleCommand(1L, 1L, null, null, RideType.UBER_BLACK);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(vehicleRepository.save(any(VehicleEntity.class))).thenReturn(testVehicle);
+
+        // Act
+        updateVehicleHandler.handle(command);
+        driverLocationIndex.move(1L, 50.8502, 4.3521);
+
+        // Assert - later position updates keep the new type
+        assertTrue(driverLocationIndex.findNearest(RideType.UBER_X, 50.85, 4.352, 5, id -> true).isEmpty());
+        assertEquals(1, driverLocationIndex.findNearest(RideType.UBER_BLACK, 50.85, 4.352, 5, id -> true).size());
+    }
+
+    @Test
+    void givenOnlineDriver_whenOtherVehicleTypeUpdated_thenIndexUnchanged() {
+        // Arrange
+        VehicleEntity currentVehicle = VehicleEntity.builder().id(2L).type(RideType.UBER_X).driver(testDriver).build();
+        testDriver.setCurrentVehicle(currentVehicle);
+        driverLocationIndex.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+        UpdateVehicleCommand command = new UpdateVehicleCommand(1L, 1L, null, null, RideType.UBER_BLACK);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(vehicleRepository.save(any(VehicleEntity.class))).thenReturn(testVehicle);
+
+        // Act
+        updateVehicleHandler.handle(command);
+
+        // Assert
+        assertEquals(1, driverLocationIndex.findNearest(RideType.UBER_X, 50.85, 4.352, 5, id -> true).size());
+        verify(publisher, never()).publishEvent(any());
+    }
+
     @Test
     void givenValidCommand_whenDeleteVehicle_thenDeleteVehicle() {
         // Arrange
@@ -320,6 +379,39 @@ class VehicleCommandQueryTest {
         verify(vehicleRepository).delete(testVehicle);
     }
 
+    @Test
+    void givenOnlineDriver_whenCurrentVehicleDeleted_thenRemovedFromIndex() {
+        // Arrange
+        givenIndexUpdatedOnCommit();
+        DeleteVehicleCommand command = new DeleteVehicleCommand(1L, 1L);
+        testDriver.setCurrentVehicle(testVehicle);
+        driverLocationIndex.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+
+        // Act
+        deleteVehicleHandler.handle(command);
+
+        // Assert
+        assertFalse(driverLocationIndex.contains(1L));
+    }
+
+    @Test
+    void givenOnlineDriver_whenSetCurrentVehicleOfOtherType_thenReindexedUnderNewType() {
+        // Arrange
+        givenIndexUpdatedOnCommit();
+        VehicleEntity blackVehicle = VehicleEntity.builder().id(2L).type(RideType.UBER_BLACK).driver(testDriver).build();
+        testDriver.setCurrentVehicle(testVehicle);
+        driverLocationIndex.upsert(1L, 50.8501, 4.3520, RideType.UBER_X);
+        when(vehicleRepository.findById(2L)).thenReturn(Optional.of(blackVehicle));
+
+        // Act
+        setCurrentVehicleHandler.handle(new SetCurrentVehicleCommand(2L, 1L));
+
+        // Assert
+        assertTrue(driverLocationIndex.findNearest(RideType.UBER_X, 50.85, 4.352, 5, id -> true).isEmpty());
+        assertEquals(1, driverLocationIndex.findNearest(RideType.UBER_BLACK, 50.85, 4.352, 5, id -> true).size());
+    }
+
     @Test
     void givenValidCommand_whenSetCurrentVehicle_thenReturnVehicleDTO() {
         // Arrange
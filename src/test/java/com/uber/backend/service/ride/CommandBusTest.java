@@ -0,0 +1,177 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.ride.infrastructure.CommandBus;
+import com.uber.backend.shared.application.command.BatchCommandHandler;
+import com.uber.backend.shared.application.command.CommandHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the type-indexed command bus.
+ */
+class CommandBusTest {
+
+    record Greet(String name) {}
+
+    record Cancel(long rideId) {}
+
+    record Unknown() {}
+
+    static class GreetHandler implements CommandHandler<Greet, String> {
+        @Override
+        public Class<Greet> commandType() {
+            return Greet.class;
+        }
+
+        @Override
+        public String handle(Greet command) {
+            return "Hello " + command.name();
+        }
+    }
+
+    static class CancelHandler implements BatchCommandHandler<Cancel> {
+        final List<Long> handledOneByOne = Collections.synchronizedList(new ArrayList<>());
+        final List<List<Long>> handledBatches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Class<Cancel> commandType() {
+            return Cancel.class;
+        }
+
+        @Override
+        public Void handle(Cancel command) {
+            handledOneByOne.add(command.rideId());
+            return null;
+        }
+
+        @Override
+        public void handleAll(List<Cancel> commands) {
+            handledBatches.add(commands.stream().map(Cancel::rideId).toList());
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private CancelHandler cancelHandler;
+    private CommandBus commandBus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cancelHandler = new CancelHandler();
+        commandBus = new CommandBus(List.of(new GreetHandler(), cancelHandler), meterRegistry, 4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commandBus.shutdown();
+    }
+
+    @Nested
+    class RegistryTests {
+
+        @Test
+        void givenRegisteredCommand_whenDispatching_thenHandlerResultReturned() {
+            // When
+            Object result = commandBus.dispatch(new Greet("Ana"));
+
+            // Then
+            assertEquals("Hello Ana", result);
+            assertEquals(1, meterRegistry.get("commands.dispatch").tag("command", "Greet").tag("mode", "sync").timer().count());
+        }
+
+        @Test
+        void givenUnknownCommand_whenDispatching_thenThrowsException() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> commandBus.dispatch(new Unknown()));
+            assertFalse(commandBus.hasHandler(Unknown.class));
+        }
+
+        @Test
+        void givenTwoHandlersForSameCommand_whenCreatingBus_thenThrowsException() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> new CommandBus(List.of(new GreetHandler(), new GreetHandler()), meterRegistry, 4, 3));
+        }
+    }
+
+    @Nested
+    class AsyncDispatchTests {
+
+        @Test
+        void givenCommand_whenDispatchingAsync_thenCompletesWithResult() throws Exception {
+            // When
+            Object result = commandBus.dispatchAsync(new Greet("Bo")).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals("Hello Bo", result);
+        }
+
+        @Test
+        void givenUnknownCommand_whenDispatchingAsync_thenThrowsImmediately() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> commandBus.dispatchAsync(new Unknown()));
+        }
+    }
+
+    @Nested
+    class BatchedDispatchTests {
+
+        @Test
+        void givenQueuedCommands_whenFlushing_thenBatchHandlerCalledOnce() {
+            // Given
+            commandBus.dispatchBatched(new Cancel(1));
+            commandBus.dispatchBatched(new Cancel(2));
+            assertEquals(2, commandBus.getQueuedCount());
+
+            // When
+            int dispatched = commandBus.flushBatches();
+
+            // Then
+            assertEquals(2, dispatched);
+            assertEquals(List.of(List.of(1L, 2L)), cancelHandler.handledBatches);
+            assertTrue(cancelHandler.handledOneByOne.isEmpty());
+            assertEquals(0, commandBus.getQueuedCount());
+        }
+
+        @Test
+        void givenMaxBatchSizeReached_whenQueueing_thenFlushedImmediately() {
+            // When - max batch size is 3
+            commandBus.dispatchBatched(new Cancel(1));
+            commandBus.dispatchBatched(new Cancel(2));
+            commandBus.dispatchBatched(new Cancel(3));
+
+            // Then
+            assertEquals(List.of(List.of(1L, 2L, 3L)), cancelHandler.handledBatches);
+            assertEquals(0, commandBus.getQueuedCount());
+        }
+
+        @Test
+        void givenMixedCommands_whenDispatchingAll_thenGroupedByType() {
+            // When
+            commandBus.dispatchAll(List.of(new Cancel(1), new Greet("Ana"), new Cancel(2)));
+
+            // Then
+            assertEquals(List.of(List.of(1L, 2L)), cancelHandler.handledBatches);
+        }
+
+        @Test
+        void givenSingleCommand_whenDispatchingAll_thenHandledWithoutBatch() {
+            // When
+            commandBus.dispatchAll(List.of(new Cancel(7)));
+
+            // Then
+            assertEquals(List.of(7L), cancelHandler.handledOneByOne);
+            assertTrue(cancelHandler.handledBatches.isEmpty());
+        }
+    }
+}
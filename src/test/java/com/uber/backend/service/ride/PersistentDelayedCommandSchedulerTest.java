@@ -0,0 +1,235 @@
+package com.uber.backend.service.ride;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.ride.application.command.CancelRideIfUnmatchedCommand;
+import com.uber.backend.ride.infrastructure.CommandBus;
+import com.uber.backend.ride.infrastructure.PersistentDelayedCommandScheduler;
+import com.uber.backend.ride.infrastructure.persistence.ScheduledCommandEntity;
+import com.uber.backend.ride.infrastructure.repository.ScheduledCommandRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the table-backed delayed command scheduler.
+ */
+@ExtendWith(MockitoExtension.class)
+class PersistentDelayedCommandSchedulerTest {
+
+    @Mock
+    private ScheduledCommandRepository scheduledCommandRepository;
+
+    @Mock
+    private CommandBus commandBus;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PersistentDelayedCommandScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PersistentDelayedCommandScheduler(scheduledCommandRepository, commandBus, objectMapper,
+                transactionManager, 2, 3, Duration.ofSeconds(5));
+    }
+
+    private ScheduledCommandEntity scheduledCancel(long id, long rideId) {
+        return ScheduledCommandEntity.builder()
+                .id(id)
+                .commandType(CancelRideIfUnmatchedCommand.class.getName())
+                .payload("{\"rideId\":" + rideId + "}")
+                .executeAt(LocalDateTime.now().minusSeconds(1))
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+    }
+
+    @Nested
+    class SchedulingTests {
+
+        @Test
+        void givenCommand_whenScheduled_thenStoredAsJson() {
+            // Given
+            LocalDateTime executeAt = LocalDateTime.now().plusMinutes(5);
+
+            // When
+            scheduler.schedule(new CancelRideIfUnmatchedCommand(42L), executeAt);
+
+            // Then
+            ArgumentCaptor<ScheduledCommandEntity> captor = ArgumentCaptor.forClass(ScheduledCommandEntity.class);
+            verify(scheduledCommandRepository).save(captor.capture());
+            ScheduledCommandEntity stored = captor.getValue();
+            assertEquals(CancelRideIfUnmatchedCommand.class.getName(), stored.getCommandType());
+            assertEquals("{\"rideId\":42}", stored.getPayload());
+            assertEquals(executeAt, stored.getExecuteAt());
+            assertEquals(0, stored.getAttempts());
+            verifyNoInteractions(commandBus);
+        }
+    }
+
+    @Nested
+    class DispatchTests {
+
+        @Test
+        void givenDueCommand_whenPolling_thenDispatchedAndDeleted() {
+            // Given
+            ScheduledCommandEntity due = scheduledCancel(1L, 42L);
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(due));
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(1, dispatched);
+            verify(commandBus).dispatchAll(List.of(new CancelRideIfUnmatchedCommand(42L)));
+            verify(scheduledCommandRepository).deleteAll(List.of(due));
+        }
+
+        @Test
+        void givenNoDueCommands_whenPolling_thenNothingDispatched() {
+            // Given
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of());
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(0, dispatched);
+            verifyNoInteractions(commandBus);
+        }
+
+        @Test
+        void givenFullBatch_whenPolling_thenNextBatchClaimed() {
+            // Given - batch size is 2
+            List<ScheduledCommandEntity> first = List.of(scheduledCancel(1L, 1L), scheduledCancel(2L, 2L));
+            List<ScheduledCommandEntity> second = List.of(scheduledCancel(3L, 3L));
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(first, second);
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(3, dispatched);
+            verify(scheduledCommandRepository, times(2)).findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class));
+        }
+    }
+
+    @Nested
+    class RetryTests {
+
+        @Test
+        void givenFailingCommand_whenPolling_thenRescheduledWithBackoff() {
+            // Given
+            ScheduledCommandEntity due = scheduledCancel(1L, 42L);
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(due));
+            doThrow(new IllegalStateException("database unavailable")).when(commandBus).dispatchAll(any());
+            doThrow(new IllegalStateException("database unavailable")).when(commandBus).dispatch(any());
+            LocalDateTime before = LocalDateTime.now();
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(0, dispatched);
+            assertEquals(1, due.getAttempts());
+            assertEquals("database unavailable", due.getLastError());
+            assertFalse(due.getExecuteAt().isBefore(before.plusSeconds(5)));
+            verify(scheduledCommandRepository).save(due);
+            verify(scheduledCommandRepository, never()).delete(any());
+        }
+
+        @Test
+        void givenOneFailingCommand_whenPolling_thenOthersStillDispatched() {
+            // Given
+            ScheduledCommandEntity failing = scheduledCancel(1L, 1L);
+            ScheduledCommandEntity healthy = scheduledCancel(2L, 2L);
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(new ArrayList<>(List.of(failing, healthy)), List.of());
+            doThrow(new IllegalStateException("boom")).when(commandBus).dispatchAll(any());
+            doThrow(new IllegalStateException("boom")).when(commandBus).dispatch(new CancelRideIfUnmatchedCommand(1L));
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(1, dispatched);
+            verify(scheduledCommandRepository).delete(healthy);
+            verify(scheduledCommandRepository).save(failing);
+        }
+
+        @Test
+        void givenDueCommands_whenPolling_thenWholeBatchDispatchedTogether() {
+            // Given
+            ScheduledCommandEntity first = scheduledCancel(1L, 1L);
+            ScheduledCommandEntity second = scheduledCancel(2L, 2L);
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(first, second), List.of());
+
+            // When
+            int dispatched = scheduler.dispatchDue();
+
+            // Then
+            assertEquals(2, dispatched);
+            verify(commandBus).dispatchAll(List.of(new CancelRideIfUnmatchedCommand(1L), new CancelRideIfUnmatchedCommand(2L)));
+            verify(commandBus, never()).dispatch(any());
+        }
+
+        @Test
+        void givenLastAttemptFails_whenPolling_thenKeptWithoutRescheduling() {
+            // Given - max attempts is 3
+            ScheduledCommandEntity due = scheduledCancel(1L, 42L);
+            due.setAttempts(2);
+            LocalDateTime executeAt = due.getExecuteAt();
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(due));
+            doThrow(new IllegalStateException("boom")).when(commandBus).dispatchAll(any());
+            doThrow(new IllegalStateException("boom")).when(commandBus).dispatch(any());
+
+            // When
+            scheduler.dispatchDue();
+
+            // Then
+            assertEquals(3, due.getAttempts());
+            assertEquals(executeAt, due.getExecuteAt());
+            verify(scheduledCommandRepository, never()).delete(any());
+        }
+
+        @Test
+        void givenUnknownCommandType_whenPolling_thenRecordedAsFailure() {
+            // Given
+            ScheduledCommandEntity due = scheduledCancel(1L, 42L);
+            due.setCommandType("com.uber.backend.DoesNotExist");
+            when(scheduledCommandRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(due));
+
+            // When
+            scheduler.dispatchDue();
+
+            // Then
+            assertEquals(1, due.getAttempts());
+            verifyNoInteractions(commandBus);
+        }
+    }
+}
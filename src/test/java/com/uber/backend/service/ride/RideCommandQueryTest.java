@@ -1,5 +1,7 @@
 package com.uber.backend.service.ride;
 
+import com.uber.backend.driver.infrastructure.location.DriverAddressResolver;
+import com.uber.backend.driver.infrastructure.location.DriverLocationStore;
 import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
 import com.uber.backend.driver.infrastructure.repository.DriverRepository;
 import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
@@ -16,23 +18,33 @@ import com.uber.backend.ride.application.exception.RideNotFoundException;
 import com.uber.backend.ride.application.query.RideResult;
 import com.uber.backend.ride.domain.enums.RideStatus;
 import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
 import com.uber.backend.ride.infrastructure.persistence.RideEntity;
 import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.DomainEvents;
 import com.uber.backend.shared.domain.port.GeocodingPort;
 import com.uber.backend.shared.domain.valueobject.Location;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -63,6 +75,21 @@ class RideCommandQueryTest {
     @Mock
     private GeocodingPort geocodingPort;
 
+    @Mock
+    private DriverAddressResolver driverAddressResolver;
+
+    @Mock
+    private DriverLocationStore driverLocationStore;
+
+    @Mock
+    private DomainEvents domainEvents;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OptimisticRetryTemplate optimisticRetry;
+
     @InjectMocks
     private RequestRideCommandHandler requestRideHandler;
 
@@ -84,6 +111,12 @@ class RideCommandQueryTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @BeforeEach
+    void runRetriedWorkDirectly() {
+        // Lenient because only the state transition handlers go through the retry template
+        lenient().when(optimisticRetry.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
 
     @Nested
     class RequestRideCommandTests {
@@ -101,6 +134,10 @@ class RideCommandQueryTest {
             lenient().when(geocodingPort.getAddressFromCoordinates(anyDouble(), anyDouble()))
                     .thenReturn("Test Address");
 
+            // Run the transaction callback directly (lenient because not all tests reach the insert)
+            lenient().when(transactionTemplate.execute(any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
             // Setup command
             command = new RequestRideCommand(
                     50.8503,
@@ -133,6 +170,52 @@ class RideCommandQueryTest {
 
             verify(passengerRepository).findById(1L);
             verify(rideRepository).save(any(RideEntity.class));
+            verify(domainEvents).raise(result);
+        }
+
+        @Test
+        void givenRequest_whenGeocoding_thenPickupAndDropoffResolvedConcurrently() {
+            // Given - each lookup only completes once the other one has started
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            when(geocodingPort.getAddressFromCoordinates(anyDouble(), anyDouble())).thenAnswer(invocation -> {
+                bothStarted.countDown();
+                return bothStarted.await(2, TimeUnit.SECONDS) ? "Resolved" : "Sequential";
+            });
+            when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+            ArgumentCaptor<RideEntity> rideCaptor = ArgumentCaptor.forClass(RideEntity.class);
+            when(rideRepository.save(rideCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            requestRideHandler.handle(command, 1L);
+
+            // Then
+            assertEquals("Resolved", rideCaptor.getValue().getPickupLocation().address());
+            assertEquals("Resolved", rideCaptor.getValue().getDropoffLocation().address());
+        }
+
+        @Test
+        void givenSlowGeocoding_whenRequestingRide_thenCoordinatesUsedAsAddress() {
+            // Given
+            ReflectionTestUtils.setField(requestRideHandler, "geocodingTimeoutMs", 50L);
+            when(geocodingPort.getAddressFromCoordinates(anyDouble(), anyDouble())).thenAnswer(invocation -> {
+                Thread.sleep(5000);
+                return "Too late";
+            });
+            when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+            ArgumentCaptor<RideEntity> rideCaptor = ArgumentCaptor.forClass(RideEntity.class);
+            when(rideRepository.save(rideCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            long start = System.nanoTime();
+            requestRideHandler.handle(command, 1L);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Then
+            assertTrue(elapsedMs < 2000, "Request should not wait for the slow lookups");
+            assertEquals(String.format("Location (%.4f, %.4f)", 50.8503, 4.3517),
+                    rideCaptor.getValue().getPickupLocation().address());
+            assertEquals(String.format("Location (%.4f, %.4f)", 50.8467, 4.3525),
+                    rideCaptor.getValue().getDropoffLocation().address());
         }
 
         @Test
@@ -706,6 +789,8 @@ class RideCommandQueryTest {
             verify(rideRepository).save(ride);
             assertEquals(RideStatus.COMPLETED, ride.getStatus());
             assertNotNull(ride.getCompletedAt());
+            // Available again, so location updates are accepted again
+            verify(driverLocationStore).track(ride.getDriver().getId(), ride.getDriver().getCurrentLocation());
         }
 
         @Test
@@ -867,6 +952,7 @@ class RideCommandQueryTest {
                 assertTrue(result.message().contains("No cancellation fee"));
                 assertTrue(result.message().contains("before driver acceptance"));
                 assertNull(result.payment());
+                verify(domainEvents).raise(new RideCancelledEvent(100L));
             }
 
             @Test
@@ -1145,6 +1231,7 @@ class RideCommandQueryTest {
                 // Then
                 verify(driverRepository).save(driver);
                 assertTrue(driver.getIsAvailable());
+                verify(driverLocationStore).track(2L, driver.getCurrentLocation());
             }
         }
 
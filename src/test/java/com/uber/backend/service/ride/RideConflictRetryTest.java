@@ -0,0 +1,119 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.auth.infrastructure.security.JwtUtil;
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.driver.infrastructure.repository.DriverRepository;
+import com.uber.backend.ride.api.web.RideController;
+import com.uber.backend.ride.application.CancelRideCommandHandler;
+import com.uber.backend.ride.application.CompleteRideCommandHandler;
+import com.uber.backend.ride.application.DenyRideCommandHandler;
+import com.uber.backend.ride.application.DriverAcceptCommandHandler;
+import com.uber.backend.ride.application.GetRideQueryHandler;
+import com.uber.backend.ride.application.RequestRideCommandHandler;
+import com.uber.backend.ride.application.StartRideCommandHandler;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import com.uber.backend.ride.infrastructure.push.RideUpdateHub;
+import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.api.exception.GlobalExceptionHandler;
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test suite for a ride update that keeps losing to concurrent changes: the versioned
+ * transaction is retried, then the request is answered with 409.
+ */
+@ExtendWith(MockitoExtension.class)
+class RideConflictRetryTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        OptimisticRetryTemplate optimisticRetry = new OptimisticRetryTemplate(transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(optimisticRetry, "backoffMillis", 0L);
+
+        DriverAcceptCommandHandler acceptHandler =
+                new DriverAcceptCommandHandler(rideRepository, driverRepository, publisher, optimisticRetry);
+        RideController controller = new RideController(jwtUtil, rideRepository, mock(GetRideQueryHandler.class),
+                mock(RequestRideCommandHandler.class), acceptHandler, mock(DenyRideCommandHandler.class),
+                mock(StartRideCommandHandler.class), mock(CompleteRideCommandHandler.class),
+                mock(CancelRideCommandHandler.class), mock(RideUpdateHub.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void givenConflictOnEveryAttempt_whenAccepting_thenRetriedThreeTimesAndAnsweredWithConflict() throws Exception {
+        // Given - every attempt reads an INVITED ride, and a concurrent change wins every commit
+        DriverEntity driver = new DriverEntity();
+        driver.setId(2L);
+        when(jwtUtil.extractUserIdFromRequest(any(HttpServletRequest.class))).thenReturn(2L);
+        when(rideRepository.findById(100L)).thenAnswer(invocation -> {
+            RideEntity ride = new RideEntity();
+            ride.setId(100L);
+            ride.setStatus(RideStatus.INVITED);
+            ride.setDriver(driver);
+            return Optional.of(ride);
+        });
+        when(driverRepository.findById(2L)).thenReturn(Optional.of(driver));
+        when(rideRepository.save(any(RideEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(RideEntity.class, 100L));
+
+        // When / Then
+        mockMvc.perform(post("/api/rides/accept")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rideId\":100}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"))
+                .andExpect(jsonPath("$.message").value("The ride was changed concurrently, please retry"));
+
+        verify(rideRepository, times(3)).findById(100L);
+        verify(transactionManager, times(3)).rollback(any());
+        verifyNoInteractions(publisher);
+        assertEquals(2, meterRegistry.counter("transactions.optimistic.conflicts", "outcome", "retried").count());
+        assertEquals(1, meterRegistry.counter("transactions.optimistic.conflicts", "outcome", "exhausted").count());
+    }
+}
@@ -0,0 +1,140 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.auth.domain.enums.Role;
+import com.uber.backend.auth.infrastructure.security.AccountStatusCache;
+import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.enums.RideType;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.valueobject.Location;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races a driver accepting a ride against the bulk cancel of unmatched rides, and checks which
+ * rides a bulk cancel reports.
+ * Uses Testcontainers to run against PostgreSQL, since the bulk cancel relies on {@code UPDATE ... RETURNING}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AccountStatusCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+class RideExpiryRaceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private TransactionTemplate separateTransaction;
+    private Long rideId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        separateTransaction = new TransactionTemplate(transactionManager);
+        separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        rideId = transaction.execute(status -> {
+            PassengerEntity passenger = new PassengerEntity();
+            passenger.setFirstName("Jane");
+            passenger.setLastName("Doe");
+            passenger.setEmail("jane." + System.nanoTime() + "@example.com");
+            passenger.setPassword("hash");
+            passenger.setPhoneNumber("+32470000000");
+            passenger.setRole(Role.PASSENGER);
+            entityManager.persist(passenger);
+
+            RideEntity ride = new RideEntity();
+            ride.setPassenger(passenger);
+            ride.setStatus(RideStatus.REQUESTED);
+            ride.setRideType(RideType.UBER_X);
+            ride.setRequestedAt(LocalDateTime.now().minusMinutes(10));
+            ride.setPickupLocation(new Location(50.85, 4.35, "Pickup"));
+            ride.setDropoffLocation(new Location(50.84, 4.36, "Dropoff"));
+            entityManager.persist(ride);
+            return ride.getId();
+        });
+    }
+
+    @Test
+    void givenAcceptReadRideBeforeBulkCancel_whenAcceptCommits_thenRejectedByVersionCheck() {
+        // When - the accept reads the ride, the cancel commits in between, then the accept commits
+        assertThrows(OptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+            RideEntity ride = rideRepository.findById(rideId).orElseThrow();
+            assertEquals(RideStatus.REQUESTED, ride.getStatus());
+
+            List<RideRepository.RidePassenger> cancelled = separateTransaction.execute(inner ->
+                    rideRepository.cancelUnmatched(List.of(rideId), LocalDateTime.now()));
+            assertEquals(1, cancelled.size());
+
+            ride.transitionTo(RideStatus.ACCEPTED);
+        }));
+
+        // Then
+        RideEntity stored = transaction.execute(status -> rideRepository.findById(rideId).orElseThrow());
+        assertEquals(RideStatus.CANCELLED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void givenRideAlreadyCancelled_whenBulkCancel_thenOnlyRideCancelledByThisUpdateReturned() {
+        // Given - a second ride that was cancelled earlier
+        Long earlierRideId = transaction.execute(status -> {
+            RideEntity ride = rideRepository.findById(rideId).orElseThrow();
+            RideEntity earlier = new RideEntity();
+            earlier.setPassenger(ride.getPassenger());
+            earlier.setStatus(RideStatus.CANCELLED);
+            earlier.setRideType(RideType.UBER_X);
+            earlier.setRequestedAt(LocalDateTime.now().minusMinutes(20));
+            earlier.setCancelledAt(LocalDateTime.now().minusMinutes(15));
+            earlier.setPickupLocation(new Location(50.85, 4.35, "Pickup"));
+            earlier.setDropoffLocation(new Location(50.84, 4.36, "Dropoff"));
+            entityManager.persist(earlier);
+            return earlier.getId();
+        });
+
+        // When
+        List<RideRepository.RidePassenger> cancelled = transaction.execute(status ->
+                rideRepository.cancelUnmatched(List.of(rideId, earlierRideId), LocalDateTime.now()));
+
+        // Then
+        assertEquals(List.of(rideId), cancelled.stream().map(RideRepository.RidePassenger::getRideId).toList());
+    }
+}
@@ -0,0 +1,150 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.driver.infrastructure.persistence.DriverEntity;
+import com.uber.backend.passenger.infrastructure.persistence.PassengerEntity;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
+import com.uber.backend.ride.infrastructure.persistence.RideEntity;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the ride status state machine.
+ */
+class RideStatusTransitionTest {
+
+    @Nested
+    class AllowedTransitionTests {
+
+        @ParameterizedTest(name = "{0} -> {1}")
+        @CsvSource({
+                "REQUESTED, INVITED", "REQUESTED, ACCEPTED", "REQUESTED, CANCELLED",
+                "INVITED, ACCEPTED", "INVITED, DENIED", "INVITED, CANCELLED",
+                "DENIED, INVITED", "DENIED, CANCELLED",
+                "ACCEPTED, IN_PROGRESS", "ACCEPTED, CANCELLED",
+                "IN_PROGRESS, COMPLETED"
+        })
+        void givenLifecycleStep_whenCheckingTransition_thenAllowed(RideStatus from, RideStatus to) {
+            assertTrue(from.canTransitionTo(to));
+        }
+
+        @ParameterizedTest(name = "{0} -> {1}")
+        @CsvSource({
+                "INVITED, INVITED", "DENIED, ACCEPTED", "ACCEPTED, DENIED", "IN_PROGRESS, CANCELLED",
+                "COMPLETED, CANCELLED", "CANCELLED, ACCEPTED", "CANCELLED, DENIED"
+        })
+        void givenSkippedOrReversedStep_whenCheckingTransition_thenRejected(RideStatus from, RideStatus to) {
+            assertFalse(from.canTransitionTo(to));
+        }
+    }
+
+    @Nested
+    class EntityTransitionTests {
+
+        @Test
+        void givenInvitedRide_whenAccepted_thenStatusChanges() {
+            // Given
+            RideEntity ride = new RideEntity();
+            ride.setId(100L);
+            ride.setStatus(RideStatus.INVITED);
+
+            // When
+            ride.transitionTo(RideStatus.ACCEPTED);
+
+            // Then
+            assertEquals(RideStatus.ACCEPTED, ride.getStatus());
+        }
+
+        @Test
+        void givenCancelledRide_whenAccepted_thenRejectedAndStatusKept() {
+            // Given - a cancel committed before the driver's accept was applied
+            RideEntity ride = new RideEntity();
+            ride.setId(100L);
+            ride.setStatus(RideStatus.CANCELLED);
+
+            // When / Then
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> ride.transitionTo(RideStatus.ACCEPTED));
+            assertEquals("Ride 100 cannot move from CANCELLED to ACCEPTED", exception.getMessage());
+            assertEquals(RideStatus.CANCELLED, ride.getStatus());
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @CsvSource({"REQUESTED", "DENIED"})
+        void givenUnmatchedRide_whenCancelIfUnmatched_thenCancelled(RideStatus status) {
+            // Given
+            RideEntity ride = new RideEntity();
+            ride.setStatus(status);
+
+            // When
+            ride.cancelIfUnmatched();
+
+            // Then
+            assertEquals(RideStatus.CANCELLED, ride.getStatus());
+            assertNotNull(ride.getCancelledAt());
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @CsvSource({"INVITED", "ACCEPTED", "COMPLETED"})
+        void givenMatchedRide_whenCancelIfUnmatched_thenUnchanged(RideStatus status) {
+            // Given
+            RideEntity ride = new RideEntity();
+            ride.setStatus(status);
+
+            // When
+            ride.cancelIfUnmatched();
+
+            // Then
+            assertEquals(status, ride.getStatus());
+            assertNull(ride.getCancelledAt());
+        }
+    }
+
+    @Nested
+    class StatusChangedEventTests {
+
+        @Test
+        void givenAcceptedRide_whenEventCreated_thenParticipantsAndAcceptTimeTaken() {
+            // Given
+            PassengerEntity passenger = new PassengerEntity();
+            passenger.setId(1L);
+            DriverEntity driver = new DriverEntity();
+            driver.setId(2L);
+            RideEntity ride = new RideEntity();
+            ride.setId(100L);
+            ride.setPassenger(passenger);
+            ride.setDriver(driver);
+            ride.setStatus(RideStatus.ACCEPTED);
+            ride.setAcceptedAt(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+            // When
+            RideStatusChangedEvent event = RideStatusChangedEvent.of(ride);
+
+            // Then
+            assertEquals(new RideStatusChangedEvent(100L, 1L, 2L, RideStatus.ACCEPTED, ride.getAcceptedAt()), event);
+        }
+
+        @Test
+        void givenDeniedRideWithoutDriver_whenEventCreatedForDecliningDriver_thenDriverKept() {
+            // Given
+            RideEntity ride = new RideEntity();
+            ride.setId(100L);
+            ride.setStatus(RideStatus.DENIED);
+
+            // When
+            RideStatusChangedEvent event = RideStatusChangedEvent.of(ride, 2L);
+
+            // Then
+            assertNull(event.passengerId());
+            assertEquals(2L, event.driverId());
+            assertEquals(RideStatus.DENIED, event.status());
+            assertNotNull(event.occurredAt());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
+import com.uber.backend.ride.infrastructure.push.RideUpdateHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for pushing ride status changes over Server-Sent Events.
+ */
+class RideUpdateHubTest {
+
+    private static final Long PASSENGER_ID = 1L;
+    private static final Long DRIVER_ID = 2L;
+
+    /**
+     * Emitter that records the ride events written to it instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<RideStatusChangedEvent> events = new ArrayList<>();
+        private boolean failWrites;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failWrites) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(part -> part.getData())
+                    .filter(RideStatusChangedEvent.class::isInstance)
+                    .forEach(data -> events.add((RideStatusChangedEvent) data));
+        }
+    }
+
+    private RideUpdateHub hub;
+
+    private RideUpdateHub newHub(Executor executor) {
+        return new RideUpdateHub(new SimpleMeterRegistry(), Duration.ofMinutes(30), 3, executor);
+    }
+
+    private static RideStatusChangedEvent statusChange(Long rideId, Long driverId, RideStatus status) {
+        return new RideStatusChangedEvent(rideId, PASSENGER_ID, driverId, status, LocalDateTime.now());
+    }
+
+    @BeforeEach
+    void setUp() {
+        hub = newHub(Runnable::run);
+    }
+
+    @Nested
+    class DeliveryTests {
+
+        @Test
+        void givenPassengerAndDriverStreams_whenRideInvited_thenBothReceiveUpdate() {
+            // Given
+            RecordingEmitter passengerStream = new RecordingEmitter();
+            RecordingEmitter driverStream = new RecordingEmitter();
+            RecordingEmitter otherDriverStream = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, passengerStream);
+            hub.subscribe(DRIVER_ID, driverStream);
+            hub.subscribe(3L, otherDriverStream);
+            RideStatusChangedEvent invited = statusChange(100L, DRIVER_ID, RideStatus.INVITED);
+
+            // When
+            hub.on(invited);
+
+            // Then
+            assertEquals(List.of(invited), passengerStream.events);
+            assertEquals(List.of(invited), driverStream.events);
+            assertTrue(otherDriverStream.events.isEmpty());
+        }
+
+        @Test
+        void givenUserWithTwoDevices_whenRideAccepted_thenEveryStreamReceivesUpdate() {
+            // Given
+            RecordingEmitter phone = new RecordingEmitter();
+            RecordingEmitter browser = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, phone);
+            hub.subscribe(PASSENGER_ID, browser);
+
+            // When
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.ACCEPTED));
+
+            // Then
+            assertEquals(1, phone.events.size());
+            assertEquals(1, browser.events.size());
+        }
+
+        @Test
+        void givenSeveralTransitions_whenPushed_thenDeliveredInCommitOrder() {
+            // Given
+            RecordingEmitter passengerStream = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, passengerStream);
+
+            // When
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.INVITED));
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.ACCEPTED));
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.IN_PROGRESS));
+
+            // Then
+            assertEquals(List.of(RideStatus.INVITED, RideStatus.ACCEPTED, RideStatus.IN_PROGRESS),
+                    passengerStream.events.stream().map(RideStatusChangedEvent::status).toList());
+        }
+
+        @Test
+        void givenUnmatchedRideCancelled_whenNoDriver_thenOnlyPassengerNotified() {
+            // Given
+            RecordingEmitter passengerStream = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, passengerStream);
+
+            // When
+            hub.on(statusChange(100L, null, RideStatus.CANCELLED));
+
+            // Then
+            assertEquals(1, passengerStream.events.size());
+        }
+    }
+
+    @Nested
+    class ConnectionLifecycleTests {
+
+        @Test
+        void givenClientGone_whenWriteFails_thenStreamDropped() {
+            // Given
+            RecordingEmitter passengerStream = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, passengerStream);
+            assertEquals(1, hub.getConnectionCount());
+            passengerStream.failWrites = true;
+
+            // When
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.ACCEPTED));
+
+            // Then
+            assertEquals(0, hub.getConnectionCount());
+        }
+
+        @Test
+        void givenClientNotKeepingUp_whenQueueFull_thenStreamClosed() {
+            // Given - writes never run, so events pile up in the stream's queue
+            List<Runnable> stalled = new ArrayList<>();
+            hub = newHub(stalled::add);
+            RecordingEmitter passengerStream = new RecordingEmitter();
+            hub.subscribe(PASSENGER_ID, passengerStream);
+
+            // When - the connect comment plus three updates exceed the limit of three
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.INVITED));
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.ACCEPTED));
+            hub.on(statusChange(100L, DRIVER_ID, RideStatus.IN_PROGRESS));
+
+            // Then
+            assertEquals(0, hub.getConnectionCount());
+            assertEquals(1, stalled.size(), "A single drain task per stream");
+        }
+
+        @Test
+        void givenIdleStreams_whenHeartbeat_thenStreamsStayOpen() {
+            // Given
+            hub.subscribe(PASSENGER_ID, new RecordingEmitter());
+            hub.subscribe(DRIVER_ID, new RecordingEmitter());
+
+            // When
+            hub.heartbeat();
+
+            // Then
+            assertEquals(2, hub.getConnectionCount());
+        }
+    }
+}
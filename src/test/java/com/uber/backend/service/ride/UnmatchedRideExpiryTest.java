@@ -0,0 +1,181 @@
+package com.uber.backend.service.ride;
+
+import com.uber.backend.ride.application.CancelRideIfUnmatchedCommandHandler;
+import com.uber.backend.ride.application.command.CancelRideIfUnmatchedCommand;
+import com.uber.backend.ride.domain.enums.RideStatus;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.ride.domain.event.RideStatusChangedEvent;
+import com.uber.backend.ride.infrastructure.pollers.UnmatchedRideExpiryPoller;
+import com.uber.backend.ride.infrastructure.repository.RideRepository;
+import com.uber.backend.shared.domain.DomainEvents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for cancelling rides that found no driver in time.
+ */
+@ExtendWith(MockitoExtension.class)
+class UnmatchedRideExpiryTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private DomainEvents domainEvents;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @InjectMocks
+    private CancelRideIfUnmatchedCommandHandler handler;
+
+    private static RideRepository.RidePassenger cancelled(Long rideId, Long passengerId) {
+        return new RideRepository.RidePassenger() {
+            @Override
+            public Long getRideId() {
+                return rideId;
+            }
+
+            @Override
+            public Long getPassengerId() {
+                return passengerId;
+            }
+        };
+    }
+
+    @Nested
+    class SetBasedExpiryTests {
+
+        @Test
+        void givenExpiredRides_whenExpiring_thenCancelledInOneStatementAndEventsRaised() {
+            // Given
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(5);
+            when(rideRepository.cancelUnmatchedRequestedBefore(eq(cutoff), any(LocalDateTime.class), eq(100)))
+                    .thenReturn(List.of(cancelled(1L, 11L), cancelled(2L, 12L), cancelled(3L, 13L)));
+
+            // When
+            List<Long> cancelled = handler.expireUnmatched(cutoff, 100);
+
+            // Then
+            assertEquals(List.of(1L, 2L, 3L), cancelled);
+            verify(rideRepository).cancelUnmatchedRequestedBefore(eq(cutoff), any(LocalDateTime.class), eq(100));
+            verify(domainEvents).raise(new RideCancelledEvent(1L));
+            verify(domainEvents).raise(new RideCancelledEvent(2L));
+            verify(domainEvents).raise(new RideCancelledEvent(3L));
+            verifyNoMoreInteractions(rideRepository);
+            ArgumentCaptor<RideStatusChangedEvent> statusChanges = ArgumentCaptor.forClass(RideStatusChangedEvent.class);
+            verify(publisher, times(3)).publishEvent(statusChanges.capture());
+            assertEquals(List.of(11L, 12L, 13L), statusChanges.getAllValues().stream().map(RideStatusChangedEvent::passengerId).toList());
+            assertTrue(statusChanges.getAllValues().stream().allMatch(event -> event.status() == RideStatus.CANCELLED));
+        }
+
+        @Test
+        void givenNothingExpired_whenExpiring_thenNoEvents() {
+            // Given
+            when(rideRepository.cancelUnmatchedRequestedBefore(any(), any(), anyInt())).thenReturn(List.of());
+
+            // When
+            List<Long> cancelled = handler.expireUnmatched(LocalDateTime.now(), 100);
+
+            // Then
+            assertTrue(cancelled.isEmpty());
+            verifyNoInteractions(domainEvents);
+        }
+    }
+
+    @Nested
+    class BatchCommandTests {
+
+        @Test
+        void givenCommandsForSomeMatchedRides_whenHandlingAll_thenOnlyRidesTheUpdateChangedReported() {
+            // Given - ride 2 was matched in the meantime, so the UPDATE skips it
+            when(rideRepository.cancelUnmatched(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class)))
+                    .thenReturn(List.of(cancelled(1L, 11L), cancelled(3L, 13L)));
+
+            // When
+            handler.handleAll(List.of(new CancelRideIfUnmatchedCommand(1L), new CancelRideIfUnmatchedCommand(2L),
+                    new CancelRideIfUnmatchedCommand(3L), new CancelRideIfUnmatchedCommand(1L)));
+
+            // Then - only the rides the UPDATE returned
+            verify(domainEvents).raise(new RideCancelledEvent(1L));
+            verify(domainEvents).raise(new RideCancelledEvent(3L));
+            verify(domainEvents, never()).raise(new RideCancelledEvent(2L));
+            verify(publisher, times(2)).publishEvent(any(RideStatusChangedEvent.class));
+        }
+
+        @Test
+        void givenAllRidesMatched_whenHandlingAll_thenNothingReported() {
+            // Given
+            when(rideRepository.cancelUnmatched(any(), any(LocalDateTime.class))).thenReturn(List.of());
+
+            // When
+            handler.handleAll(List.of(new CancelRideIfUnmatchedCommand(1L)));
+
+            // Then
+            verifyNoInteractions(domainEvents, publisher);
+        }
+    }
+
+    @Nested
+    class PollerTests {
+
+        private UnmatchedRideExpiryPoller poller;
+        private CancelRideIfUnmatchedCommandHandler mockHandler;
+
+        @BeforeEach
+        void setUp() {
+            mockHandler = mock(CancelRideIfUnmatchedCommandHandler.class);
+            poller = new UnmatchedRideExpiryPoller(mockHandler);
+            ReflectionTestUtils.setField(poller, "batchSize", 2);
+            ReflectionTestUtils.setField(poller, "unmatchedTimeout", Duration.ofMinutes(5));
+        }
+
+        @Test
+        void givenMoreExpiredRidesThanBatch_whenPolling_thenRepeatsUntilPartialBatch() {
+            // Given
+            when(mockHandler.expireUnmatched(any(LocalDateTime.class), eq(2)))
+                    .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+
+            // When
+            int cancelled = poller.expireUnmatchedRides();
+
+            // Then
+            assertEquals(5, cancelled);
+            verify(mockHandler, times(3)).expireUnmatched(any(LocalDateTime.class), eq(2));
+        }
+
+        @Test
+        void givenTimeout_whenPolling_thenCutoffIsTimeoutAgo() {
+            // Given
+            when(mockHandler.expireUnmatched(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+            LocalDateTime before = LocalDateTime.now().minusMinutes(5);
+
+            // When
+            poller.expireUnmatchedRides();
+
+            // Then
+            ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(mockHandler).expireUnmatched(cutoff.capture(), eq(2));
+            assertFalse(cutoff.getValue().isBefore(before));
+            assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusMinutes(4)));
+        }
+    }
+}
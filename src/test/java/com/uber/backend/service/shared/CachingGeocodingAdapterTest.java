@@ -0,0 +1,166 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.shared.domain.port.GeocodingPort;
+import com.uber.backend.shared.infrastructure.adapter.CachingGeocodingAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the caching geocoding decorator.
+ * Tests coordinate quantization, eviction, expiry and metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingGeocodingAdapterTest {
+
+    @Mock
+    private GeocodingPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+    }
+
+    private CachingGeocodingAdapter adapter(int maxEntries, boolean cacheFallbacks) {
+        return new CachingGeocodingAdapter(delegate, meterRegistry, 15, maxEntries,
+                Duration.ofHours(1), Duration.ofMinutes(1), cacheFallbacks, clock);
+    }
+
+    @Test
+    void givenNearbyCoordinates_whenGeocoded_thenDelegateCalledOnce() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(100, true);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble())).thenReturn("Grand Place, Brussels");
+
+        // When - ~2 m apart
+        String first = cache.getAddressFromCoordinates(50.84670, 4.35250);
+        String second = cache.getAddressFromCoordinates(50.84671, 4.35251);
+
+        // Then
+        assertEquals("Grand Place, Brussels", first);
+        assertEquals(first, second);
+        verify(delegate, times(1)).getAddressFromCoordinates(anyDouble(), anyDouble());
+        assertEquals(1.0, meterRegistry.get("geocoding.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("geocoding.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void givenDistantCoordinates_whenGeocoded_thenEachResolved() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(100, true);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble())).thenReturn("A", "B");
+
+        // When - ~100 m apart
+        cache.getAddressFromCoordinates(50.8467, 4.3525);
+        cache.getAddressFromCoordinates(50.8476, 4.3525);
+
+        // Then
+        verify(delegate, times(2)).getAddressFromCoordinates(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void givenExpiredEntry_whenGeocoded_thenResolvedAgain() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(100, true);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble())).thenReturn("Old", "New");
+        cache.getAddressFromCoordinates(50.8467, 4.3525);
+
+        // When
+        clock.advance(Duration.ofHours(2));
+        String address = cache.getAddressFromCoordinates(50.8467, 4.3525);
+
+        // Then
+        assertEquals("New", address);
+    }
+
+    @Test
+    void givenFullCache_whenNewEntryAdded_thenLeastRecentlyUsedEvicted() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(2, true);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble())).thenReturn("A", "B", "C", "A2");
+        cache.getAddressFromCoordinates(50.80, 4.30);
+        cache.getAddressFromCoordinates(50.81, 4.31);
+        cache.getAddressFromCoordinates(50.81, 4.31);
+
+        // When
+        cache.getAddressFromCoordinates(50.82, 4.32);
+
+        // Then - the first entry was least recently used
+        assertEquals(2, cache.size());
+        assertEquals("A2", cache.getAddressFromCoordinates(50.80, 4.30));
+    }
+
+    @Test
+    void givenFallbackAddressAndNegativeCachingDisabled_whenGeocoded_thenNotCached() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(100, false);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble()))
+                .thenReturn("Location (50.8467, 4.3525)", "Grand Place, Brussels");
+
+        // When
+        cache.getAddressFromCoordinates(50.8467, 4.3525);
+        String address = cache.getAddressFromCoordinates(50.8467, 4.3525);
+
+        // Then
+        assertEquals("Grand Place, Brussels", address);
+    }
+
+    @Test
+    void givenFallbackAddress_whenNegativeTtlPassed_thenResolvedAgain() {
+        // Given
+        CachingGeocodingAdapter cache = adapter(100, true);
+        when(delegate.getAddressFromCoordinates(anyDouble(), anyDouble()))
+                .thenReturn("Location (50.8467, 4.3525)", "Grand Place, Brussels");
+        cache.getAddressFromCoordinates(50.8467, 4.3525);
+
+        // When
+        String cached = cache.getAddressFromCoordinates(50.8467, 4.3525);
+        clock.advance(Duration.ofMinutes(2));
+        String refreshed = cache.getAddressFromCoordinates(50.8467, 4.3525);
+
+        // Then
+        assertEquals("Location (50.8467, 4.3525)", cached);
+        assertEquals("Grand Place, Brussels", refreshed);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
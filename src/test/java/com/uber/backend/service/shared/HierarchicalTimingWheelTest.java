@@ -0,0 +1,197 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.shared.infrastructure.timer.HierarchicalTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the hierarchical timing wheel.
+ * Uses a manual clock and advances the wheel directly instead of starting its worker thread.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private AtomicLong nanos;
+    private List<String> fired;
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        fired = new ArrayList<>();
+        // 8 slots x 3 levels: level 0 spans 80 ms, level 1 640 ms, level 2 5.12 s
+        wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, nanos::get, Runnable::run);
+    }
+
+    private void advanceBy(Duration duration) {
+        // Step tick by tick, as the worker thread would
+        long end = nanos.get() + duration.toNanos();
+        while (nanos.get() < end) {
+            nanos.addAndGet(Math.min(TICK.toNanos(), end - nanos.get()));
+            wheel.advance();
+        }
+    }
+
+    private void schedule(String key, Duration delay) {
+        wheel.schedule(key, delay, () -> fired.add(key));
+    }
+
+    @Nested
+    class FiringTests {
+
+        @Test
+        void givenTimer_whenDeadlineNotReached_thenNotFired() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(50));
+
+            // When
+            advanceBy(Duration.ofMillis(40));
+
+            // Then
+            assertTrue(fired.isEmpty());
+            assertTrue(wheel.isScheduled("ride-1"));
+        }
+
+        @Test
+        void givenTimer_whenDeadlineReached_thenFiredOnce() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(50));
+
+            // When
+            advanceBy(Duration.ofMillis(200));
+
+            // Then
+            assertEquals(List.of("ride-1"), fired);
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        void givenTimersOnHigherLevels_whenTimePasses_thenEachFiresWithinOneTickOfDeadline() {
+            // Given - deadlines on level 0, level 1, level 2 and beyond the top level
+            long[] delaysMillis = {30, 150, 700, 4_000, 9_000};
+            for (long delay : delaysMillis) {
+                schedule("t" + delay, Duration.ofMillis(delay));
+            }
+
+            for (long delay : delaysMillis) {
+                // When
+                advanceBy(Duration.ofMillis(delay).minusNanos(nanos.get()).minus(TICK));
+
+                // Then
+                assertFalse(fired.contains("t" + delay), "fired early: " + delay);
+                advanceBy(TICK);
+                assertTrue(fired.contains("t" + delay), "not fired at deadline: " + delay);
+            }
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        void givenLongIdlePeriod_whenAdvancing_thenOverdueTimersFireOnce() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(100));
+            schedule("ride-2", Duration.ofSeconds(2));
+
+            // When - the clock jumps far ahead in one step
+            nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+            wheel.advance();
+
+            // Then
+            assertEquals(List.of("ride-1", "ride-2"), fired);
+        }
+
+        @Test
+        void givenZeroDelay_whenScheduling_thenFiresOnNextTick() {
+            // Given
+            schedule("ride-1", Duration.ZERO);
+
+            // When
+            advanceBy(TICK);
+
+            // Then
+            assertEquals(List.of("ride-1"), fired);
+        }
+    }
+
+    @Nested
+    class CancellationTests {
+
+        @Test
+        void givenScheduledTimer_whenCancelled_thenNeverFires() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(700));
+
+            // When
+            boolean cancelled = wheel.cancel("ride-1");
+            advanceBy(Duration.ofSeconds(1));
+
+            // Then
+            assertTrue(cancelled);
+            assertTrue(fired.isEmpty());
+            assertFalse(wheel.isScheduled("ride-1"));
+        }
+
+        @Test
+        void givenUnknownKey_whenCancelled_thenReturnsFalse() {
+            // When / Then
+            assertFalse(wheel.cancel("ride-1"));
+        }
+
+        @Test
+        void givenTimerCascadedToLowerLevel_whenCancelled_thenNeverFires() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(700));
+            advanceBy(Duration.ofMillis(660));
+
+            // When
+            wheel.cancel("ride-1");
+            advanceBy(Duration.ofMillis(100));
+
+            // Then
+            assertTrue(fired.isEmpty());
+        }
+
+        @Test
+        void givenScheduledKey_whenScheduledAgain_thenOnlyNewTimerFires() {
+            // Given
+            schedule("ride-1", Duration.ofMillis(50));
+            List<String> replaced = new ArrayList<>();
+
+            // When
+            wheel.schedule("ride-1", Duration.ofMillis(300), () -> replaced.add("ride-1"));
+            advanceBy(Duration.ofMillis(200));
+
+            // Then
+            assertTrue(replaced.isEmpty());
+            advanceBy(Duration.ofMillis(100));
+            assertEquals(List.of("ride-1"), replaced);
+            assertTrue(fired.isEmpty());
+        }
+    }
+
+    @Nested
+    class ConfigurationTests {
+
+        @Test
+        void givenWheelSizeNotPowerOfTwo_whenCreating_thenThrowsException() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> new HierarchicalTimingWheel<String>(TICK, 10, 3, nanos::get, Runnable::run));
+        }
+
+        @Test
+        void givenZeroTick_whenCreating_thenThrowsException() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> new HierarchicalTimingWheel<String>(Duration.ZERO, 8, 3, nanos::get, Runnable::run));
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.shared.infrastructure.persistence.MailOutboxEntity;
+import com.uber.backend.shared.infrastructure.pollers.MailDispatcher;
+import com.uber.backend.shared.infrastructure.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the mail outbox dispatcher.
+ */
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = queuedTasks::add;
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MailDispatcher(mailOutboxRepository, mailSender, transactionManager, meterRegistry, executor);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofSeconds(8));
+    }
+
+    private MailOutboxEntity mail(long id, String recipient, int attempts) {
+        return MailOutboxEntity.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Verify Your Email - MJT Rides")
+                .body("Your verification code is: 123456")
+                .createdAt(LocalDateTime.now().minusSeconds(3))
+                .nextAttemptAt(LocalDateTime.now())
+                .attempts(attempts)
+                .build();
+    }
+
+    private SimpleMailMessage messageTo(String recipient) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(recipient);
+        message.setSubject("Verify Your Email - MJT Rides");
+        message.setText("Your verification code is: 123456");
+        return message;
+    }
+
+    private double deliveries(String outcome) {
+        return meterRegistry.get("mail.outbox.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    @Nested
+    class DispatchTests {
+
+        @Test
+        void givenDueMails_whenDispatching_thenSentInOneBatchAndDeleted() {
+            // Given
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(mail(1L, "a@example.com", 0), mail(2L, "b@example.com", 0)), List.of());
+
+            // When
+            int sent = dispatcher.dispatch();
+
+            // Then
+            assertEquals(2, sent);
+            ArgumentCaptor<SimpleMailMessage[]> captor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+            verify(mailSender).send(captor.capture());
+            SimpleMailMessage[] messages = captor.getValue();
+            assertEquals(2, messages.length);
+            assertEquals("a@example.com", messages[0].getTo()[0]);
+            assertEquals("b@example.com", messages[1].getTo()[0]);
+            verify(mailOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+            assertEquals(2, deliveries("sent"));
+        }
+
+        @Test
+        void givenClaimedMails_whenDispatching_thenLeasedBeforeSending() {
+            // Given
+            MailOutboxEntity mail = mail(1L, "a@example.com", 0);
+            LocalDateTime claimedAt = mail.getNextAttemptAt();
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(mail));
+            doAnswer(invocation -> {
+                // Then - other dispatchers skip the mail while it is being sent
+                assertTrue(mail.getNextAttemptAt().isAfter(claimedAt.plusSeconds(60)));
+                return null;
+            }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+            // When
+            dispatcher.dispatch();
+
+            // Then
+            verify(mailOutboxRepository).saveAll(List.of(mail));
+            verify(mailSender).send(any(SimpleMailMessage[].class));
+        }
+
+        @Test
+        void givenNoDueMails_whenDispatching_thenNothingSent() {
+            // Given
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of());
+
+            // When
+            int sent = dispatcher.dispatch();
+
+            // Then
+            assertEquals(0, sent);
+            verifyNoInteractions(mailSender);
+        }
+
+        @Test
+        void givenDeliveredMail_whenDispatching_thenDeliveryLagRecorded() {
+            // Given
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(mail(1L, "a@example.com", 0)));
+
+            // When
+            dispatcher.dispatch();
+
+            // Then
+            var lag = meterRegistry.get("mail.outbox.delivery-lag").timer();
+            assertEquals(1, lag.count());
+            assertTrue(lag.totalTime(TimeUnit.SECONDS) >= 3);
+        }
+    }
+
+    @Nested
+    class RetryTests {
+
+        @Test
+        void givenOneRejectedRecipient_whenDispatching_thenOnlyThatMailRetriedWithBackoff() {
+            // Given
+            MailOutboxEntity delivered = mail(1L, "a@example.com", 0);
+            MailOutboxEntity rejected = mail(2L, "b@example.com", 0);
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(delivered, rejected), List.of());
+            doThrow(new MailSendException(Map.of(messageTo("b@example.com"), new IllegalStateException("mailbox unavailable"))))
+                    .when(mailSender).send(any(SimpleMailMessage[].class));
+
+            // When
+            LocalDateTime before = LocalDateTime.now();
+            int sent = dispatcher.dispatch();
+
+            // Then
+            assertEquals(1, sent);
+            verify(mailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+            verify(mailOutboxRepository).saveAll(List.of(rejected));
+            assertEquals(1, rejected.getAttempts());
+            assertEquals("mailbox unavailable", rejected.getLastError());
+            assertFalse(rejected.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+            assertTrue(rejected.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+            assertEquals(0, delivered.getAttempts());
+            assertEquals(1, deliveries("retried"));
+        }
+
+        @Test
+        void givenConnectionFailure_whenDispatching_thenWholeBatchRetried() {
+            // Given
+            MailOutboxEntity first = mail(1L, "a@example.com", 0);
+            MailOutboxEntity second = mail(2L, "b@example.com", 1);
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(first, second), List.of());
+            doThrow(new MailAuthenticationException("authentication failed"))
+                    .when(mailSender).send(any(SimpleMailMessage[].class));
+
+            // When
+            LocalDateTime before = LocalDateTime.now();
+            int sent = dispatcher.dispatch();
+
+            // Then
+            assertEquals(0, sent);
+            verify(mailOutboxRepository, never()).deleteAllByIdInBatch(any());
+            assertEquals(1, first.getAttempts());
+            assertEquals(2, second.getAttempts());
+            // Second failure doubles the delay, capped at max-backoff
+            assertFalse(second.getNextAttemptAt().isBefore(before.plusSeconds(8)));
+            assertTrue(second.getNextAttemptAt().isBefore(before.plusSeconds(10)));
+            assertEquals(2, deliveries("retried"));
+        }
+
+        @Test
+        void givenLastAttemptFails_whenDispatching_thenMailAbandoned() {
+            // Given - max attempts is 3
+            MailOutboxEntity mail = mail(1L, "a@example.com", 2);
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(mail));
+            doThrow(new MailSendException("connection refused"))
+                    .when(mailSender).send(any(SimpleMailMessage[].class));
+
+            // When
+            dispatcher.dispatch();
+
+            // Then
+            assertEquals(3, mail.getAttempts());
+            assertEquals(1, deliveries("abandoned"));
+            assertEquals(0, deliveries("retried"));
+            verify(mailOutboxRepository, never()).deleteAllByIdInBatch(any());
+        }
+    }
+
+    @Nested
+    class WakeUpTests {
+
+        @Test
+        void givenRepeatedWakeUps_whenNotYetRun_thenMergedIntoOneDispatch() {
+            // When
+            dispatcher.wakeUp();
+            dispatcher.wakeUp();
+
+            // Then
+            assertEquals(1, queuedTasks.size());
+        }
+
+        @Test
+        void givenWakeUpRan_whenWokenAgain_thenDispatchQueuedAgain() {
+            // Given
+            when(mailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of());
+            dispatcher.wakeUp();
+            queuedTasks.remove(0).run();
+
+            // When
+            dispatcher.wakeUp();
+
+            // Then
+            assertEquals(1, queuedTasks.size());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.shared.infrastructure.adapter.OfflineGeocodingAdapter;
+import com.uber.backend.shared.infrastructure.adapter.OfflineGeocodingIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the offline reverse geocoder.
+ * Tests loading of the places extract and nearest-place lookups.
+ */
+class OfflineGeocodingAdapterTest {
+
+    private static final String PLACES = """
+            latitude,longitude,house_number,road,city,postcode,country
+            50.8467,4.3525,,Grand-Place,Brussels,1000,Belgium
+            50.8463,4.3670,16,Rue de la Loi,Brussels,1000,Belgium
+            50.8510,4.3570,,"Rue Neuve, north",Brussels,1000,Belgium
+            not-a-number,4.35,,Broken,Brussels,1000,Belgium
+            50.8512,4.3572,,"Rue Neuve, north",Brussels,1000,Belgium
+            """;
+
+    private OfflineGeocodingAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        adapter = new OfflineGeocodingAdapter(load(PLACES), 250);
+    }
+
+    private static OfflineGeocodingIndex load(String csv) throws IOException {
+        return OfflineGeocodingIndex.load(new BufferedReader(new StringReader(csv)), 0.005);
+    }
+
+    @Test
+    void givenPointNearPlace_whenGeocoding_thenNearestAddressReturned() {
+        // When
+        String address = adapter.getAddressFromCoordinates(50.8464, 4.3668);
+
+        // Then
+        assertEquals("16, Rue de la Loi, Brussels, 1000, Belgium", address);
+    }
+
+    @Test
+    void givenPointFarFromAnyPlace_whenGeocoding_thenCoordinatesReturned() {
+        // When
+        String address = adapter.getAddressFromCoordinates(51.2194, 4.4025);
+
+        // Then
+        assertEquals(String.format("Location (%.4f, %.4f)", 51.2194, 4.4025), address);
+    }
+
+    @Test
+    void givenExtractWithDuplicatesAndBrokenLines_whenLoaded_thenAddressesSharedAndBrokenSkipped() {
+        // When
+        OfflineGeocodingIndex index = adapter.getIndex();
+
+        // Then
+        assertEquals(4, index.getPlaceCount());
+        assertEquals(3, index.getAddressCount());
+        assertEquals("Rue Neuve, north, Brussels, 1000, Belgium", index.nearestAddress(50.8511, 4.3571, 250));
+        assertTrue(index.estimateMemoryBytes() > 0);
+    }
+
+    @Test
+    void givenPointOnCellBorder_whenGeocoding_thenNeighbourCellSearched() throws IOException {
+        // Given - place just across a 0.005 degree cell boundary
+        OfflineGeocodingIndex index = load("50.85001,4.35001,,Corner,Brussels,1000,Belgium\n");
+
+        // When & Then
+        assertEquals("Corner, Brussels, 1000, Belgium", index.nearestAddress(50.84999, 4.34999, 50));
+    }
+
+    @Test
+    void givenRandomPlaces_whenGeocoding_thenMatchesBruteForce() throws IOException {
+        // Given
+        Random random = new Random(3);
+        StringBuilder csv = new StringBuilder();
+        double[][] places = new double[3000][];
+        for (int i = 0; i < places.length; i++) {
+            places[i] = new double[]{50.80 + random.nextDouble() * 0.1, 4.30 + random.nextDouble() * 0.1};
+            csv.append(places[i][0]).append(',').append(places[i][1]).append(",,Street ").append(i).append('\n');
+        }
+        OfflineGeocodingIndex index = load(csv.toString());
+
+        for (int query = 0; query < 100; query++) {
+            double lat = 50.80 + random.nextDouble() * 0.1;
+            double lon = 4.30 + random.nextDouble() * 0.1;
+
+            // When
+            String address = index.nearestAddress(lat, lon, 1000);
+
+            // Then
+            int expected = 0;
+            double best = Double.MAX_VALUE;
+            double lonScale = Math.cos(Math.toRadians(lat));
+            for (int i = 0; i < places.length; i++) {
+                double y = places[i][0] - lat;
+                double x = (places[i][1] - lon) * lonScale;
+                if (x * x + y * y < best) {
+                    best = x * x + y * y;
+                    expected = i;
+                }
+            }
+            assertEquals("Street " + expected, address);
+        }
+    }
+
+    @Test
+    void givenBundledExtract_whenLoaded_thenSeedLocationsResolve() throws IOException {
+        // Given
+        OfflineGeocodingAdapter bundled = new OfflineGeocodingAdapter(
+                new ClassPathResource("geocoding/places.csv"), 0.005, 250);
+
+        // When
+        String address = bundled.getAddressFromCoordinates(40.7589, -73.9851);
+
+        // Then
+        assertEquals("Times Square, New York, 10036, United States", address);
+    }
+}
@@ -0,0 +1,91 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.shared.infrastructure.transaction.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OptimisticRetryTemplateTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryTemplate retryTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        retryTemplate = new OptimisticRetryTemplate(transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(retryTemplate, "backoffMillis", 0L);
+    }
+
+    @Test
+    void givenNoConflict_whenExecuting_thenRunsOnceAndCommits() {
+        // When
+        String result = retryTemplate.execute(() -> "accepted");
+
+        // Then
+        assertEquals("accepted", result);
+        verify(transactionManager).commit(any());
+        assertEquals(0, meterRegistry.counter("transactions.optimistic.conflicts", "outcome", "retried").count());
+    }
+
+    @Test
+    void givenConcurrentUpdateOnFirstAttempt_whenExecuting_thenRetriesInNewTransaction() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = retryTemplate.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("RideEntity", 100L);
+            }
+            return "denied";
+        });
+
+        // Then
+        assertEquals("denied", result);
+        assertEquals(2, attempts.get());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, meterRegistry.counter("transactions.optimistic.conflicts", "outcome", "retried").count());
+    }
+
+    @Test
+    void givenConflictOnEveryAttempt_whenExecuting_thenGivesUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryTemplate.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("RideEntity", 100L);
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1, meterRegistry.counter("transactions.optimistic.conflicts", "outcome", "exhausted").count());
+    }
+
+    @Test
+    void givenValidationError_whenExecuting_thenNotRetried() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> retryTemplate.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Ride must be in REQUESTED or INVITED status to be accepted");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,167 @@
+package com.uber.backend.service.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.shared.infrastructure.persistence.OutboxEventEntity;
+import com.uber.backend.shared.infrastructure.pollers.OutboxRelay;
+import com.uber.backend.shared.infrastructure.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the outbox relay.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = queuedTasks::add;
+        relay = new OutboxRelay(outboxEventRepository, publisher, new ObjectMapper(), transactionManager, executor);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+    }
+
+    private OutboxEventEntity cancelledEntry(long id, long rideId) {
+        return OutboxEventEntity.builder()
+                .id(id)
+                .eventType(RideCancelledEvent.class.getName())
+                .payload("{\"rideId\":" + rideId + "}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    class RelayTests {
+
+        @Test
+        void givenPendingEvents_whenRelaying_thenPublishedInOrderAndDeleted() {
+            // Given
+            List<OutboxEventEntity> entries = List.of(cancelledEntry(1L, 10L));
+            when(outboxEventRepository.findUnpublishedForUpdate(anyInt(), any(Pageable.class))).thenReturn(entries);
+
+            // When
+            int published = relay.relay();
+
+            // Then
+            assertEquals(1, published);
+            verify(publisher).publishEvent(new RideCancelledEvent(10L));
+            verify(outboxEventRepository).deleteAll(entries);
+        }
+
+        @Test
+        void givenFullBatch_whenRelaying_thenNextBatchClaimed() {
+            // Given - batch size is 2
+            when(outboxEventRepository.findUnpublishedForUpdate(anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(cancelledEntry(1L, 10L), cancelledEntry(2L, 11L)), List.of(cancelledEntry(3L, 12L)));
+
+            // When
+            int published = relay.relay();
+
+            // Then
+            assertEquals(3, published);
+            var order = inOrder(publisher);
+            order.verify(publisher).publishEvent(new RideCancelledEvent(10L));
+            order.verify(publisher).publishEvent(new RideCancelledEvent(11L));
+            order.verify(publisher).publishEvent(new RideCancelledEvent(12L));
+        }
+
+        @Test
+        void givenFailingListener_whenRelaying_thenOtherEventsStillPublished() {
+            // Given
+            OutboxEventEntity failing = cancelledEntry(1L, 10L);
+            OutboxEventEntity healthy = cancelledEntry(2L, 11L);
+            when(outboxEventRepository.findUnpublishedForUpdate(anyInt(), any(Pageable.class)))
+                    .thenReturn(List.of(failing, healthy), List.of());
+            doThrow(new IllegalStateException("listener failed")).when(publisher).publishEvent(new RideCancelledEvent(10L));
+
+            // When
+            int published = relay.relay();
+
+            // Then
+            assertEquals(1, published);
+            verify(outboxEventRepository).delete(healthy);
+            verify(outboxEventRepository, never()).delete(failing);
+            assertEquals(1, failing.getAttempts());
+            assertEquals("listener failed", failing.getLastError());
+            verify(outboxEventRepository).save(failing);
+        }
+
+        @Test
+        void givenUnknownEventType_whenRelaying_thenRecordedAsFailure() {
+            // Given
+            OutboxEventEntity unknown = cancelledEntry(1L, 10L);
+            unknown.setEventType("com.uber.backend.DoesNotExist");
+            when(outboxEventRepository.findUnpublishedForUpdate(anyInt(), any(Pageable.class))).thenReturn(List.of(unknown));
+
+            // When
+            int published = relay.relay();
+
+            // Then
+            assertEquals(0, published);
+            assertEquals(1, unknown.getAttempts());
+            verifyNoInteractions(publisher);
+        }
+    }
+
+    @Nested
+    class WakeUpTests {
+
+        @Test
+        void givenRepeatedWakeUps_whenNotYetRun_thenOnlyOneRelayQueued() {
+            // When
+            relay.wakeUp();
+            relay.wakeUp();
+            relay.wakeUp();
+
+            // Then
+            assertEquals(1, queuedTasks.size());
+        }
+
+        @Test
+        void givenQueuedWakeUp_whenRun_thenRelaysAndAcceptsNextWakeUp() {
+            // Given
+            when(outboxEventRepository.findUnpublishedForUpdate(anyInt(), any(Pageable.class))).thenReturn(List.of());
+            relay.wakeUp();
+
+            // When
+            queuedTasks.remove(0).run();
+            relay.wakeUp();
+
+            // Then
+            verify(outboxEventRepository).findUnpublishedForUpdate(anyInt(), any(Pageable.class));
+            assertEquals(1, queuedTasks.size());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.uber.backend.service.shared;
+
+import com.uber.backend.ride.domain.event.RideCancelledEvent;
+import com.uber.backend.shared.domain.port.EventOutboxPort;
+import com.uber.backend.shared.infrastructure.adapter.TransactionalDomainEventsAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for transaction-bound domain events.
+ * Transactions are simulated by driving Spring's transaction synchronization by hand.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionalDomainEventsAdapterTest {
+
+    @Mock
+    private EventOutboxPort eventOutbox;
+
+    @InjectMocks
+    private TransactionalDomainEventsAdapter domainEvents;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void commit() {
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Nested
+    class WithinTransactionTests {
+
+        @Test
+        void givenEventsRaised_whenTransactionCommits_thenAppendedOnceInOrder() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+            domainEvents.raise(new RideCancelledEvent(1L));
+            domainEvents.raise(new RideCancelledEvent(2L));
+            verifyNoInteractions(eventOutbox);
+
+            // When
+            commit();
+
+            // Then
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(1L), new RideCancelledEvent(2L)));
+        }
+
+        @Test
+        void givenEventsRaised_whenTransactionRollsBack_thenNothingAppended() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+            domainEvents.raise(new RideCancelledEvent(1L));
+
+            // When
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // Then
+            verifyNoInteractions(eventOutbox);
+        }
+
+        @Test
+        void givenSuspendedTransaction_whenInnerTransactionCommits_thenOnlyInnerEventsAppended() {
+            // Given - an outer transaction with a pending event
+            TransactionSynchronizationManager.initSynchronization();
+            domainEvents.raise(new RideCancelledEvent(1L));
+            List<TransactionSynchronization> outer = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // When - a REQUIRES_NEW transaction raises and commits its own event
+            TransactionSynchronizationManager.initSynchronization();
+            domainEvents.raise(new RideCancelledEvent(2L));
+            commit();
+
+            // Then
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(2L)));
+
+            // When - the outer transaction resumes and commits
+            TransactionSynchronizationManager.initSynchronization();
+            outer.forEach(TransactionSynchronizationManager::registerSynchronization);
+            commit();
+
+            // Then
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(1L)));
+        }
+
+        @Test
+        void givenConcurrentTransactions_whenCommitting_thenEventsDoNotLeakBetweenThreads() throws Exception {
+            // Given
+            CountDownLatch bothRaised = new CountDownLatch(2);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            // When
+            List<Future<Object>> futures = List.of(1L, 2L).stream().map(rideId -> executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    domainEvents.raise(new RideCancelledEvent(rideId));
+                    bothRaised.countDown();
+                    bothRaised.await(2, TimeUnit.SECONDS);
+                    TransactionSynchronizationUtils.triggerBeforeCommit(false);
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            })).toList();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            // Then
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(1L)));
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(2L)));
+        }
+    }
+
+    @Nested
+    class WithoutTransactionTests {
+
+        @Test
+        void givenNoTransaction_whenRaising_thenAppendedImmediately() {
+            // When
+            domainEvents.raise(new RideCancelledEvent(1L));
+
+            // Then
+            verify(eventOutbox).append(List.of(new RideCancelledEvent(1L)));
+        }
+    }
+}